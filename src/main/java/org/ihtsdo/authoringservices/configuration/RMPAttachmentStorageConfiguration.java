@@ -0,0 +1,13 @@
+package org.ihtsdo.authoringservices.configuration;
+
+import org.ihtsdo.otf.resourcemanager.ResourceConfiguration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration settings for the storage of RMP task attachment content.
+ */
+@Configuration
+@ConfigurationProperties("rmp.task.attachments.storage")
+public class RMPAttachmentStorageConfiguration extends ResourceConfiguration {
+}
@@ -0,0 +1,25 @@
+package org.ihtsdo.authoringservices.domain;
+
+import java.util.List;
+
+public class AuthoringTaskPage {
+
+	private final List<AuthoringTask> items;
+	private final String nextCursor;
+
+	public AuthoringTaskPage(List<AuthoringTask> items, String nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<AuthoringTask> getItems() {
+		return items;
+	}
+
+	/**
+	 * Cursor of the next page, null when this is the last page.
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+}
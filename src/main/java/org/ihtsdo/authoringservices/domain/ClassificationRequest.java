@@ -14,6 +14,11 @@ public class ClassificationRequest {
 
 	private Authentication authentication;
 
+	private final long startedAt = System.currentTimeMillis();
+
+	// Started before a restart, the authentication holds the username only and no credentials
+	private boolean recovered;
+
 	public String getClassificationId() {
 		return classificationId;
 	}
@@ -53,4 +58,16 @@ public class ClassificationRequest {
 	public void setAuthentication(Authentication authentication) {
 		this.authentication = authentication;
 	}
+
+	public long getStartedAt() {
+		return startedAt;
+	}
+
+	public boolean isRecovered() {
+		return recovered;
+	}
+
+	public void setRecovered(boolean recovered) {
+		this.recovered = recovered;
+	}
 }
@@ -0,0 +1,71 @@
+package org.ihtsdo.authoringservices.domain;
+
+import java.util.Date;
+
+public class JiraTaskMigrationProgress {
+
+	private boolean running;
+	private Date startDate;
+	private Date endDate;
+	private String currentProjectKey;
+	private int projectsTotal;
+	private int projectsCompleted;
+	private long issuesProcessed;
+	private long tasksMigrated;
+	private long failures;
+	private long tasksPerMinute;
+
+	public JiraTaskMigrationProgress(boolean running, Date startDate, Date endDate, String currentProjectKey, int projectsTotal, int projectsCompleted,
+			long issuesProcessed, long tasksMigrated, long failures, long tasksPerMinute) {
+		this.running = running;
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.currentProjectKey = currentProjectKey;
+		this.projectsTotal = projectsTotal;
+		this.projectsCompleted = projectsCompleted;
+		this.issuesProcessed = issuesProcessed;
+		this.tasksMigrated = tasksMigrated;
+		this.failures = failures;
+		this.tasksPerMinute = tasksPerMinute;
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	public Date getStartDate() {
+		return startDate;
+	}
+
+	public Date getEndDate() {
+		return endDate;
+	}
+
+	public String getCurrentProjectKey() {
+		return currentProjectKey;
+	}
+
+	public int getProjectsTotal() {
+		return projectsTotal;
+	}
+
+	public int getProjectsCompleted() {
+		return projectsCompleted;
+	}
+
+	public long getIssuesProcessed() {
+		return issuesProcessed;
+	}
+
+	public long getTasksMigrated() {
+		return tasksMigrated;
+	}
+
+	public long getFailures() {
+		return failures;
+	}
+
+	public long getTasksPerMinute() {
+		return tasksPerMinute;
+	}
+}
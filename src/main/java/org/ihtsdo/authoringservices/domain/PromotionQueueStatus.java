@@ -0,0 +1,49 @@
+package org.ihtsdo.authoringservices.domain;
+
+public class PromotionQueueStatus {
+
+	private int queuedJobs;
+	private int runningJobs;
+	private long oldestQueuedWaitMillis;
+	private long averageWaitMillis;
+	private long maxWaitMillis;
+
+	public PromotionQueueStatus(int queuedJobs, int runningJobs, long oldestQueuedWaitMillis, long averageWaitMillis, long maxWaitMillis) {
+		this.queuedJobs = queuedJobs;
+		this.runningJobs = runningJobs;
+		this.oldestQueuedWaitMillis = oldestQueuedWaitMillis;
+		this.averageWaitMillis = averageWaitMillis;
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	public int getQueuedJobs() {
+		return queuedJobs;
+	}
+
+	public int getRunningJobs() {
+		return runningJobs;
+	}
+
+	public long getOldestQueuedWaitMillis() {
+		return oldestQueuedWaitMillis;
+	}
+
+	public long getAverageWaitMillis() {
+		return averageWaitMillis;
+	}
+
+	public long getMaxWaitMillis() {
+		return maxWaitMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "PromotionQueueStatus{" +
+				"queuedJobs=" + queuedJobs +
+				", runningJobs=" + runningJobs +
+				", oldestQueuedWaitMillis=" + oldestQueuedWaitMillis +
+				", averageWaitMillis=" + averageWaitMillis +
+				", maxWaitMillis=" + maxWaitMillis +
+				'}';
+	}
+}
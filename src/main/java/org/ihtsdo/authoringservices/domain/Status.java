@@ -2,11 +2,19 @@ package org.ihtsdo.authoringservices.domain;
 
 public class Status {
 	String status;
+
+	// Position of a scheduled validation in the queue, null once it has started
+	Integer queuePosition;
 	
 	public Status (String status) {
 		this.status = status;
 	}
 
+	public Status(String status, Integer queuePosition) {
+		this.status = status;
+		this.queuePosition = queuePosition;
+	}
+
 	public String getStatus() {
 		return status;
 	}
@@ -14,4 +22,12 @@ public class Status {
 	public void setStatus(String status) {
 		this.status = status;
 	}
+
+	public Integer getQueuePosition() {
+		return queuePosition;
+	}
+
+	public void setQueuePosition(Integer queuePosition) {
+		this.queuePosition = queuePosition;
+	}
 }
@@ -0,0 +1,27 @@
+package org.ihtsdo.authoringservices.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last task of a page in a task list ordered by updated date then key, both descending.
+ * Clients pass the encoded cursor back to fetch the tasks after it.
+ */
+public record TaskCursor(long updated, String taskKey) {
+
+	private static final String SEPARATOR = "|";
+
+	public static TaskCursor decode(String cursor) {
+		try {
+			String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separatorIndex = value.indexOf(SEPARATOR);
+			return new TaskCursor(Long.parseLong(value.substring(0, separatorIndex)), value.substring(separatorIndex + 1));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Invalid cursor " + cursor);
+		}
+	}
+
+	public String encode() {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString((updated + SEPARATOR + taskKey).getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,42 @@
+package org.ihtsdo.authoringservices.domain;
+
+public class TaskKeyAllocationStats {
+
+	private long allocations;
+	private long sequencesCreated;
+	private long averageMicros;
+	private long maxMicros;
+
+	public TaskKeyAllocationStats(long allocations, long sequencesCreated, long averageMicros, long maxMicros) {
+		this.allocations = allocations;
+		this.sequencesCreated = sequencesCreated;
+		this.averageMicros = averageMicros;
+		this.maxMicros = maxMicros;
+	}
+
+	public long getAllocations() {
+		return allocations;
+	}
+
+	public long getSequencesCreated() {
+		return sequencesCreated;
+	}
+
+	public long getAverageMicros() {
+		return averageMicros;
+	}
+
+	public long getMaxMicros() {
+		return maxMicros;
+	}
+
+	@Override
+	public String toString() {
+		return "TaskKeyAllocationStats{" +
+				"allocations=" + allocations +
+				", sequencesCreated=" + sequencesCreated +
+				", averageMicros=" + averageMicros +
+				", maxMicros=" + maxMicros +
+				'}';
+	}
+}
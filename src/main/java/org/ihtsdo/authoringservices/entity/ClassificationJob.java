@@ -0,0 +1,55 @@
+package org.ihtsdo.authoringservices.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+@Entity(name = "classification_job")
+public class ClassificationJob extends BaseEntity {
+
+    @Id
+    @Column(name = "classification_id")
+    private String classificationId;
+
+    @Column(name = "project_key")
+    private String projectKey;
+
+    @Column(name = "task_key")
+    private String taskKey;
+
+    @Column(name = "branch_path")
+    private String branchPath;
+
+    private String username;
+
+    protected ClassificationJob() {
+    }
+
+    public ClassificationJob(String classificationId, String projectKey, String taskKey, String branchPath, String username) {
+        this.classificationId = classificationId;
+        this.projectKey = projectKey;
+        this.taskKey = taskKey;
+        this.branchPath = branchPath;
+        this.username = username;
+    }
+
+    public String getClassificationId() {
+        return classificationId;
+    }
+
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public String getTaskKey() {
+        return taskKey;
+    }
+
+    public String getBranchPath() {
+        return branchPath;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
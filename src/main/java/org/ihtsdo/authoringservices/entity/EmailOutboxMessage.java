@@ -0,0 +1,77 @@
+package org.ihtsdo.authoringservices.entity;
+
+import jakarta.persistence.*;
+
+import java.sql.Timestamp;
+
+@Entity(name = "email_outbox")
+public class EmailOutboxMessage extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    private String subject;
+
+    private String template;
+
+    // Template variables as JSON
+    @Column(columnDefinition = "TEXT DEFAULT NULL")
+    private String variables;
+
+    // Comma separated email addresses
+    @Column(columnDefinition = "TEXT DEFAULT NULL")
+    private String recipients;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_timestamp")
+    private Timestamp nextAttemptDate;
+
+    protected EmailOutboxMessage() {
+    }
+
+    public EmailOutboxMessage(String subject, String template, String variables, String recipients) {
+        this.subject = subject;
+        this.template = template;
+        this.variables = variables;
+        this.recipients = recipients;
+        this.nextAttemptDate = new Timestamp(System.currentTimeMillis());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public String getVariables() {
+        return variables;
+    }
+
+    public String getRecipients() {
+        return recipients;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Timestamp getNextAttemptDate() {
+        return nextAttemptDate;
+    }
+
+    public void setNextAttemptDate(Timestamp nextAttemptDate) {
+        this.nextAttemptDate = nextAttemptDate;
+    }
+}
@@ -0,0 +1,101 @@
+package org.ihtsdo.authoringservices.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * How far the migration of the Jira tasks of a project has got, so that an interrupted migration resumes from there.
+ */
+@Entity(name = "jira_task_migration_checkpoint")
+public class JiraTaskMigrationCheckpoint extends BaseEntity {
+
+    @Id
+    @Column(name = "project_key")
+    private String projectKey;
+
+    // Number of Jira issues of the project which have been migrated or skipped
+    @Column(name = "issues_processed")
+    private int issuesProcessed;
+
+    // Created time, in epoch milliseconds, and key of the last issue processed, in created then key order
+    @Column(name = "last_issue_created")
+    private Long lastIssueCreated;
+
+    @Column(name = "last_issue_key")
+    private String lastIssueKey;
+
+    @Column(name = "tasks_migrated")
+    private int tasksMigrated;
+
+    // Comma separated keys of the Jira issues which failed to migrate, they are retried when the migration resumes
+    @Column(name = "failed_issue_keys")
+    private String failedIssueKeys;
+
+    private boolean completed;
+
+    protected JiraTaskMigrationCheckpoint() {
+    }
+
+    public JiraTaskMigrationCheckpoint(String projectKey) {
+        this.projectKey = projectKey;
+    }
+
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public int getIssuesProcessed() {
+        return issuesProcessed;
+    }
+
+    public void setIssuesProcessed(int issuesProcessed) {
+        this.issuesProcessed = issuesProcessed;
+    }
+
+    public Long getLastIssueCreated() {
+        return lastIssueCreated;
+    }
+
+    public String getLastIssueKey() {
+        return lastIssueKey;
+    }
+
+    public void setLastIssue(long created, String key) {
+        this.lastIssueCreated = created;
+        this.lastIssueKey = key;
+    }
+
+    public int getTasksMigrated() {
+        return tasksMigrated;
+    }
+
+    public void setTasksMigrated(int tasksMigrated) {
+        this.tasksMigrated = tasksMigrated;
+    }
+
+    public Set<String> getFailedIssueKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        if (failedIssueKeys != null && !failedIssueKeys.isEmpty()) {
+            keys.addAll(Arrays.asList(failedIssueKeys.split(",")));
+        }
+        return keys;
+    }
+
+    public void setFailedIssueKeys(Collection<String> failedIssueKeys) {
+        this.failedIssueKeys = failedIssueKeys.isEmpty() ? null : String.join(",", failedIssueKeys);
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+}
@@ -1,8 +1,13 @@
 package org.ihtsdo.authoringservices.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.ihtsdo.authoringservices.domain.RMPTaskStatus;
 
+import java.util.HashSet;
+import java.util.Set;
+
 @Entity(name = "rmp_task")
 public class RMPTask extends BaseEntity {
 
@@ -77,6 +82,14 @@ public class RMPTask extends BaseEntity {
     @Column(columnDefinition = "TEXT DEFAULT NULL")
     private String reference;
 
+    // Words of the summary and type, indexed for search
+    @ElementCollection
+    @CollectionTable(name = "rmp_task_search_token", joinColumns = @JoinColumn(name = "rmp_task"))
+    @Column(name = "token")
+    @BatchSize(size = 100)
+    @JsonIgnore
+    private Set<String> searchTokens = new HashSet<>();
+
     public void setId(long id) {
         this.id = id;
     }
@@ -277,4 +290,15 @@ public class RMPTask extends BaseEntity {
         this.reference = reference;
     }
 
+    @JsonIgnore
+    public Set<String> getSearchTokens() {
+        return searchTokens;
+    }
+
+    public void setSearchTokens(Set<String> searchTokens) {
+        // Update in place so that only the changed words are written
+        this.searchTokens.retainAll(searchTokens);
+        this.searchTokens.addAll(searchTokens);
+    }
+
 }
@@ -22,10 +22,9 @@ public class RMPTaskAttachment extends BaseEntity {
     @Column(name = "content_size")
     private long contentSize;
 
-    @Lob
-    @Column(name = "content", columnDefinition = "LONGBLOB")
+    @Column(name = "storage_path")
     @JsonIgnore
-    private byte[] content;
+    private String storagePath;
 
     private String user;
 
@@ -63,12 +62,12 @@ public class RMPTaskAttachment extends BaseEntity {
     }
 
     @JsonIgnore
-    public byte[] getContent() {
-        return content;
+    public String getStoragePath() {
+        return storagePath;
     }
 
-    public void setContent(byte[] content) {
-        this.content = content;
+    public void setStoragePath(String storagePath) {
+        this.storagePath = storagePath;
     }
 
     public String getUser() {
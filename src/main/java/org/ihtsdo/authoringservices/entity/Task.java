@@ -1,6 +1,7 @@
 package org.ihtsdo.authoringservices.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.ihtsdo.authoringservices.domain.TaskStatus;
 import org.ihtsdo.authoringservices.domain.TaskType;
 
@@ -41,10 +42,14 @@ public class  Task {
     @Column(nullable = false)
     private String reporter;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Loaded on first use, for up to a batch of the tasks in the session at once rather than one query per task
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<CrsTask> crsTasks;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Task list queries fetch reviewers with the tasks, see TaskRepository
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<TaskReviewer> reviewers = new ArrayList<>();
 
     @Column(name = "created_timestamp")
@@ -63,6 +63,10 @@ public class Validation {
 		return id;
 	}
 
+	public void setId(long id) {
+		this.id = id;
+	}
+
 	public Long getRunId() {
 		return runId;
 	}
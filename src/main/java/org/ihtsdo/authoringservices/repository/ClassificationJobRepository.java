@@ -0,0 +1,13 @@
+package org.ihtsdo.authoringservices.repository;
+
+import org.ihtsdo.authoringservices.entity.ClassificationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+
+public interface ClassificationJobRepository extends JpaRepository<ClassificationJob, String> {
+
+    @Transactional
+    long deleteByCreatedDateBefore(Timestamp createdBefore);
+}
@@ -0,0 +1,28 @@
+package org.ihtsdo.authoringservices.repository;
+
+import org.ihtsdo.authoringservices.entity.EmailOutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface EmailOutboxMessageRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    List<EmailOutboxMessage> findByNextAttemptDateLessThanEqualOrderById(Timestamp dueBy, Pageable pageable);
+
+    /**
+     * Claims a due message by moving its next attempt past the time it may take to deliver it,
+     * so that it is not picked up again meanwhile, by this or another instance.
+     *
+     * @return 1 if the message was claimed, 0 if it has been claimed already
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE email_outbox m SET m.nextAttemptDate = :claimedUntil WHERE m.id = :id AND m.nextAttemptDate <= :dueBy")
+    int claim(@Param("id") long id, @Param("dueBy") Timestamp dueBy, @Param("claimedUntil") Timestamp claimedUntil);
+}
@@ -0,0 +1,7 @@
+package org.ihtsdo.authoringservices.repository;
+
+import org.ihtsdo.authoringservices.entity.JiraTaskMigrationCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JiraTaskMigrationCheckpointRepository extends JpaRepository<JiraTaskMigrationCheckpoint, String> {
+}
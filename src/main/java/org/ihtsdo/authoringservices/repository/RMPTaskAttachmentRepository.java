@@ -2,7 +2,10 @@ package org.ihtsdo.authoringservices.repository;
 
 import org.ihtsdo.authoringservices.entity.RMPTask;
 import org.ihtsdo.authoringservices.entity.RMPTaskAttachment;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,4 +16,12 @@ public interface RMPTaskAttachmentRepository extends CrudRepository<RMPTaskAttac
 
     Optional<RMPTaskAttachment> findByIdAndRmpTask_Id(long id, long rmpTaskId);
 
+    // Attachments saved before the content moved to the attachment store still have it in the content column
+    @Query(value = "SELECT content FROM rmp_task_attachment WHERE id = :id", nativeQuery = true)
+    byte[] findLegacyContent(@Param("id") long id);
+
+    @Modifying
+    @Query(value = "UPDATE rmp_task_attachment SET content = NULL WHERE id = :id", nativeQuery = true)
+    void clearLegacyContent(@Param("id") long id);
+
 }
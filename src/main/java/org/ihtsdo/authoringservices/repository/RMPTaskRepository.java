@@ -5,8 +5,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface RMPTaskRepository extends JpaRepository<RMPTask, Long>, PagingAndSortingRepository<RMPTask, Long>, QuerydslPredicateExecutor<RMPTask>, JpaSpecificationExecutor<RMPTask> {
     Page<RMPTask> findAllByCountry(String country, Pageable pageable);
@@ -14,4 +18,8 @@ public interface RMPTaskRepository extends JpaRepository<RMPTask, Long>, PagingA
     Page<RMPTask> findAllByReporter(String reporter, Pageable pageable);
 
     Page<RMPTask> findAllByCountryAndReporter(String country, String reporter, Pageable pageable);
+
+    // Tasks with no search words, either created before they were kept or with no summary or type
+    @Query("SELECT t.id FROM rmp_task t WHERE t.id > :afterId AND t.searchTokens IS EMPTY ORDER BY t.id")
+    List<Long> findUnindexedTaskIds(@Param("afterId") long afterId, Pageable pageable);
 }
@@ -2,12 +2,26 @@ package org.ihtsdo.authoringservices.repository;
 
 import org.ihtsdo.authoringservices.entity.Branch;
 import org.ihtsdo.authoringservices.entity.ReviewConceptView;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 public interface ReviewConceptViewRepository extends CrudRepository<ReviewConceptView, Long> {
 
 	List<ReviewConceptView> findByBranchAndUsernameOrderByViewDateAsc(Branch branch, String username);
 
+	@Query("select v.branch.id as branchId, max(v.viewDate) as viewDate from ReviewConceptView v " +
+			"where v.branch in :branches and v.username = :username group by v.branch.id")
+	List<BranchViewDate> findLatestViewDates(@Param("branches") Collection<Branch> branches, @Param("username") String username);
+
+	interface BranchViewDate {
+		Long getBranchId();
+
+		Date getViewDate();
+	}
+
 }
@@ -2,12 +2,35 @@ package org.ihtsdo.authoringservices.repository;
 
 import org.ihtsdo.authoringservices.entity.Branch;
 import org.ihtsdo.authoringservices.entity.ReviewMessage;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 public interface ReviewMessageRepository extends CrudRepository<ReviewMessage, Long> {
 
 	List<ReviewMessage> findByBranch(Branch branch);
 
+	@Query("select m.branch.id as branchId, max(m.creationDate) as lastMessageDate from ReviewMessage m " +
+			"where m.branch in :branches group by m.branch.id")
+	List<BranchLastMessageDate> findLastMessageDates(@Param("branches") Collection<Branch> branches);
+
+	/**
+	 * Branches with a message from another user about a concept which the given user has not viewed since the message was sent.
+	 */
+	@Query("select distinct m.branch.id from ReviewMessage m join m.subjectConceptIds conceptId " +
+			"where m.branch in :branches and (m.fromUsername is null or m.fromUsername <> :username) " +
+			"and not exists (select v.id from ReviewConceptView v where v.branch = m.branch and v.username = :username " +
+			"and v.conceptId = conceptId and v.viewDate >= m.creationDate)")
+	List<Long> findBranchIdsWithUnreadMessages(@Param("branches") Collection<Branch> branches, @Param("username") String username);
+
+	interface BranchLastMessageDate {
+		Long getBranchId();
+
+		Date getLastMessageDate();
+	}
+
 }
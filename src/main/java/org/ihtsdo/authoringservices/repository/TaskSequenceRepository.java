@@ -2,9 +2,16 @@ package org.ihtsdo.authoringservices.repository;
 
 import org.ihtsdo.authoringservices.entity.Project;
 import org.ihtsdo.authoringservices.entity.TaskSequence;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface TaskSequenceRepository extends CrudRepository<TaskSequence, Long> {
     TaskSequence findOneByProject(Project project);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE task_sequence s SET s.sequence = s.sequence + 1 WHERE s.project = :project")
+    int incrementSequence(@Param("project") Project project);
+
 }
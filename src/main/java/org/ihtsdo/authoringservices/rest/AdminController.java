@@ -8,6 +8,7 @@ import org.ihtsdo.authoringservices.domain.*;
 import org.ihtsdo.authoringservices.service.AdminService;
 import org.ihtsdo.authoringservices.service.CodeSystemService;
 import org.ihtsdo.authoringservices.service.JiraAuthoringTaskMigrateService;
+import org.ihtsdo.authoringservices.service.TaskKeyAllocator;
 import org.ihtsdo.authoringservices.service.exceptions.ServiceException;
 import org.ihtsdo.authoringservices.service.factory.ProjectServiceFactory;
 import org.ihtsdo.authoringservices.service.util.ProjectFilterUtil;
@@ -43,11 +44,25 @@ public class AdminController {
     @Autowired
     private JiraAuthoringTaskMigrateService jiraAuthoringTaskMigrateService;
 
+    @Autowired
+    private TaskKeyAllocator taskKeyAllocator;
+
     @PreAuthorize("hasPermission('ADMIN', 'global')")
-    @Operation(summary = "Migrate jira tasks")
+    @Operation(summary = "Migrate jira tasks",
+            description = "Starts migrating the Jira tasks of the given projects, or of all projects, in the background. " +
+                    "Each project carries on from where its last migration stopped, unless restart is set. " +
+                    "If a migration is already running the progress of that migration is returned.")
     @PostMapping(value = "/migrate-jira-tasks")
-    public void migrateJiraTasksManual(@RequestParam(required = false) Set<String> projectKeys) {
-        jiraAuthoringTaskMigrateService.migrateJiraTasks(projectKeys);
+    public JiraTaskMigrationProgress migrateJiraTasksManual(@RequestParam(required = false) Set<String> projectKeys,
+                                                           @RequestParam(required = false, defaultValue = "false") boolean restart) {
+        return jiraAuthoringTaskMigrateService.migrateJiraTasks(projectKeys, restart);
+    }
+
+    @PreAuthorize("hasPermission('ADMIN', 'global')")
+    @Operation(summary = "Get the progress and throughput of the Jira task migration")
+    @GetMapping(value = "/migrate-jira-tasks")
+    public JiraTaskMigrationProgress getJiraTaskMigrationProgress() {
+        return jiraAuthoringTaskMigrateService.getProgress();
     }
 
     @Operation(summary = "Create a task within a project")
@@ -59,6 +74,14 @@ public class AdminController {
         return adminService.createTask(project, taskCreateRequest, useNew, type);
     }
 
+    @PreAuthorize("hasPermission('ADMIN', 'global')")
+    @Operation(summary = "Get task key allocation count and latency")
+    @ApiResponse(responseCode = "200", description = "OK")
+    @GetMapping(value = "/task-key-allocation/stats")
+    public TaskKeyAllocationStats getTaskKeyAllocationStats() {
+        return taskKeyAllocator.getStats();
+    }
+
     @Operation(summary = "Delete a given task key", description = "-")
     @DeleteMapping(value = "/projects/{projectKey}/tasks/{taskKey}")
     public ResponseEntity<Void> deleteTask(@PathVariable final String projectKey, @PathVariable final String taskKey, @RequestParam(value = "useNew", required = false) Boolean useNew) throws BusinessServiceException {
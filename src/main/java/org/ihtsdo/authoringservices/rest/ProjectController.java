@@ -40,6 +40,7 @@ import static org.ihtsdo.authoringservices.rest.ControllerHelper.requiredParam;
 public class ProjectController {
 
     private static final String REBASING_STATUS = "Rebasing";
+    private static final String QUEUED_STATUS = "Queued";
 
     @Autowired
     private ProjectServiceFactory projectServiceFactory;
@@ -137,7 +138,7 @@ public class ProjectController {
     @PostMapping(value = "/projects/{projectKey}/promote")
     public ResponseEntity<String> promoteProject(@PathVariable final String projectKey, @RequestBody MergeRequest mergeRequest) throws BusinessServiceException {
         ProcessStatus processStatus = promotionService.getProjectPromotionStatus(requiredParam(projectKey, PROJECT_KEY));
-        if (processStatus == null || !REBASING_STATUS.equals(processStatus.getStatus())) {
+        if (processStatus == null || !(REBASING_STATUS.equals(processStatus.getStatus()) || QUEUED_STATUS.equals(processStatus.getStatus()))) {
             promotionService.doProjectPromotion(projectKey, mergeRequest);
         }
         return new ResponseEntity<>(HttpStatus.OK);
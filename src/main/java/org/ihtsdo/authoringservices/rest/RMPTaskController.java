@@ -14,6 +14,7 @@ import org.ihtsdo.authoringservices.service.UserCacheService;
 
 import org.ihtsdo.sso.integration.SecurityUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ContentDisposition;
@@ -27,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
@@ -149,20 +151,26 @@ public class RMPTaskController {
     }
 
     @GetMapping(value = "/{id}/attachments/{attachmentId}/download", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public ResponseEntity<byte[]> downloadAttachment(@PathVariable long id, @PathVariable long attachmentId) {
+    public ResponseEntity<InputStreamResource> downloadAttachment(@PathVariable long id, @PathVariable long attachmentId) {
         Optional<RMPTaskAttachment> attachment = rmpTaskAttachmentService.getByTaskAndId(id, attachmentId);
         if (attachment.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         RMPTaskAttachment a = attachment.get();
-        byte[] body = a.getContent() != null ? a.getContent() : new byte[0];
+        InputStream content;
+        try {
+            content = rmpTaskAttachmentService.openContent(a);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
         HttpHeaders headers = new HttpHeaders();
+        headers.setContentLength(a.getContentSize());
         String ct = a.getContentType();
         headers.setContentType(MediaType.parseMediaType(StringUtils.hasLength(ct) ? ct : MediaType.APPLICATION_OCTET_STREAM_VALUE));
         headers.setContentDisposition(ContentDisposition.attachment()
                 .filename(a.getFileName() != null ? a.getFileName() : "attachment", StandardCharsets.UTF_8)
                 .build());
-        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+        return new ResponseEntity<>(new InputStreamResource(content), headers, HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}/attachments/{attachmentId}")
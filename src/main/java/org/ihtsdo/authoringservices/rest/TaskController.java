@@ -36,6 +36,9 @@ import static org.ihtsdo.authoringservices.rest.ControllerHelper.*;
 public class TaskController {
 
     private static final String REBASING_STATUS = "Rebasing";
+    private static final String QUEUED_STATUS = "Queued";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_LIMIT = 500;
 
     private final ProjectServiceFactory projectServiceFactory;
     private final TaskServiceFactory taskServiceFactory;
@@ -95,27 +98,45 @@ public class TaskController {
     @Operation(summary = "List review tasks, with the current user or unassigned reviewer, across projects")
     @ApiResponse(responseCode = "200", description = "OK")
     @GetMapping(value = "/projects/review-tasks")
-    public List<AuthoringTask> listMyOrUnassignedReviewTasks(@RequestParam(value = "excludePromoted", required = false) String excludePromoted) throws BusinessServiceException {
+    public ResponseEntity<List<AuthoringTask>> listMyOrUnassignedReviewTasks(@RequestParam(value = "excludePromoted", required = false) String excludePromoted,
+                                                                             @Parameter(description = "Page size. When set, the tasks are returned newest first and the " + NEXT_CURSOR_HEADER + " response header holds the cursor of the next page.")
+                                                                             @RequestParam(value = "limit", required = false) Integer limit,
+                                                                             @RequestParam(value = "cursor", required = false) String cursor) throws BusinessServiceException {
         List<CodeSystem> codeSystems = getCodeSystems();
 
-        List<AuthoringTask> results = new ArrayList<>(taskServiceFactory.getInstance(true).listMyOrUnassignedReviewTasks(codeSystems, excludePromoted));
-        List<AuthoringTask> jiraTasks = taskServiceFactory.getInstance(false).listMyOrUnassignedReviewTasks(codeSystems, excludePromoted);
-        return filterJiraTasks(jiraTasks, results);
+        if (limit == null) {
+            List<AuthoringTask> results = new ArrayList<>(taskServiceFactory.getInstance(true).listMyOrUnassignedReviewTasks(codeSystems, excludePromoted));
+            List<AuthoringTask> jiraTasks = taskServiceFactory.getInstance(false).listMyOrUnassignedReviewTasks(codeSystems, excludePromoted);
+            return ResponseEntity.ok(filterJiraTasks(jiraTasks, results));
+        }
+        validatePageLimit(limit);
+        AuthoringTaskPage page = taskServiceFactory.getInstance(true).listMyOrUnassignedReviewTasks(codeSystems, excludePromoted, cursor, limit);
+        AuthoringTaskPage jiraPage = taskServiceFactory.getInstance(false).listMyOrUnassignedReviewTasks(codeSystems, excludePromoted, cursor, limit);
+        return getPageResponse(filterJiraTasks(jiraPage.getItems(), new ArrayList<>(page.getItems())), page.getNextCursor());
     }
 
     @Operation(summary = "Search tasks across projects")
     @ApiResponse(responseCode = "200", description = "OK")
     @GetMapping(value = "/projects/tasks/search")
-    public List<AuthoringTask> searchTasks(@RequestParam(value = "criteria", required = false) String criteria,
+    public ResponseEntity<List<AuthoringTask>> searchTasks(@RequestParam(value = "criteria", required = false) String criteria,
                                            @RequestParam(value = "projectKeys", required = false) Set<String> projectKeys,
                                            @RequestParam(value = "statuses", required = false) Set<String> statuses,
                                            @RequestParam(value = "author", required = false) String author,
                                            @RequestParam(value = "createdDateFrom", required = false) Long createdDateFrom,
                                            @RequestParam(value = "createdDateTo", required = false) Long createdDateTo,
-                                           @RequestParam(value = "lightweight", required = false) Boolean lightweight) throws BusinessServiceException {
-        List<AuthoringTask> results = new ArrayList<>(taskServiceFactory.getInstance(true).searchTasks(criteria, projectKeys, statuses, author, createdDateFrom, createdDateTo, lightweight));
-        List<AuthoringTask> jiraTasks = taskServiceFactory.getInstance(false).searchTasks(criteria, projectKeys, statuses, author, createdDateFrom, createdDateTo, lightweight);
-        return filterJiraTasks(jiraTasks, results);
+                                           @RequestParam(value = "lightweight", required = false) Boolean lightweight,
+                                           @Parameter(description = "Page size. When set, the tasks are returned newest first and the " + NEXT_CURSOR_HEADER + " response header holds the cursor of the next page.")
+                                           @RequestParam(value = "limit", required = false) Integer limit,
+                                           @RequestParam(value = "cursor", required = false) String cursor) throws BusinessServiceException {
+        if (limit == null) {
+            List<AuthoringTask> results = new ArrayList<>(taskServiceFactory.getInstance(true).searchTasks(criteria, projectKeys, statuses, author, createdDateFrom, createdDateTo, lightweight));
+            List<AuthoringTask> jiraTasks = taskServiceFactory.getInstance(false).searchTasks(criteria, projectKeys, statuses, author, createdDateFrom, createdDateTo, lightweight);
+            return ResponseEntity.ok(filterJiraTasks(jiraTasks, results));
+        }
+        validatePageLimit(limit);
+        AuthoringTaskPage page = taskServiceFactory.getInstance(true).searchTasks(criteria, projectKeys, statuses, author, createdDateFrom, createdDateTo, lightweight, cursor, limit);
+        AuthoringTaskPage jiraPage = taskServiceFactory.getInstance(false).searchTasks(criteria, projectKeys, statuses, author, createdDateFrom, createdDateTo, lightweight, cursor, limit);
+        return getPageResponse(filterJiraTasks(jiraPage.getItems(), new ArrayList<>(page.getItems())), page.getNextCursor());
     }
 
     @Operation(summary = "Retrieve a task within a project")
@@ -180,7 +201,7 @@ public class TaskController {
                                               @PathVariable final String taskKey,
                                               @RequestBody MergeRequest mergeRequest) throws BusinessServiceException {
         ProcessStatus processStatus = promotionService.getTaskPromotionStatus(requiredParam(projectKey, PROJECT_KEY), requiredParam(taskKey, TASK_KEY));
-        if (processStatus == null || !REBASING_STATUS.equals(processStatus.getStatus())) {
+        if (processStatus == null || !(REBASING_STATUS.equals(processStatus.getStatus()) || QUEUED_STATUS.equals(processStatus.getStatus()))) {
             promotionService.doTaskPromotion(projectKey, taskKey, mergeRequest);
         }
         return new ResponseEntity<>(HttpStatus.OK);
@@ -196,9 +217,9 @@ public class TaskController {
     @Operation(summary = "Auto-promote an authoring task")
     @ApiResponse(responseCode = "200", description = "OK")
     @PostMapping(value = "/projects/{projectKey}/tasks/{taskKey}/auto-promote")
-    public ResponseEntity<String> autoPromoteTask(@PathVariable final String projectKey, @PathVariable final String taskKey) {
+    public ResponseEntity<String> autoPromoteTask(@PathVariable final String projectKey, @PathVariable final String taskKey) throws BusinessServiceException {
         ProcessStatus currentProcessStatus = promotionService.getAutomateTaskPromotionStatus(requiredParam(projectKey, PROJECT_KEY), requiredParam(taskKey, TASK_KEY));
-        if (!(null != currentProcessStatus && (REBASING_STATUS.equals(currentProcessStatus.getStatus()) || currentProcessStatus.getStatus().equals("Classifying") || currentProcessStatus.getStatus().equals("Promoting")))) {
+        if (!(null != currentProcessStatus && (QUEUED_STATUS.equals(currentProcessStatus.getStatus()) || REBASING_STATUS.equals(currentProcessStatus.getStatus()) || currentProcessStatus.getStatus().equals("Classifying") || currentProcessStatus.getStatus().equals("Promoting")))) {
             promotionService.queueAutomateTaskPromotion(projectKey, taskKey);
         }
         return new ResponseEntity<>(HttpStatus.OK);
@@ -218,6 +239,13 @@ public class TaskController {
         return promotionService.listTasksQueuedForAutoPromotion();
     }
 
+    @Operation(summary = "Get depth and wait times of the promotion queue")
+    @ApiResponse(responseCode = "200", description = "OK")
+    @GetMapping(value = "/promotion/queue-status")
+    public PromotionQueueStatus getPromotionQueueStatus() {
+        return promotionService.getPromotionQueueStatus();
+    }
+
     @Operation(summary = "Clear status of authoring task auto-promotion.")
     @ApiResponse(responseCode = "200", description = "OK")
     @PostMapping(value = "/projects/{projectKey}/tasks/{taskKey}/auto-promote/clear-status")
@@ -249,6 +277,20 @@ public class TaskController {
         return snowstormRestClient.getCodeSystems();
     }
 
+    private void validatePageLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException(String.format("Parameter limit must be between 1 and %d.", MAX_PAGE_LIMIT));
+        }
+    }
+
+    private ResponseEntity<List<AuthoringTask>> getPageResponse(List<AuthoringTask> tasks, String nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(tasks);
+    }
+
     private List<AuthoringTask> filterJiraTasks(List<AuthoringTask> jiraTasks, List<AuthoringTask> results) {
         if (results == null || results.isEmpty()) results = new ArrayList<>();
         if (jiraTasks == null || jiraTasks.isEmpty()) jiraTasks = new ArrayList<>();
@@ -244,7 +244,7 @@ public class ValidationController {
 				SecurityContextHolder.setContext(context);
 				Validation validation = validationService.getValidation(item.getBranchPath());
 				if (validation == null || validation.getStatus() == null || ValidationJobStatus.isAllowedTriggeringState(validation.getStatus())) {
-					startValidation(item.getBranchPath(), true);
+					validationService.startBulkValidation(item.getBranchPath(), true);
 				}
 			} catch (BusinessServiceException | ExecutionException e) {
 				throw new RuntimeException(e);
@@ -0,0 +1,88 @@
+package org.ihtsdo.authoringservices.service;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Index of branch paths organised as a tree of path segments,
+ * so that all paths under a given branch can be found without scanning every path.
+ */
+public class BranchPathIndex {
+
+	private static final String SEPARATOR = "/";
+
+	private final Node root = new Node();
+
+	public synchronized void add(String branchPath) {
+		Node node = root;
+		for (String segment : branchPath.split(SEPARATOR)) {
+			node = node.children.computeIfAbsent(segment, k -> new Node());
+		}
+		node.present = true;
+	}
+
+	public synchronized void remove(String branchPath) {
+		remove(root, branchPath.split(SEPARATOR), 0);
+	}
+
+	private boolean remove(Node node, String[] segments, int depth) {
+		if (depth == segments.length) {
+			node.present = false;
+		} else {
+			Node child = node.children.get(segments[depth]);
+			if (child != null && remove(child, segments, depth + 1)) {
+				node.children.remove(segments[depth]);
+			}
+		}
+		return !node.present && node.children.isEmpty();
+	}
+
+	/**
+	 * Returns the given path, if indexed, and all indexed paths below it.
+	 */
+	public synchronized List<String> getSubtree(String branchPath) {
+		return getSubtree(branchPath, path -> false);
+	}
+
+	/**
+	 * Returns the given path, if indexed, and all indexed paths below it,
+	 * skipping any path matching the exclusion together with everything below that path.
+	 */
+	public synchronized List<String> getSubtree(String branchPath, Predicate<String> excluded) {
+		Node node = root;
+		for (String segment : branchPath.split(SEPARATOR)) {
+			node = node.children.get(segment);
+			if (node == null) {
+				return Collections.emptyList();
+			}
+		}
+		List<String> paths = new ArrayList<>();
+		collect(node, branchPath, excluded, paths);
+		return paths;
+	}
+
+	private void collect(Node node, String path, Predicate<String> excluded, List<String> paths) {
+		if (excluded.test(path)) {
+			return;
+		}
+		if (node.present) {
+			paths.add(path);
+		}
+		for (Map.Entry<String, Node> entry : node.children.entrySet()) {
+			collect(entry.getValue(), path + SEPARATOR + entry.getKey(), excluded, paths);
+		}
+	}
+
+	public synchronized List<String> getAll() {
+		List<String> paths = new ArrayList<>();
+		for (Map.Entry<String, Node> entry : root.children.entrySet()) {
+			collect(entry.getValue(), entry.getKey(), path -> false, paths);
+		}
+		return paths;
+	}
+
+	private static final class Node {
+		private final Map<String, Node> children = new HashMap<>();
+		private boolean present;
+	}
+}
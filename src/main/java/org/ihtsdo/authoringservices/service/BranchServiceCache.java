@@ -1,5 +1,7 @@
 package org.ihtsdo.authoringservices.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.ihtsdo.authoringservices.service.exceptions.ServiceException;
 import org.ihtsdo.otf.rest.client.RestClientException;
 import org.ihtsdo.otf.rest.client.terminologyserver.SnowstormRestClientFactory;
@@ -7,22 +9,138 @@ import org.ihtsdo.otf.rest.client.terminologyserver.pojo.Branch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
+
+/**
+ * Cache of Snowstorm branches, indexed by path segment so that a branch and everything below it can be evicted together.
+ * Evicted entries which have been read since they were loaded are refreshed in the background,
+ * readers keep getting the previous value until the new one arrives.
+ */
 @Service
 public class BranchServiceCache {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final SnowstormRestClientFactory snowstormRestClientFactory;
 
+    private final Map<String, CachedBranch> branchCache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedBranch>> inFlightLoads = new ConcurrentHashMap<>();
+    private final BranchPathIndex branchPathIndex = new BranchPathIndex();
+
+    // Paths being refreshed, mapped to whether they were evicted again while the refresh was running
+    private final Map<String, Boolean> refreshes = new HashMap<>();
+
+    private ExecutorService refreshExecutor;
+
+    @Value("${branch.cache.refresh.thread-pool-size}")
+    private int refreshThreadPoolSize;
+
     public BranchServiceCache(@Autowired SnowstormRestClientFactory snowstormRestClientFactory) {
         this.snowstormRestClientFactory = snowstormRestClientFactory;
     }
 
-    @Cacheable(value = "branchCache", key = "#branchPath", sync = true)
+    @PostConstruct
+    public void init() {
+        refreshExecutor = Executors.newFixedThreadPool(refreshThreadPoolSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
     public Branch getBranchOrNull(String branchPath) throws ServiceException {
+        CachedBranch cachedBranch = branchCache.get(branchPath);
+        if (cachedBranch != null) {
+            cachedBranch.markAccessed();
+            return cachedBranch.branch();
+        }
+        return load(branchPath).branch();
+    }
+
+    public void evictBranchCache(String branchPath) {
+        CachedBranch cachedBranch = branchCache.get(branchPath);
+        if (cachedBranch == null) {
+            return;
+        }
+        if (cachedBranch.isAccessed() && cachedBranch.securityContext() != null) {
+            if (startRefresh(branchPath)) {
+                refreshExecutor.execute(() -> refresh(branchPath, cachedBranch.securityContext()));
+            }
+        } else {
+            remove(branchPath);
+        }
+        logger.debug("Cleared Branch cache for branch {}.", branchPath);
+    }
+
+    /**
+     * Evicts the given branch, if cached, and every cached branch below it.
+     */
+    public void evictBranchCacheSubtree(String branchPath) {
+        evictBranchCacheSubtree(branchPath, path -> false);
+    }
+
+    /**
+     * Evicts the given branch, if cached, and every cached branch below it,
+     * leaving any branch matching the exclusion and everything below that branch untouched.
+     */
+    public void evictBranchCacheSubtree(String branchPath, Predicate<String> excluded) {
+        branchPathIndex.getSubtree(branchPath, excluded).forEach(this::evictBranchCache);
+    }
+
+    public Set<String> getCachedBranchPaths() {
+        return new HashSet<>(branchPathIndex.getAll());
+    }
+
+    private CachedBranch load(String branchPath) throws ServiceException {
+        CompletableFuture<CachedBranch> newLoad = new CompletableFuture<>();
+        CompletableFuture<CachedBranch> existingLoad = inFlightLoads.putIfAbsent(branchPath, newLoad);
+        if (existingLoad != null) {
+            return join(existingLoad, branchPath);
+        }
+        try {
+            // Another load may have completed since the caller checked the cache
+            CachedBranch cachedBranch = branchCache.get(branchPath);
+            if (cachedBranch == null) {
+                // Only marked as accessed when it is read from the cache, an entry loaded once and never read again is not refreshed
+                cachedBranch = new CachedBranch(fetchBranch(branchPath), copyOfCurrentSecurityContext());
+                branchCache.put(branchPath, cachedBranch);
+                branchPathIndex.add(branchPath);
+            }
+            newLoad.complete(cachedBranch);
+            return cachedBranch;
+        } catch (ServiceException e) {
+            newLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(branchPath, newLoad);
+        }
+    }
+
+    private SecurityContext copyOfCurrentSecurityContext() {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            return null;
+        }
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        return securityContext;
+    }
+
+    private CachedBranch join(CompletableFuture<CachedBranch> load, String branchPath) throws ServiceException {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            throw new ServiceException("Failed to fetch branch " + branchPath, e.getCause());
+        }
+    }
+
+    private Branch fetchBranch(String branchPath) throws ServiceException {
         try {
             return snowstormRestClientFactory.getClient().getBranch(branchPath);
         } catch (RestClientException e) {
@@ -30,8 +148,74 @@ public class BranchServiceCache {
         }
     }
 
-    @CacheEvict(value = "branchCache", key = "#branchPath")
-    public void evictBranchCache(String branchPath) {
-        logger.debug("Cleared Branch cache for branch {}.", branchPath);
+    private void refresh(String branchPath, SecurityContext securityContext) {
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            do {
+                Branch branch = fetchBranch(branchPath);
+                branchCache.computeIfPresent(branchPath, (key, previous) -> new CachedBranch(branch, securityContext));
+            } while (continueRefresh(branchPath));
+            logger.debug("Refreshed Branch cache for branch {}.", branchPath);
+        } catch (ServiceException e) {
+            logger.warn("Failed to refresh branch {}, removing it from the cache. Message: {}", branchPath, e.getMessage());
+            remove(branchPath);
+            finishRefresh(branchPath);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private synchronized boolean startRefresh(String branchPath) {
+        if (refreshes.containsKey(branchPath)) {
+            refreshes.put(branchPath, true);
+            return false;
+        }
+        refreshes.put(branchPath, false);
+        return true;
+    }
+
+    private synchronized boolean continueRefresh(String branchPath) {
+        if (Boolean.TRUE.equals(refreshes.get(branchPath))) {
+            refreshes.put(branchPath, false);
+            return true;
+        }
+        refreshes.remove(branchPath);
+        return false;
+    }
+
+    private synchronized void finishRefresh(String branchPath) {
+        refreshes.remove(branchPath);
+    }
+
+    private void remove(String branchPath) {
+        branchCache.remove(branchPath);
+        branchPathIndex.remove(branchPath);
+    }
+
+    private static final class CachedBranch {
+        private final Branch branch;
+        private final SecurityContext securityContext;
+        private volatile boolean accessed;
+
+        private CachedBranch(Branch branch, SecurityContext securityContext) {
+            this.branch = branch;
+            this.securityContext = securityContext;
+        }
+
+        private Branch branch() {
+            return branch;
+        }
+
+        private SecurityContext securityContext() {
+            return securityContext;
+        }
+
+        private boolean isAccessed() {
+            return accessed;
+        }
+
+        private void markAccessed() {
+            accessed = true;
+        }
     }
 }
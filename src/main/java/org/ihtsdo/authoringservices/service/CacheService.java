@@ -1,13 +1,10 @@
 package org.ihtsdo.authoringservices.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
-import javax.annotation.Nullable;
 import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
 
 @Service
 public class CacheService {
@@ -18,9 +15,6 @@ public class CacheService {
     @Autowired
     private BranchServiceCache branchServiceCache;
 
-    @Autowired
-    private CacheManager cacheManager;
-
     public void clearClassificationCache(String branchPath) {
         classificationService.evictClassificationCache(branchPath);
     }
@@ -29,24 +23,25 @@ public class CacheService {
         branchServiceCache.evictBranchCache(branchPath);
     }
 
+    /**
+     * Clears every cached branch whose path starts with the given string, which need not end on a path segment.
+     */
     public void clearBranchCacheStartWith(String branchStartWith) {
-        Set<Object> keys = getBranchCaches();
-        if (keys != null) {
-            keys.stream().filter(key -> key.toString().startsWith(branchStartWith)).forEach(item -> branchServiceCache.evictBranchCache(item.toString()));
-        }
+        getBranchCaches().stream().filter(key -> key.startsWith(branchStartWith)).forEach(branchServiceCache::evictBranchCache);
+    }
+
+    /**
+     * Clears the given branch and every cached branch below it.
+     */
+    public void clearBranchCacheSubtree(String branchPath) {
+        branchServiceCache.evictBranchCacheSubtree(branchPath);
+    }
+
+    public void clearBranchCacheSubtree(String branchPath, Predicate<String> excluded) {
+        branchServiceCache.evictBranchCacheSubtree(branchPath, excluded);
     }
 
-    @Nullable
-    public Set<Object> getBranchCaches() {
-        Cache cache = cacheManager.getCache("branchCache");
-        Set<Object> keys = null;
-        if (cache instanceof org.springframework.cache.caffeine.CaffeineCache caffeinecache) {
-            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeinecache.getNativeCache();
-            keys = nativeCache.asMap().keySet();
-        } else if (cache instanceof org.springframework.cache.concurrent.ConcurrentMapCache concurrentmapcache) {
-            ConcurrentMap<Object, Object> nativeCache = concurrentmapcache.getNativeCache();
-            keys = nativeCache.keySet();
-        }
-        return keys;
+    public Set<String> getBranchCaches() {
+        return branchServiceCache.getCachedBranchPaths();
     }
 }
@@ -0,0 +1,94 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.domain.ClassificationRequest;
+import org.ihtsdo.authoringservices.entity.ClassificationJob;
+import org.ihtsdo.authoringservices.repository.ClassificationJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifications started by this service which have not completed yet.
+ * Requests are kept in memory with the caller's authentication and stored in the database so that a classification
+ * completing after a restart is still reported to the user who started it.
+ * The user's credentials are not stored, so a recovered request only carries their username.
+ */
+@Service
+public class ClassificationJobRegistry {
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final ClassificationJobRepository classificationJobRepository;
+
+	private final Map<String, ClassificationRequest> outstandingRequests = new ConcurrentHashMap<>();
+
+	@Value("${classification.job.expiry-hours}")
+	private long expiryHours;
+
+	public ClassificationJobRegistry(ClassificationJobRepository classificationJobRepository) {
+		this.classificationJobRepository = classificationJobRepository;
+	}
+
+	public void register(ClassificationRequest request, String username) {
+		outstandingRequests.put(request.getClassificationId(), request);
+		try {
+			classificationJobRepository.save(new ClassificationJob(request.getClassificationId(), request.getProjectKey(),
+					request.getTaskKey(), request.getBranchPath(), username));
+		} catch (DataAccessException e) {
+			logger.error("Failed to store classification {}, its completion will not be reported after a restart.", request.getClassificationId(), e);
+		}
+	}
+
+	/**
+	 * Removes the request of a completed classification.
+	 *
+	 * @return the request, or null if the classification was not started by this service
+	 */
+	public ClassificationRequest complete(String classificationId) {
+		ClassificationRequest request = outstandingRequests.remove(classificationId);
+		Optional<ClassificationJob> classificationJob;
+		try {
+			classificationJob = classificationJobRepository.findById(classificationId);
+			classificationJob.ifPresent(classificationJobRepository::delete);
+		} catch (DataAccessException e) {
+			logger.error("Failed to remove stored classification {}, it will be purged once expired.", classificationId, e);
+			return request;
+		}
+		if (classificationJob.isEmpty()) {
+			return request;
+		}
+		return request != null ? request : recover(classificationJob.get());
+	}
+
+	@Scheduled(initialDelay = 1, fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+	public void purgeExpiredJobs() {
+		Timestamp expiry = new Timestamp(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(expiryHours));
+		outstandingRequests.values().removeIf(request -> request.getStartedAt() < expiry.getTime());
+		long purged = classificationJobRepository.deleteByCreatedDateBefore(expiry);
+		if (purged > 0) {
+			logger.info("Removed {} classification(s) which did not report completion within {} hours.", purged, expiryHours);
+		}
+	}
+
+	private ClassificationRequest recover(ClassificationJob classificationJob) {
+		logger.info("Recovered classification {} on {} started before the last restart.", classificationJob.getClassificationId(), classificationJob.getBranchPath());
+		ClassificationRequest request = new ClassificationRequest();
+		request.setClassificationId(classificationJob.getClassificationId());
+		request.setProjectKey(classificationJob.getProjectKey());
+		request.setTaskKey(classificationJob.getTaskKey());
+		request.setBranchPath(classificationJob.getBranchPath());
+		request.setAuthentication(new PreAuthenticatedAuthenticationToken(classificationJob.getUsername(), null));
+		request.setRecovered(true);
+		return request;
+	}
+}
@@ -0,0 +1,88 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.Executor;
+
+/**
+ * Pipe from a conversion running on another thread to the reader of its output.
+ * The pipe holds a bounded amount of output, the conversion waits when it is full and stops when the reader closes the pipe.
+ * A failed conversion is reported to the reader as a read error rather than as the end of the output,
+ * so that a truncated output is never taken for a complete one.
+ */
+final class ConversionPipe extends PipedInputStream {
+
+	interface Conversion {
+		void writeTo(OutputStream output) throws Exception;
+	}
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final PipedOutputStream output;
+
+	private volatile Exception conversionFailure;
+
+	private volatile boolean fullyRead;
+
+	ConversionPipe(int bufferSize) throws IOException {
+		super(bufferSize);
+		output = new PipedOutputStream(this);
+	}
+
+	void start(Executor executor, Conversion conversion) {
+		executor.execute(() -> {
+			try {
+				conversion.writeTo(output);
+			} catch (Exception e) {
+				conversionFailure = e;
+			} finally {
+				try {
+					output.close();
+				} catch (IOException e) {
+					logger.debug("Failed to close conversion pipe.", e);
+				}
+			}
+		});
+	}
+
+	boolean isConversionFailed() {
+		return conversionFailure != null;
+	}
+
+	/**
+	 * @return true once the reader has reached the end of the complete output
+	 */
+	boolean isFullyRead() {
+		return fullyRead;
+	}
+
+	@Override
+	public synchronized int read() throws IOException {
+		int read = super.read();
+		if (read < 0) {
+			endOfOutput();
+		}
+		return read;
+	}
+
+	@Override
+	public synchronized int read(byte[] b, int off, int len) throws IOException {
+		int read = super.read(b, off, len);
+		if (read < 0) {
+			endOfOutput();
+		}
+		return read;
+	}
+
+	private void endOfOutput() throws IOException {
+		if (conversionFailure != null) {
+			throw new IOException("Conversion failed.", conversionFailure);
+		}
+		fullyRead = true;
+	}
+}
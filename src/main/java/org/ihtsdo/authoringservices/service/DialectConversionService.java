@@ -1,27 +1,26 @@
 package org.ihtsdo.authoringservices.service;
 
-import com.google.common.collect.Sets;
+import com.google.common.collect.ImmutableSet;
 import io.awspring.cloud.s3.ObjectMetadata;
 import jakarta.annotation.PostConstruct;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.ihtsdo.authoringservices.domain.DialectVariations;
 import org.ihtsdo.authoringservices.service.exceptions.ServiceException;
 import org.ihtsdo.otf.dao.s3.S3ClientImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.regions.providers.DefaultAwsRegionProviderChain;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.S3Object;
 
 import java.io.*;
 import java.nio.file.Files;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class DialectConversionService {
@@ -31,8 +30,11 @@ public class DialectConversionService {
 	private final String usToGbTermsMapPath;
 	private final String usToGbSynonymsMapPath;
 	private final Logger logger = LoggerFactory.getLogger(getClass());
-    private Map<String, String> dialectUsToGbMap;
-    private Map<String, Set<String>> dialectSynonymsUsToGbMap;
+	// Replaced whole on reload, readers keep using the snapshot they started with
+    private volatile DialectMatcher<String> dialectUsToGbMatcher;
+    private volatile DialectMatcher<Set<String>> dialectSynonymsUsToGbMatcher;
+    private volatile String usToGbTermsMapETag;
+    private volatile String usToGbSynonymsMapETag;
     private final boolean awsResourceEnabled;
 
     public DialectConversionService(
@@ -46,21 +48,63 @@ public class DialectConversionService {
 		this.bucket = bucket;
 		this.usToGbTermsMapPath = usToGbTermsMapPath;
 		this.usToGbSynonymsMapPath = usToGbSynonymsMapPath;
-		this.dialectUsToGbMap = new HashMap<>();
-		this.dialectSynonymsUsToGbMap = new HashMap<>();
+		this.dialectUsToGbMatcher = DialectMatcher.empty();
+		this.dialectSynonymsUsToGbMatcher = DialectMatcher.empty();
         this.awsResourceEnabled = awsResourceEnabled;
     }
 
 	@PostConstruct
 	public void loadList() throws ServiceException {
 	    if (awsResourceEnabled) {
-            doLoadList(getMapObject());
-            doLoadSynonymsList(getSynonymsMapObject());
+            loadTermsMap();
+            loadSynonymsMap();
         } else {
             logger.info("AWS resources disabled, not loading US-GB dialect conversion map.");
         }
 	}
 
+	/**
+	 * Reloads the maps which have been changed in S3, for example by another instance of this service.
+	 */
+	@Scheduled(initialDelayString = "${dialect.map.reload-check-minutes}", fixedDelayString = "${dialect.map.reload-check-minutes}", timeUnit = TimeUnit.MINUTES)
+	public void reloadChangedLists() {
+		if (!awsResourceEnabled) {
+			return;
+		}
+		try {
+			if (!Objects.equals(usToGbTermsMapETag, getETag(usToGbTermsMapPath))) {
+				loadTermsMap();
+			}
+			if (!Objects.equals(usToGbSynonymsMapETag, getETag(usToGbSynonymsMapPath))) {
+				loadSynonymsMap();
+			}
+		} catch (Exception e) {
+			logger.error("Failed to reload US to GB dialect conversion maps, keeping the maps already loaded.", e);
+		}
+	}
+
+	private void loadTermsMap() throws ServiceException {
+		// Taken before reading so that a change made while reading is picked up by the next check
+		String eTag = getETag(usToGbTermsMapPath);
+		doLoadList(getMapObject());
+		usToGbTermsMapETag = eTag;
+	}
+
+	private void loadSynonymsMap() throws ServiceException {
+		String eTag = getETag(usToGbSynonymsMapPath);
+		doLoadSynonymsList(getSynonymsMapObject());
+		usToGbSynonymsMapETag = eTag;
+	}
+
+	private String getETag(String path) {
+		for (S3Object s3Object : s3Client.listObjects(bucket, path).contents()) {
+			if (s3Object.key().equals(path)) {
+				return s3Object.eTag();
+			}
+		}
+		return null;
+	}
+
 	private void doLoadList(InputStream objectContent) throws ServiceException {
 		try (BufferedReader reader = new BufferedReader(new InputStreamReader(objectContent))) {
 			logger.info("Loading US to GB dialect conversion map");
@@ -71,7 +115,8 @@ public class DialectConversionService {
 				String[] split = line.split("\\t");
 				newDialectUsToGbMap.put(split[0], split[1]);
 			}
-			dialectUsToGbMap = newDialectUsToGbMap;
+			dialectUsToGbMatcher = DialectMatcher.build(newDialectUsToGbMap, DialectConversionService::capitalize);
+			logger.info("Loaded {} US to GB dialect conversions", dialectUsToGbMatcher.size());
 		} catch (IOException e) {
 			throw new ServiceException("Failed to load spelling list from S3.", e);
 		}
@@ -86,52 +131,41 @@ public class DialectConversionService {
 			while ((line = reader.readLine()) != null) {
 				String[] split = line.split("\\t");
 				String[] synSplit = split[1].split("\\|");
-				newDialectUsToGbMap.put(split[0], Sets.newHashSet(org.apache.commons.lang.StringUtils.stripAll(synSplit)));
+				newDialectUsToGbMap.put(split[0], ImmutableSet.copyOf(org.apache.commons.lang.StringUtils.stripAll(synSplit)));
 			}
-			dialectSynonymsUsToGbMap = newDialectUsToGbMap;
+			dialectSynonymsUsToGbMatcher = DialectMatcher.build(newDialectUsToGbMap,
+					synonyms -> synonyms.stream().map(DialectConversionService::capitalize).collect(ImmutableSet.toImmutableSet()));
+			logger.info("Loaded {} US to GB dialect synonym conversions", dialectSynonymsUsToGbMatcher.size());
 		} catch (IOException e) {
 			throw new ServiceException("Failed to load spelling list from S3.", e);
 		}
 	}
 
+	/**
+	 * Finds the US terms in each of the given words or descriptions, including multi-word terms.
+	 * The GB term starts with a capital letter where the US term found does.
+	 */
 	public Map<String, String> getAvailableEnUsToEnGbConversions(Set<String> words) {
-		Map<String, String> conversions = new HashMap<>();
-		for (String usWord : words) {
-			if (!StringUtils.isEmpty(usWord)) {
-				String gbWord = dialectUsToGbMap.get(usWord.toLowerCase());
-				if (!StringUtils.isEmpty(gbWord)) {
-					// Preserve first letter capitalization
-					if (usWord.substring(0, 1).equals(usWord.substring(0, 1).toUpperCase())) {
-						gbWord = gbWord.substring(0, 1).toUpperCase() + gbWord.substring(1);
-					}
-					conversions.put(usWord, gbWord);
-				}
-			}
-		}
-		return conversions;
+		return findConversions(words, dialectUsToGbMatcher);
 	}
 	
 	public Map<String, Set<String>> getAvailableSynonymsEnUsToEnGbConversions(Set<String> words) {
-		Map<String, Set<String>> conversions = new HashMap<>();
-		for (String usWord : words) {
-			if (!StringUtils.isEmpty(usWord)) {
-				Set<String> gbWordList = dialectSynonymsUsToGbMap.get(usWord.toLowerCase());
-				if (!CollectionUtils.isEmpty(gbWordList)) {
-					Set<String> newGBWordList = new HashSet<>();
-					for (String gbWord : gbWordList) {
-						// Preserve first letter capitalization
-						if (usWord.substring(0, 1).equals(usWord.substring(0, 1).toUpperCase())) {
-							newGBWordList.add(gbWord.substring(0, 1).toUpperCase() + gbWord.substring(1));
-						} else {
-							newGBWordList.add(gbWord);
-						}
-					}
-					conversions.put(usWord, newGBWordList);
-				}
+		return findConversions(words, dialectSynonymsUsToGbMatcher);
+	}
+
+	private <V> Map<String, V> findConversions(Set<String> words, DialectMatcher<V> matcher) {
+		Map<String, V> conversions = new HashMap<>();
+		for (String text : words) {
+			if (text != null) {
+				matcher.scan(text, conversions::put);
 			}
 		}
 		return conversions;
 	}
+
+	private static String capitalize(String word) {
+		return word.isEmpty() ? word : word.substring(0, 1).toUpperCase() + word.substring(1);
+	}
 	
 	public DialectVariations getAcceptableTermsAndAvailableSynonymsEnUsToEnGbConversions(Set<String> words){
 		DialectVariations result = new DialectVariations();
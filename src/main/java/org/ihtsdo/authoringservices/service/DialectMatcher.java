@@ -0,0 +1,194 @@
+package org.ihtsdo.authoringservices.service;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable, compiled matcher over a dialect map.
+ * The map keys are held in a character trie stored in primitive arrays, so a whole description is scanned in one pass
+ * and multi-word keys are found without splitting the description or looking up each word separately.
+ * Keys match whole words only, ignoring case, and any run of spaces or punctuation in the text matches a word break in a key.
+ * A snapshot is never modified after it is built, so it can be replaced on reload while other threads are still reading it.
+ */
+final class DialectMatcher<V> {
+
+	private static final char WORD_BREAK = ' ';
+
+	private static final DialectMatcher<?> EMPTY = build(Collections.emptyMap(), UnaryOperator.identity());
+
+	// Edges of node n are at [edgeStart[n], edgeStart[n + 1]), sorted by label
+	private final int[] edgeStart;
+	private final char[] edgeLabel;
+	private final int[] edgeTarget;
+	// Index into the values of the key ending at each node, or -1
+	private final int[] nodeValue;
+	private final Object[] values;
+	private final Object[] capitalizedValues;
+
+	private DialectMatcher(int[] edgeStart, char[] edgeLabel, int[] edgeTarget, int[] nodeValue, Object[] values, Object[] capitalizedValues) {
+		this.edgeStart = edgeStart;
+		this.edgeLabel = edgeLabel;
+		this.edgeTarget = edgeTarget;
+		this.nodeValue = nodeValue;
+		this.values = values;
+		this.capitalizedValues = capitalizedValues;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <V> DialectMatcher<V> empty() {
+		return (DialectMatcher<V>) EMPTY;
+	}
+
+	/**
+	 * @param entries the dialect map, keys are matched ignoring case
+	 * @param capitalizer gives the value to use when the matched text starts with a capital letter,
+	 *                    applied once here rather than on each match
+	 */
+	static <V> DialectMatcher<V> build(Map<String, V> entries, UnaryOperator<V> capitalizer) {
+		List<TreeMap<Character, Integer>> children = new ArrayList<>();
+		List<Integer> keyValues = new ArrayList<>();
+		children.add(new TreeMap<>());
+		keyValues.add(-1);
+		List<Object> values = new ArrayList<>();
+		List<Object> capitalizedValues = new ArrayList<>();
+		for (Map.Entry<String, V> entry : entries.entrySet()) {
+			String key = normalizeKey(entry.getKey());
+			if (key.isEmpty() || entry.getValue() == null) {
+				continue;
+			}
+			int node = 0;
+			for (int i = 0; i < key.length(); i++) {
+				Integer child = children.get(node).get(key.charAt(i));
+				if (child == null) {
+					child = children.size();
+					children.get(node).put(key.charAt(i), child);
+					children.add(new TreeMap<>());
+					keyValues.add(-1);
+				}
+				node = child;
+			}
+			if (keyValues.get(node) < 0) {
+				keyValues.set(node, values.size());
+				values.add(entry.getValue());
+				capitalizedValues.add(capitalizer.apply(entry.getValue()));
+			}
+		}
+
+		int nodeCount = children.size();
+		int[] edgeStart = new int[nodeCount + 1];
+		char[] edgeLabel = new char[nodeCount - 1];
+		int[] edgeTarget = new int[nodeCount - 1];
+		int[] nodeValue = new int[nodeCount];
+		int edge = 0;
+		for (int node = 0; node < nodeCount; node++) {
+			edgeStart[node] = edge;
+			for (Map.Entry<Character, Integer> child : children.get(node).entrySet()) {
+				edgeLabel[edge] = child.getKey();
+				edgeTarget[edge] = child.getValue();
+				edge++;
+			}
+			nodeValue[node] = keyValues.get(node);
+		}
+		edgeStart[nodeCount] = edge;
+		return new DialectMatcher<>(edgeStart, edgeLabel, edgeTarget, nodeValue, values.toArray(), capitalizedValues.toArray());
+	}
+
+	/**
+	 * Reports each key found in the text with the text it matched, taking the longest key where several start at the same word.
+	 * The capitalized value is reported where the matched text starts with a capital letter.
+	 */
+	@SuppressWarnings("unchecked")
+	void scan(String text, BiConsumer<String, V> consumer) {
+		int length = text.length();
+		int start = 0;
+		while (start < length) {
+			if (!isWordChar(text.charAt(start))) {
+				start++;
+				continue;
+			}
+			int matchEnd = -1;
+			int matchValue = -1;
+			int node = 0;
+			int i = start;
+			while (i < length) {
+				char c = text.charAt(i);
+				char label;
+				if (isWordChar(c)) {
+					label = Character.toLowerCase(c);
+					i++;
+				} else {
+					while (i < length && !isWordChar(text.charAt(i))) {
+						i++;
+					}
+					if (i == length) {
+						break;
+					}
+					label = WORD_BREAK;
+				}
+				node = child(node, label);
+				if (node < 0) {
+					break;
+				}
+				if (nodeValue[node] >= 0 && (i == length || !isWordChar(text.charAt(i)))) {
+					matchEnd = i;
+					matchValue = nodeValue[node];
+				}
+			}
+			if (matchEnd > 0) {
+				char first = text.charAt(start);
+				Object value = Character.toUpperCase(first) == first ? capitalizedValues[matchValue] : values[matchValue];
+				consumer.accept(text.substring(start, matchEnd), (V) value);
+				start = matchEnd;
+			} else {
+				// Move on to the next word
+				while (start < length && isWordChar(text.charAt(start))) {
+					start++;
+				}
+			}
+		}
+	}
+
+	int size() {
+		return values.length;
+	}
+
+	private int child(int node, char label) {
+		int low = edgeStart[node];
+		int high = edgeStart[node + 1] - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			char midLabel = edgeLabel[mid];
+			if (midLabel < label) {
+				low = mid + 1;
+			} else if (midLabel > label) {
+				high = mid - 1;
+			} else {
+				return edgeTarget[mid];
+			}
+		}
+		return -1;
+	}
+
+	private static String normalizeKey(String key) {
+		StringBuilder normalized = new StringBuilder(key.length());
+		boolean wordBreak = false;
+		for (int i = 0; i < key.length(); i++) {
+			char c = key.charAt(i);
+			if (isWordChar(c)) {
+				if (wordBreak && !normalized.isEmpty()) {
+					normalized.append(WORD_BREAK);
+				}
+				normalized.append(Character.toLowerCase(c));
+				wordBreak = false;
+			} else {
+				wordBreak = true;
+			}
+		}
+		return normalized.toString();
+	}
+
+	private static boolean isWordChar(char c) {
+		return Character.isLetterOrDigit(c);
+	}
+}
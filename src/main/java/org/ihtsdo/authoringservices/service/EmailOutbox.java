@@ -0,0 +1,221 @@
+package org.ihtsdo.authoringservices.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.ihtsdo.authoringservices.entity.EmailOutboxMessage;
+import org.ihtsdo.authoringservices.repository.EmailOutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Queue of notification emails, stored in the database and delivered in the background.
+ * Emails are queued as part of the caller's transaction, so a slow or unavailable mail relay does not hold up or fail
+ * the change being notified. Queued emails with the same subject, template and variables are sent as one email to all
+ * of their recipients. Each worker sends its emails over a single connection and failed emails are retried with
+ * exponential backoff.
+ */
+@Service
+public class EmailOutbox {
+
+	private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<>() {};
+	private static final String RECIPIENT_SEPARATOR = ",";
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final EmailOutboxMessageRepository emailOutboxMessageRepository;
+
+	private final JavaMailSender mailSender;
+
+	private final SpringTemplateEngine templateEngine;
+
+	// Map entries are sorted so that equal variables give equal JSON, which is used to group emails
+	private final ObjectMapper objectMapper = new ObjectMapper().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+	@Value("${email.user.from}")
+	private String from;
+
+	@Value("${email.outbox.thread-pool-size}")
+	private int threadPoolSize;
+
+	@Value("${email.outbox.batch-size}")
+	private int batchSize;
+
+	@Value("${email.outbox.max-attempts}")
+	private int maxAttempts;
+
+	@Value("${email.outbox.retry-delay-seconds}")
+	private long retryDelaySeconds;
+
+	@Value("${email.outbox.delivery-timeout-minutes}")
+	private long deliveryTimeoutMinutes;
+
+	private ExecutorService deliveryExecutor;
+
+	public EmailOutbox(EmailOutboxMessageRepository emailOutboxMessageRepository, JavaMailSender mailSender, SpringTemplateEngine templateEngine) {
+		this.emailOutboxMessageRepository = emailOutboxMessageRepository;
+		this.mailSender = mailSender;
+		this.templateEngine = templateEngine;
+	}
+
+	@PostConstruct
+	public void init() {
+		deliveryExecutor = Executors.newFixedThreadPool(threadPoolSize);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		deliveryExecutor.shutdown();
+	}
+
+	public void enqueue(String subject, String template, Map<String, Object> variables, Collection<String> recipients) {
+		try {
+			emailOutboxMessageRepository.save(new EmailOutboxMessage(subject, template, objectMapper.writeValueAsString(variables),
+					String.join(RECIPIENT_SEPARATOR, recipients)));
+		} catch (JsonProcessingException e) {
+			logger.error("Failed to queue email to {} with subject {}", recipients, subject, e);
+		}
+	}
+
+	@Scheduled(initialDelayString = "${email.outbox.poll-interval-millis}", fixedDelayString = "${email.outbox.poll-interval-millis}")
+	public void deliverDueMessages() {
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		List<EmailOutboxMessage> dueMessages = emailOutboxMessageRepository.findByNextAttemptDateLessThanEqualOrderById(now, PageRequest.ofSize(batchSize));
+		if (dueMessages.isEmpty()) {
+			return;
+		}
+		Timestamp claimedUntil = new Timestamp(now.getTime() + TimeUnit.MINUTES.toMillis(deliveryTimeoutMinutes));
+		List<EmailOutboxMessage> claimedMessages = dueMessages.stream()
+				.filter(message -> emailOutboxMessageRepository.claim(message.getId(), now, claimedUntil) == 1)
+				.toList();
+		Collection<List<EmailOutboxMessage>> emails = claimedMessages.stream()
+				.collect(Collectors.groupingBy(message -> List.of(message.getSubject(), message.getTemplate(), message.getVariables()),
+						LinkedHashMap::new, Collectors.toList()))
+				.values();
+
+		// Spread the emails over the workers
+		int workers = Math.min(threadPoolSize, emails.size());
+		List<List<List<EmailOutboxMessage>>> workerEmails = new ArrayList<>();
+		for (int i = 0; i < workers; i++) {
+			workerEmails.add(new ArrayList<>());
+		}
+		int email = 0;
+		for (List<EmailOutboxMessage> messages : emails) {
+			workerEmails.get(email++ % workers).add(messages);
+		}
+		List<Future<Set<EmailOutboxMessage>>> deliveries = new ArrayList<>();
+		for (List<List<EmailOutboxMessage>> worker : workerEmails) {
+			deliveries.add(deliveryExecutor.submit(() -> deliver(worker)));
+		}
+
+		Set<EmailOutboxMessage> failedMessages = new HashSet<>();
+		for (int i = 0; i < deliveries.size(); i++) {
+			try {
+				failedMessages.addAll(deliveries.get(i).get());
+			} catch (ExecutionException e) {
+				logger.error("Failed to deliver emails.", e.getCause());
+				workerEmails.get(i).forEach(failedMessages::addAll);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				// Left claimed, they will be delivered once the claim runs out
+				return;
+			}
+		}
+		List<EmailOutboxMessage> deliveredMessages = claimedMessages.stream().filter(message -> !failedMessages.contains(message)).toList();
+		emailOutboxMessageRepository.deleteAll(deliveredMessages);
+		failedMessages.forEach(this::scheduleRetry);
+	}
+
+	/**
+	 * Sends the emails over one connection to the mail server.
+	 *
+	 * @return the messages of the emails which could not be sent
+	 */
+	Set<EmailOutboxMessage> deliver(List<List<EmailOutboxMessage>> emails) {
+		Set<EmailOutboxMessage> failedMessages = new HashSet<>();
+		Map<MimeMessage, List<EmailOutboxMessage>> mimeMessages = new LinkedHashMap<>();
+		for (List<EmailOutboxMessage> messages : emails) {
+			try {
+				mimeMessages.put(createMimeMessage(messages), messages);
+			} catch (MessagingException | IOException | RuntimeException e) {
+				logger.error("Failed to create email with subject {}", messages.get(0).getSubject(), e);
+				failedMessages.addAll(messages);
+			}
+		}
+		if (mimeMessages.isEmpty()) {
+			return failedMessages;
+		}
+		try {
+			mailSender.send(mimeMessages.keySet().toArray(new MimeMessage[0]));
+		} catch (MailSendException e) {
+			logger.warn("Failed to send {} of {} emails: {}", e.getFailedMessages().size(), mimeMessages.size(), e.getMessage());
+			if (e.getFailedMessages().isEmpty()) {
+				mimeMessages.values().forEach(failedMessages::addAll);
+			} else {
+				e.getFailedMessages().keySet().forEach(mimeMessage -> failedMessages.addAll(mimeMessages.getOrDefault(mimeMessage, Collections.emptyList())));
+			}
+		} catch (MailException e) {
+			logger.warn("Failed to send {} emails: {}", mimeMessages.size(), e.getMessage());
+			mimeMessages.values().forEach(failedMessages::addAll);
+		}
+		return failedMessages;
+	}
+
+	private MimeMessage createMimeMessage(List<EmailOutboxMessage> messages) throws MessagingException, IOException {
+		EmailOutboxMessage first = messages.get(0);
+		Set<String> recipients = new LinkedHashSet<>();
+		for (EmailOutboxMessage message : messages) {
+			recipients.addAll(Arrays.asList(message.getRecipients().split(RECIPIENT_SEPARATOR)));
+		}
+		MimeMessage mimeMessage = mailSender.createMimeMessage();
+		for (String recipient : recipients) {
+			mimeMessage.addRecipient(Message.RecipientType.TO, new InternetAddress(recipient));
+		}
+		mimeMessage.setFrom(new InternetAddress(from, from));
+		mimeMessage.setSubject(first.getSubject());
+		Context context = new Context();
+		context.setVariables(objectMapper.readValue(first.getVariables(), VARIABLES_TYPE));
+		mimeMessage.setText(templateEngine.process(first.getTemplate(), context), "utf-8", "html");
+		logger.info("Sending email to {} with subject {}", recipients, first.getSubject());
+		return mimeMessage;
+	}
+
+	private void scheduleRetry(EmailOutboxMessage message) {
+		int attempts = message.getAttempts() + 1;
+		if (attempts >= maxAttempts) {
+			logger.error("Giving up sending email to {} with subject {} after {} attempts.", message.getRecipients(), message.getSubject(), attempts);
+			emailOutboxMessageRepository.delete(message);
+			return;
+		}
+		message.setAttempts(attempts);
+		long retryDelay = TimeUnit.SECONDS.toMillis(retryDelaySeconds) << Math.min(attempts - 1, 16);
+		message.setNextAttemptDate(new Timestamp(System.currentTimeMillis() + retryDelay));
+		emailOutboxMessageRepository.save(message);
+	}
+}
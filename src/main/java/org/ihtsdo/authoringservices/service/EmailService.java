@@ -1,32 +1,20 @@
 package org.ihtsdo.authoringservices.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import jakarta.mail.Message;
-import jakarta.mail.MessagingException;
-import jakarta.mail.Session;
-import jakarta.mail.internet.InternetAddress;
-import jakarta.mail.internet.MimeMessage;
 import org.ihtsdo.authoringservices.domain.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
 
 @Service
 public class EmailService {
@@ -39,17 +27,11 @@ public class EmailService {
     public static final String TASK_TITLE_STRING = "taskTitle";
     public static final String COMMENT_STRING = "comment";
 
-    @Value("${email.user.from}")
-    private String from;
-
     @Value("${email.link.platform.url}")
     private String rootURL;
 
     @Autowired
-    private JavaMailSender mailSender;
-
-    @Autowired
-    private SpringTemplateEngine templateEngine;
+    private EmailOutbox emailOutbox;
 
     @Autowired
     private UiStateService uiStateService;
@@ -230,32 +212,11 @@ public class EmailService {
             return;
         }
 
-        try {
-            Session session = Session.getDefaultInstance(System.getProperties());
-            // Create a default MimeMessage object.
-            MimeMessage message = new MimeMessage(session);
-            // To get the array of addresses
-            for (String email : toEmailList) {
-                message.addRecipient(Message.RecipientType.TO, new InternetAddress(email));
-            }
-            message.setFrom(new InternetAddress(from, from));
-            message.setSubject(subject);
-            String emailContent = this.templateEngine.process(templateFile, params);
-            message.setText(emailContent, "utf-8", "html");
-            logger.info("Sending email to {}} with subject {}", toEmailList, subject);
-            send(message);
-        } catch (UnsupportedEncodingException e) {
-            logger.error("The character encoding is not supported. {}", e.getMessage());
-        } catch (MessagingException e) {
-            logger.error(e.getMessage(), e);
-        }
-    }
-
-    public void send(MimeMessage mimeMessage) {
-        try {
-            mailSender.send(mimeMessage);
-        } catch (MailException e) {
-            logger.debug("Error sending email notification: {}", e.getMessage());
+        Map<String, Object> variables = new HashMap<>();
+        for (String name : params.getVariableNames()) {
+            variables.put(name, params.getVariable(name));
         }
+        logger.info("Queueing email to {} with subject {}", toEmailList, subject);
+        emailOutbox.enqueue(subject, templateFile, variables, toEmailList);
     }
 }
@@ -1,18 +1,23 @@
 package org.ihtsdo.authoringservices.service;
 
-import jakarta.transaction.Transactional;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import net.rcarz.jiraclient.Issue;
 import net.rcarz.jiraclient.IssueLink;
 import net.rcarz.jiraclient.JiraClient;
 import net.rcarz.jiraclient.JiraException;
+import net.rcarz.jiraclient.RestException;
 import org.ihtsdo.authoringservices.domain.AuthoringTask;
+import org.ihtsdo.authoringservices.domain.JiraTaskMigrationProgress;
 import org.ihtsdo.authoringservices.domain.TaskStatus;
 import org.ihtsdo.authoringservices.domain.TaskType;
 import org.ihtsdo.authoringservices.domain.User;
 import org.ihtsdo.authoringservices.entity.CrsTask;
+import org.ihtsdo.authoringservices.entity.JiraTaskMigrationCheckpoint;
 import org.ihtsdo.authoringservices.entity.Project;
 import org.ihtsdo.authoringservices.entity.Task;
 import org.ihtsdo.authoringservices.entity.TaskReviewer;
+import org.ihtsdo.authoringservices.repository.JiraTaskMigrationCheckpointRepository;
 import org.ihtsdo.authoringservices.repository.ProjectRepository;
 import org.ihtsdo.authoringservices.repository.TaskRepository;
 import org.ihtsdo.authoringservices.service.impl.TaskServiceBase;
@@ -26,7 +31,10 @@ import org.slf4j.event.Level;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 import java.sql.Timestamp;
@@ -34,10 +42,21 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-import static org.ihtsdo.authoringservices.service.impl.JiraProjectServiceImpl.LIMIT_UNLIMITED;
 import static org.ihtsdo.authoringservices.service.impl.JiraProjectServiceImpl.UNIT_TEST;
 
+/**
+ * Migrates the authoring tasks of projects from Jira into the database.
+ * The Jira issues of each project are searched a page at a time, the details of the issues of a page are fetched
+ * in parallel and the new tasks of the page are saved in one transaction with the project's checkpoint.
+ * A migration which stops part way through therefore resumes after the last issue saved.
+ * The keys of issues which fail are kept with the checkpoint and the issues are retried when the migration resumes,
+ * a project is only completed once all of its issues have been migrated.
+ */
 @Service
 public class JiraAuthoringTaskMigrateService {
 
@@ -45,6 +64,10 @@ public class JiraAuthoringTaskMigrateService {
 
     private static final String AUTHORING_TASK_TYPE = "SCA Authoring Task";
 
+    private static final String JIRA_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss";
+
+    private static final String JQL_DATE_FORMAT = "yyyy/MM/dd HH:mm";
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -54,7 +77,31 @@ public class JiraAuthoringTaskMigrateService {
     @Autowired
     private TaskService jiraTaskService;
 
-    private final SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+    @Autowired
+    private JiraTaskMigrationCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${jira.migration.page-size}")
+    private int pageSize;
+
+    @Value("${jira.migration.thread-pool-size}")
+    private int threadPoolSize;
+
+    private ExecutorService migrationExecutor;
+
+    private ExecutorService issueLoadingExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Date startDate;
+    private volatile Date endDate;
+    private volatile String currentProjectKey;
+    private final AtomicInteger projectsTotal = new AtomicInteger();
+    private final AtomicInteger projectsCompleted = new AtomicInteger();
+    private final AtomicLong issuesProcessed = new AtomicLong();
+    private final AtomicLong tasksMigrated = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
 
     private final String jiraCrsIdField;
 
@@ -77,42 +124,239 @@ public class JiraAuthoringTaskMigrateService {
         }
     }
 
-    @Transactional
-    public void migrateJiraTasks(Set<String> projectKeys) {
+    @PostConstruct
+    public void init() {
+        // Both run with the security context of the thread which submitted the work
+        migrationExecutor = new DelegatingSecurityContextExecutorService(Executors.newSingleThreadExecutor());
+        issueLoadingExecutor = new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(threadPoolSize));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        migrationExecutor.shutdownNow();
+        issueLoadingExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts migrating the Jira tasks of the given projects, or of all projects, in the background.
+     * Projects already migrated are skipped and a project partly migrated carries on from its checkpoint, unless restarting.
+     * Nothing is started if a migration is already running.
+     *
+     * @return the progress of the migration
+     */
+    public JiraTaskMigrationProgress migrateJiraTasks(Set<String> projectKeys, boolean restart) {
         if (!this.jiraEnabled) throw new UnsupportedOperationException("Migrating JIRA tasks is not supported");
 
-        Iterable<Project> projectIterable = CollectionUtils.isEmpty(projectKeys) ? projectRepository.findAll() : projectRepository.findAllById(projectKeys);
-        Set<Task> tasks = new HashSet<>();
-        for (Project project : projectIterable) {
+        if (running.compareAndSet(false, true)) {
+            List<Project> projects = new ArrayList<>();
+            (CollectionUtils.isEmpty(projectKeys) ? projectRepository.findAll() : projectRepository.findAllById(projectKeys)).forEach(projects::add);
+            startDate = new Date();
+            endDate = null;
+            currentProjectKey = null;
+            projectsTotal.set(projects.size());
+            projectsCompleted.set(0);
+            issuesProcessed.set(0);
+            tasksMigrated.set(0);
+            failures.set(0);
             try {
-                TimerUtil timer = new TimerUtil("Migrate Jira Task for project " + project.getKey(), Level.INFO);
-                List<Issue> issues = listAllJiraTasksForProject(project.getKey());
-                for (Issue issue : issues) {
-                    migrateJiraTask(project, issue, tasks);
+                migrationExecutor.execute(() -> {
+                    try {
+                        migrateProjects(projects, restart);
+                    } catch (Exception e) {
+                        logger.error("Jira task migration failed.", e);
+                    } finally {
+                        currentProjectKey = null;
+                        endDate = new Date();
+                        running.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+                throw e;
+            }
+        }
+        return getProgress();
+    }
+
+    public JiraTaskMigrationProgress getProgress() {
+        Date start = startDate;
+        long tasksPerMinute = 0;
+        if (start != null) {
+            long elapsedMillis = (endDate != null ? endDate.getTime() : System.currentTimeMillis()) - start.getTime();
+            tasksPerMinute = elapsedMillis > 0 ? tasksMigrated.get() * TimeUnit.MINUTES.toMillis(1) / elapsedMillis : 0;
+        }
+        return new JiraTaskMigrationProgress(running.get(), start, endDate, currentProjectKey, projectsTotal.get(), projectsCompleted.get(),
+                issuesProcessed.get(), tasksMigrated.get(), failures.get(), tasksPerMinute);
+    }
+
+    private void migrateProjects(List<Project> projects, boolean restart) throws InterruptedException {
+        for (Project project : projects) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            currentProjectKey = project.getKey();
+            JiraTaskMigrationCheckpoint checkpoint = restart ? null : checkpointRepository.findById(project.getKey()).orElse(null);
+            if (checkpoint == null) {
+                checkpoint = new JiraTaskMigrationCheckpoint(project.getKey());
+            }
+            if (!checkpoint.isCompleted()) {
+                try {
+                    TimerUtil timer = new TimerUtil("Migrate Jira Task for project " + project.getKey(), Level.INFO);
+                    migrateProject(project, checkpoint);
+                    timer.finish();
+                } catch (JiraException e) {
+                    failures.incrementAndGet();
+                    logger.error("Failed to migrate Jira tasks of project {}, the migration will resume after issue {} next time.",
+                            project.getKey(), checkpoint.getLastIssueKey(), e);
+                    continue;
+                }
+                if (!checkpoint.isCompleted()) {
+                    logger.warn("{} Jira issues of project {} failed to migrate, they will be retried next time.",
+                            checkpoint.getFailedIssueKeys().size(), project.getKey());
+                    continue;
                 }
-                timer.finish();
-            } catch (Exception e) {
-                logger.error(e.getMessage());
             }
+            projectsCompleted.incrementAndGet();
         }
+    }
 
-        taskRepository.saveAll(tasks);
+    /**
+     * Migrates the issues of the project which come after the last issue of the checkpoint, in created then key order.
+     * The checkpoint records the last issue rather than a number of issues, so that issues deleted or moved out of the project
+     * between runs do not shift the issues still to be migrated.
+     */
+    private void migrateProject(Project project, JiraTaskMigrationCheckpoint checkpoint) throws JiraException, InterruptedException {
+        retryFailedIssues(project, checkpoint);
+        String jql = getSearchJql(project, checkpoint);
+        // Offset into the results of this run's search, which only changes by the issues created or removed during the run
+        int startAt = 0;
+        Issue.SearchResult searchResult;
+        boolean allIssuesProcessed;
+        do {
+            searchResult = jiraClientFactory.getAdminInstance().searchIssues(jql, null, pageSize, startAt);
+            List<Issue> issues = searchResult.issues.stream().filter(issue -> isAfterCheckpoint(issue, checkpoint)).toList();
+            Set<String> failedIssueKeys = checkpoint.getFailedIssueKeys();
+            List<Task> tasks = migrateIssues(project, issues, failedIssueKeys);
+            if (!issues.isEmpty()) {
+                Issue lastIssue = issues.get(issues.size() - 1);
+                checkpoint.setLastIssue(lastIssue.getCreatedDate().getTime(), lastIssue.getKey());
+            }
+            checkpoint.setIssuesProcessed(checkpoint.getIssuesProcessed() + issues.size());
+            checkpoint.setFailedIssueKeys(failedIssueKeys);
+            startAt += searchResult.issues.size();
+            allIssuesProcessed = searchResult.issues.isEmpty() || startAt >= searchResult.total;
+            save(checkpoint, tasks, allIssuesProcessed);
+            issuesProcessed.addAndGet(issues.size());
+        } while (!allIssuesProcessed);
     }
 
+    private String getSearchJql(Project project, JiraTaskMigrationCheckpoint checkpoint) {
+        StringBuilder jql = new StringBuilder("project = ").append(project.getKey()).append(" AND type = \"").append(AUTHORING_TASK_TYPE).append("\"");
+        if (checkpoint.getLastIssueCreated() != null) {
+            // JQL dates are in minutes and in the time zone of the searching user, the margin covers any time zone.
+            // Issues up to the checkpoint which are found again are skipped.
+            SimpleDateFormat jqlDateFormat = new SimpleDateFormat(JQL_DATE_FORMAT);
+            jqlDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+            jql.append(" AND created >= \"").append(jqlDateFormat.format(new Date(checkpoint.getLastIssueCreated() - TimeUnit.DAYS.toMillis(1)))).append("\"");
+        }
+        // Ordered so that paging is stable while new issues are created
+        return jql.append(" ORDER BY created ASC, key ASC").toString();
+    }
 
-    private void migrateJiraTask(Project project, Issue issue, Set<Task> tasks) {
-        try {
-            Optional<Task> existingTaskOptional = taskRepository.findById(issue.getKey());
-            if (existingTaskOptional.isPresent() || TaskStatus.DELETED.equals(TaskStatus.fromLabel(issue.getStatus().getName()))) return;
+    private boolean isAfterCheckpoint(Issue issue, JiraTaskMigrationCheckpoint checkpoint) {
+        if (checkpoint.getLastIssueCreated() == null) {
+            return true;
+        }
+        long created = issue.getCreatedDate().getTime();
+        return created > checkpoint.getLastIssueCreated()
+                || (created == checkpoint.getLastIssueCreated() && getIssueNumber(issue.getKey()) > getIssueNumber(checkpoint.getLastIssueKey()));
+    }
+
+    // Issues of a project are ordered by the number of their key
+    private static int getIssueNumber(String issueKey) {
+        return Integer.parseInt(issueKey.substring(issueKey.lastIndexOf('-') + 1));
+    }
 
-            AuthoringTask jiraTaskWithDetails = jiraTaskService.retrieveTask(project.getKey(), issue.getKey(), true, true);
-            Task task = getNewTask(project, issue, jiraTaskWithDetails);
-            tasks.add(task);
-        } catch (BusinessServiceException e) {
-            logger.error(e.getMessage());
-        } catch (ParseException e) {
-            logger.error("Failed to parse date. Message: {}", e.getMessage());
+    /**
+     * Migrates the issues which failed in an earlier run again. An issue which has been deleted from Jira since is dropped.
+     */
+    private void retryFailedIssues(Project project, JiraTaskMigrationCheckpoint checkpoint) throws JiraException, InterruptedException {
+        Set<String> retryIssueKeys = checkpoint.getFailedIssueKeys();
+        if (retryIssueKeys.isEmpty()) {
+            return;
+        }
+        logger.info("Retrying {} Jira issues of project {} which failed to migrate before.", retryIssueKeys.size(), project.getKey());
+        Set<String> failedIssueKeys = new LinkedHashSet<>();
+        List<Issue> issues = new ArrayList<>();
+        for (String issueKey : retryIssueKeys) {
+            try {
+                issues.add(jiraClientFactory.getAdminInstance().getIssue(issueKey));
+            } catch (JiraException e) {
+                if (e.getCause() instanceof RestException restException && restException.getHttpStatusCode() == 404) {
+                    logger.info("Jira issue {} no longer exists and will not be migrated.", issueKey);
+                } else {
+                    failures.incrementAndGet();
+                    failedIssueKeys.add(issueKey);
+                    logger.error("Failed to load Jira issue {}. Message: {}", issueKey, e.getMessage());
+                }
+            }
         }
+        List<Task> tasks = migrateIssues(project, issues, failedIssueKeys);
+        checkpoint.setFailedIssueKeys(failedIssueKeys);
+        // Issues after the checkpoint are still to be searched for
+        save(checkpoint, tasks, false);
+    }
+
+    /**
+     * Saves the new tasks together with the checkpoint.
+     * The project is completed once all of its issues have been processed, if none of them failed.
+     */
+    private void save(JiraTaskMigrationCheckpoint checkpoint, List<Task> tasks, boolean allIssuesProcessed) {
+        checkpoint.setTasksMigrated(checkpoint.getTasksMigrated() + tasks.size());
+        checkpoint.setCompleted(allIssuesProcessed && checkpoint.getFailedIssueKeys().isEmpty());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskRepository.saveAll(tasks);
+            checkpointRepository.save(checkpoint);
+        });
+        tasksMigrated.addAndGet(tasks.size());
+    }
+
+    /**
+     * Builds the tasks of the issues which have not been migrated yet, loading their details in parallel.
+     * The key of an issue which fails is logged and added to failedIssueKeys, the key of an issue which succeeds or
+     * no longer needs migrating is removed from it.
+     */
+    private List<Task> migrateIssues(Project project, List<Issue> issues, Set<String> failedIssueKeys) throws InterruptedException {
+        Set<String> existingTaskKeys = new HashSet<>();
+        taskRepository.findAllById(issues.stream().map(Issue::getKey).toList()).forEach(task -> existingTaskKeys.add(task.getKey()));
+        Map<String, Future<Task>> taskFutures = new LinkedHashMap<>();
+        for (Issue issue : issues) {
+            failedIssueKeys.remove(issue.getKey());
+            if (!existingTaskKeys.contains(issue.getKey()) && !TaskStatus.DELETED.equals(TaskStatus.fromLabel(issue.getStatus().getName()))) {
+                taskFutures.put(issue.getKey(), issueLoadingExecutor.submit(() -> migrateJiraTask(project, issue)));
+            }
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (Map.Entry<String, Future<Task>> taskFuture : taskFutures.entrySet()) {
+            try {
+                tasks.add(taskFuture.getValue().get());
+            } catch (ExecutionException e) {
+                failures.incrementAndGet();
+                failedIssueKeys.add(taskFuture.getKey());
+                Throwable cause = e.getCause();
+                if (cause instanceof ParseException) {
+                    logger.error("Failed to parse date of Jira issue {}. Message: {}", taskFuture.getKey(), cause.getMessage());
+                } else {
+                    logger.error("Failed to migrate Jira issue {}. Message: {}", taskFuture.getKey(), cause.getMessage());
+                }
+            }
+        }
+        return tasks;
+    }
+
+    private Task migrateJiraTask(Project project, Issue issue) throws BusinessServiceException, ParseException {
+        AuthoringTask jiraTaskWithDetails = jiraTaskService.retrieveTask(project.getKey(), issue.getKey(), true, true);
+        return getNewTask(project, issue, jiraTaskWithDetails);
     }
 
     private Task getNewTask(Project project, Issue issue, AuthoringTask jiraTaskWithDetails) throws ParseException, BusinessServiceException {
@@ -157,7 +401,8 @@ public class JiraAuthoringTaskMigrateService {
     }
 
     private Timestamp getTimestamp(String date) throws ParseException {
-        return Timestamp.from(Instant.ofEpochMilli(formatter.parse(date).getTime()));
+        // SimpleDateFormat is not thread safe and tasks are built in parallel
+        return Timestamp.from(Instant.ofEpochMilli(new SimpleDateFormat(JIRA_DATE_FORMAT).parse(date).getTime()));
     }
 
     private List<TaskReviewer> getTaskReviewers(AuthoringTask jiraTaskWithDetails, Task task) {
@@ -172,26 +417,4 @@ public class JiraAuthoringTaskMigrateService {
         existing.removeIf(item -> !reviewers.contains(item.getUsername()));
         return existing;
     }
-
-    private List<Issue> listAllJiraTasksForProject(String projectKey) throws BusinessServiceException {
-        List<Issue> issues;
-        try {
-            String jql = "project = " + projectKey + " AND type = \"" + AUTHORING_TASK_TYPE + "\"";
-            issues = searchIssuesWithJiraAdmin(jql);
-        } catch (JiraException e) {
-            throw new BusinessServiceException("Failed to list tasks.", e);
-        }
-        return issues;
-    }
-
-    private List<Issue> searchIssuesWithJiraAdmin(String jql) throws JiraException {
-        List<Issue> issues = new ArrayList<>();
-        Issue.SearchResult searchResult;
-        do {
-            searchResult = jiraClientFactory.getAdminInstance().searchIssues(jql, null, LIMIT_UNLIMITED - issues.size(), issues.size());
-            issues.addAll(searchResult.issues);
-        } while (searchResult.total > issues.size());
-
-        return issues;
-    }
 }
@@ -1,10 +1,6 @@
 package org.ihtsdo.authoringservices.service;
 
 import com.google.common.base.Strings;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-
-import org.apache.commons.collections.CollectionUtils;
 import org.ihtsdo.authoringservices.domain.AuthoringInfoWrapper;
 import org.ihtsdo.authoringservices.domain.Notification;
 import org.ihtsdo.authoringservices.domain.NotificationSeverity;
@@ -18,13 +14,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSession;
 import org.springframework.messaging.simp.user.SimpSubscription;
-import org.springframework.messaging.simp.user.SimpSubscriptionMatcher;
 import org.springframework.messaging.simp.user.SimpUser;
 import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 
 import static org.ihtsdo.authoringservices.service.SnowstormClassificationClient.CLASSIFICATION_RUNNING;
@@ -48,7 +46,9 @@ public class NotificationService {
 
 	private final MonitorService monitorService;
 
-	private final Map<String, List<Notification>> pendingNotifications = new HashMap<>();
+	private static final long NOTIFICATION_EXPIRY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private final Map<String, Queue<PendingNotification>> pendingNotifications = new ConcurrentHashMap<>();
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -72,41 +72,79 @@ public class NotificationService {
 		}
 		enrichNotification(notification);
 		logger.info("Notification for user {} - '{}'", username, notification);
-		synchronized (pendingNotifications) {
-			pendingNotifications.computeIfAbsent(username, ExpiringNotificationList::new).add(notification);
-			sendNotification();
+		final PendingNotification pendingNotification = new PendingNotification(notification, System.currentTimeMillis());
+		pendingNotifications.compute(username, (key, queue) -> {
+			Queue<PendingNotification> userQueue = queue != null ? queue : new ConcurrentLinkedQueue<>();
+			userQueue.add(pendingNotification);
+			return userQueue;
+		});
+		// Push straight away if the user is listening, otherwise the scheduled sweep delivers it once they subscribe
+		if (isSubscribed(username)) {
+			sendNotification(username);
 		}
 	}
 
+	/**
+	 * Scheduled fallback which keeps the monitors of connected users alive,
+	 * drops expired notifications and delivers any still pending for users who have since subscribed.
+	 */
 	public void sendNotification() {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Current users: {}", simpUserRegistry.getUsers());
 		}
 
-		Set<SimpUser> currentUsers = simpUserRegistry.getUsers();
-		for (SimpUser simpUser : currentUsers) {
-			String username =  simpUser.getName();
-			monitorService.keepMonitorsAlive(username);
+		for (SimpUser simpUser : simpUserRegistry.getUsers()) {
+			monitorService.keepMonitorsAlive(simpUser.getName());
+		}
 
-			SimpSubscriptionMatcher simpSubscriptionMatcher = subscription -> subscription.getDestination().equals("/topic/user/" + username + "/notifications");
-			Set<SimpSubscription> simpSubscriptions = simpUserRegistry.findSubscriptions(simpSubscriptionMatcher);
-			if (!simpSubscriptions.isEmpty()) {
+		final long expiredBefore = System.currentTimeMillis() - NOTIFICATION_EXPIRY_MILLIS;
+		for (String username : pendingNotifications.keySet()) {
+			final Queue<PendingNotification> queue = pendingNotifications.get(username);
+			if (queue != null) {
+				// Queues are in arrival order so expired notifications are always at the head
+				PendingNotification head;
+				while ((head = queue.peek()) != null && head.queuedAt() < expiredBefore) {
+					queue.remove(head);
+				}
+			}
+			if (isSubscribed(username)) {
 				sendNotification(username);
+			} else {
+				pendingNotifications.computeIfPresent(username, (key, userQueue) -> userQueue.isEmpty() ? null : userQueue);
 			}
 		}
 	}
-	
+
 	public void sendNotification(String username) {
-		if (pendingNotifications.containsKey(username)) {
-			synchronized (pendingNotifications) {
-				List<Notification> notifications = pendingNotifications.remove(username);
-				if (!CollectionUtils.isEmpty(notifications)) {
-					for (Notification notification : notifications) {
-						simpMessagingTemplate.convertAndSend("/topic/user/" + username + "/notifications", notification);
-					}
+		final Queue<PendingNotification> queue = pendingNotifications.get(username);
+		if (queue == null) {
+			return;
+		}
+		PendingNotification pendingNotification;
+		while ((pendingNotification = queue.poll()) != null) {
+			simpMessagingTemplate.convertAndSend(notificationDestination(username), pendingNotification.notification());
+		}
+		pendingNotifications.computeIfPresent(username, (key, userQueue) -> userQueue.isEmpty() ? null : userQueue);
+	}
+
+	private boolean isSubscribed(String username) {
+		final SimpUser simpUser = simpUserRegistry.getUser(username);
+		if (simpUser == null) {
+			return false;
+		}
+		final String destination = notificationDestination(username);
+		for (SimpSession session : simpUser.getSessions()) {
+			for (SimpSubscription subscription : session.getSubscriptions()) {
+				if (destination.equals(subscription.getDestination())) {
+					return true;
 				}
 			}
 		}
+		return false;
+	}
+
+	private static String notificationDestination(String username) {
+		return "/topic/user/" + username + "/notifications";
 	}
 
 	private void enrichNotification(Notification notification) {
@@ -364,49 +402,7 @@ public class NotificationService {
 		return result.toString();
 	}
 
-	private final CacheBuilder<Notification, String> userNotificationCacheBuilder = CacheBuilder.newBuilder()
-			.expireAfterWrite(1, TimeUnit.MINUTES)
-			.removalListener(removalNotification -> {
-				Notification notification = removalNotification.getKey();
-				String username = removalNotification.getValue();
-				synchronized (pendingNotifications) {
-					pendingNotifications
-							.getOrDefault(username, Collections.emptyList())
-							.remove(notification);
-				}
-			});
-
-	private final class ExpiringNotificationList extends ArrayList<Notification> {
-
-		private final String username;
-		private final transient Cache<Notification, String> userNotificationCache = userNotificationCacheBuilder.build();
-
-		ExpiringNotificationList(String username) {
-			this.username = username;
-		}
-
-		@Override
-		public boolean add(Notification notification) {
-			userNotificationCache.put(notification, username);
-			return super.add(notification);
-		}
-
-		@Override
-		public boolean equals(Object o) {
-			if (this == o) {
-				return true;
-			}
-			if (!(o instanceof ExpiringNotificationList that)) {
-				return false;
-			}
-			return Objects.equals(username, that.username) && super.equals(o);
-		}
-
-		@Override
-		public int hashCode() {
-			return Objects.hash(super.hashCode(), username);
-		}
-
+	private record PendingNotification(Notification notification, long queuedAt) {
 	}
 
 }
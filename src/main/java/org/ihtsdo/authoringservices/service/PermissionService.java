@@ -1,5 +1,10 @@
 package org.ihtsdo.authoringservices.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.ihtsdo.authoringservices.domain.User;
 import org.ihtsdo.authoringservices.entity.Project;
 import org.ihtsdo.authoringservices.entity.ProjectUserGroup;
@@ -14,8 +19,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,31 +35,37 @@ public class PermissionService {
 
     public static final String GLOBAL_ROLE_SCOPE = "global";
     private static final String BRANCH_MAIN = "MAIN";
+    private static final String USER_ROLES_REQUEST_ATTRIBUTE = PermissionService.class.getName() + ".userRoles";
 
     private final SnowstormRestClientFactory snowstormRestClientFactory;
     private final ProjectUserGroupRepository projectUserGroupRepository;
     private final IMSClientFactory imsClientFactory;
+    private final Pattern reviewerRolePattern;
 
-    @Value("${authoring.reviewer.role.pattern}")
-    private String reviewerRolePattern;
+    // Project permissions of each combination of user roles, shared by all users with the same roles
+    private final LoadingCache<Set<String>, ProjectPermissions> projectPermissionsCache;
+
+    // Roles of a user on a branch, keyed by username and branch path
+    private final Cache<String, Set<String>> branchRolesCache;
 
     @Autowired
-    public PermissionService (SnowstormRestClientFactory snowstormRestClientFactory, ProjectUserGroupRepository projectUserGroupRepository, IMSClientFactory imsClientFactory) {
+    public PermissionService (SnowstormRestClientFactory snowstormRestClientFactory, ProjectUserGroupRepository projectUserGroupRepository, IMSClientFactory imsClientFactory,
+            @Value("${authoring.reviewer.role.pattern}") String reviewerRolePattern,
+            @Value("${permission.cache.expiry-seconds}") long cacheExpirySeconds) {
         this.snowstormRestClientFactory = snowstormRestClientFactory;
         this.projectUserGroupRepository = projectUserGroupRepository;
         this.imsClientFactory = imsClientFactory;
+        this.reviewerRolePattern = Pattern.compile(reviewerRolePattern);
+        this.projectPermissionsCache = CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(cacheExpirySeconds, TimeUnit.SECONDS)
+                .build(CacheLoader.from(this::loadProjectPermissions));
+        this.branchRolesCache = CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(cacheExpirySeconds, TimeUnit.SECONDS).build();
     }
 
     public boolean userHasRoleOnBranch(String role, String branchPath, Authentication authentication) throws RestClientException {
-        Set<String> userRoleForBranch;
-        if (GLOBAL_ROLE_SCOPE.equals(branchPath)) {
-            userRoleForBranch = snowstormRestClientFactory.getClient().getBranch(BRANCH_MAIN).getGlobalUserRoles();
-        } else {
-            userRoleForBranch = snowstormRestClientFactory.getClient().getBranch(branchPath).getUserRoles();
-        }
+        String username = getUsername(authentication);
+        Set<String> userRoleForBranch = getUserRolesOnBranch(branchPath, username);
         boolean contains = userRoleForBranch.contains(role);
         if (!contains) {
-            String username = getUsername(authentication);
             logger.info("User '{}' does not have required role '{}' on branch '{}', on this branch they have roles:{}.", username, role, branchPath, userRoleForBranch);
         }
         return contains;
@@ -70,9 +86,7 @@ public class PermissionService {
      * @param projectKey
      */
     public void checkAccessPermissionOnProjectOrThrown(String projectKey) {
-        List<String> loggedInUserRoles = getUserRoles();
-        List<String> projectGroups = findGroupsForProject(projectKey, loggedInUserRoles);
-        if (projectGroups.isEmpty()) {
+        if (!getProjectPermissions().hasAccess(projectKey)) {
             throw new AccessDeniedException("User has no permission on project " + projectKey);
         }
     }
@@ -82,16 +96,7 @@ public class PermissionService {
      * @param projectKey
      */
     public boolean hasFullPermissionOnProject(String projectKey) {
-        List<String> loggedInUserRoles = getUserRoles();
-        List<String> projectGroups = findGroupsForProject(projectKey, loggedInUserRoles);
-        if (projectGroups.isEmpty()) return false;
-
-        List<String> intersection = projectGroups.stream()
-                .filter(loggedInUserRoles::contains)
-                .distinct()
-                .toList();
-
-        return !intersection.isEmpty() && (intersection.size() > 1 || !intersection.get(0).matches(reviewerRolePattern));
+        return getProjectPermissions().hasFullPermission(projectKey);
     }
 
     /**
@@ -99,27 +104,52 @@ public class PermissionService {
      * @param projectKey
      */
     public boolean hasReviewerOnlyPermissionOnProject(String projectKey) {
-        List<String> loggedInUserRoles = getUserRoles();
-        List<String> projectGroups = findGroupsForProject(projectKey, loggedInUserRoles);
-        if (projectGroups.isEmpty()) return false;
+        return getProjectPermissions().hasReviewerPermission(projectKey);
+    }
 
-        String reviewerRoleFromProject = projectGroups.stream().filter(item -> item.matches(reviewerRolePattern)).findFirst().orElse(null);
-        if (reviewerRoleFromProject != null) {
-            return loggedInUserRoles.contains(reviewerRoleFromProject);
-        }
-        return false;
+    /**
+     * Forgets the project permissions of all users, to be called when the user groups of a project change.
+     */
+    public void invalidateProjectPermissions() {
+        projectPermissionsCache.invalidateAll();
     }
 
-    private List<String> findGroupsForProject(String projectKey, List<String> loggedInUserRoles) {
-        if (loggedInUserRoles.isEmpty()) return Collections.emptyList();
+    private ProjectPermissions getProjectPermissions() {
+        List<String> loggedInUserRoles = getUserRoles();
+        if (loggedInUserRoles.isEmpty()) return ProjectPermissions.NONE;
+        try {
+            return projectPermissionsCache.getUnchecked(Set.copyOf(loggedInUserRoles));
+        } catch (UncheckedExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
 
-        List<ProjectUserGroup> projectUserGroups = projectUserGroupRepository.findByNameIn(loggedInUserRoles);
-        if (projectUserGroups.isEmpty()) return Collections.emptyList();
+    private ProjectPermissions loadProjectPermissions(Set<String> userRoles) {
+        return ProjectPermissions.build(projectUserGroupRepository.findByNameIn(new ArrayList<>(userRoles)), reviewerRolePattern);
+    }
 
+    private Set<String> getUserRolesOnBranch(String branchPath, String username) throws RestClientException {
+        if (username == null) {
+            return doGetUserRolesOnBranch(branchPath);
+        }
+        try {
+            return branchRolesCache.get(username + "|" + branchPath, () -> doGetUserRolesOnBranch(branchPath));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RestClientException restClientException) {
+                throw restClientException;
+            }
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(e.getCause());
+        }
+    }
 
-        List<String> projectGroups = projectUserGroups.stream().filter(item -> item.getProject().getKey().equals(projectKey)).map(ProjectUserGroup::getName).toList();
-        if (projectGroups.isEmpty()) return Collections.emptyList();
-        return projectGroups;
+    private Set<String> doGetUserRolesOnBranch(String branchPath) throws RestClientException {
+        Set<String> userRoleForBranch;
+        if (GLOBAL_ROLE_SCOPE.equals(branchPath)) {
+            userRoleForBranch = snowstormRestClientFactory.getClient().getBranch(BRANCH_MAIN).getGlobalUserRoles();
+        } else {
+            userRoleForBranch = snowstormRestClientFactory.getClient().getBranch(branchPath).getUserRoles();
+        }
+        return userRoleForBranch != null ? Set.copyOf(userRoleForBranch) : Collections.emptySet();
     }
 
     public List<Project> getProjectsForUser() {
@@ -131,15 +161,32 @@ public class PermissionService {
         Map<Project, List<ProjectUserGroup>> projectToGroupsMap = projectUserGroups.stream().collect(Collectors.groupingBy(ProjectUserGroup::getProject));
         projectToGroupsMap.forEach((key, value) -> {
             List<String> projectGroups = value.stream().map(ProjectUserGroup::getName).distinct().toList();
-            key.setCanReviewTaskOnly(projectGroups.size() == 1 && projectGroups.get(0).matches(reviewerRolePattern));
+            key.setCanReviewTaskOnly(projectGroups.size() == 1 && reviewerRolePattern.matcher(projectGroups.get(0)).matches());
         });
 
         return new ArrayList<>(projectToGroupsMap.keySet());
     }
 
+    /**
+     * Gets the roles of the logged in user, fetched once per web request.
+     */
+    @SuppressWarnings("unchecked")
     public List<String> getUserRoles() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            List<String> roles = (List<String>) requestAttributes.getAttribute(USER_ROLES_REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (roles == null) {
+                roles = fetchUserRoles();
+                requestAttributes.setAttribute(USER_ROLES_REQUEST_ATTRIBUTE, roles, RequestAttributes.SCOPE_REQUEST);
+            }
+            return roles;
+        }
+        return fetchUserRoles();
+    }
+
+    private List<String> fetchUserRoles() {
         User user = imsClientFactory.getClient().getLoggedInAccount();
-        return user.getRoles();
+        return user.getRoles() != null ? List.copyOf(user.getRoles()) : Collections.emptyList();
     }
 
     private String getUsername(Authentication authentication) {
@@ -0,0 +1,62 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.entity.ProjectUserGroup;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable index of the projects a set of user roles gives permission on, built from the project user groups of those roles.
+ */
+final class ProjectPermissions {
+
+	static final ProjectPermissions NONE = new ProjectPermissions(Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+
+	private final Set<String> accessibleProjects;
+	private final Set<String> fullPermissionProjects;
+	private final Set<String> reviewerProjects;
+
+	private ProjectPermissions(Set<String> accessibleProjects, Set<String> fullPermissionProjects, Set<String> reviewerProjects) {
+		this.accessibleProjects = accessibleProjects;
+		this.fullPermissionProjects = fullPermissionProjects;
+		this.reviewerProjects = reviewerProjects;
+	}
+
+	/**
+	 * @param userGroups the project user groups named after one of the user's roles
+	 */
+	static ProjectPermissions build(Collection<ProjectUserGroup> userGroups, Pattern reviewerRolePattern) {
+		Map<String, Set<String>> projectToGroups = new HashMap<>();
+		for (ProjectUserGroup userGroup : userGroups) {
+			projectToGroups.computeIfAbsent(userGroup.getProject().getKey(), key -> new HashSet<>()).add(userGroup.getName());
+		}
+		Set<String> fullPermissionProjects = new HashSet<>();
+		Set<String> reviewerProjects = new HashSet<>();
+		projectToGroups.forEach((projectKey, groups) -> {
+			boolean reviewer = groups.stream().anyMatch(group -> reviewerRolePattern.matcher(group).matches());
+			if (reviewer) {
+				reviewerProjects.add(projectKey);
+			}
+			// A single reviewer group gives review permission only
+			if (groups.size() > 1 || !reviewer) {
+				fullPermissionProjects.add(projectKey);
+			}
+		});
+		return new ProjectPermissions(Set.copyOf(projectToGroups.keySet()), Set.copyOf(fullPermissionProjects), Set.copyOf(reviewerProjects));
+	}
+
+	boolean hasAccess(String projectKey) {
+		return accessibleProjects.contains(projectKey);
+	}
+
+	boolean hasFullPermission(String projectKey) {
+		return fullPermissionProjects.contains(projectKey);
+	}
+
+	/**
+	 * @return true if one of the user's groups on the project is a reviewer group, whether or not they have other groups on it
+	 */
+	boolean hasReviewerPermission(String projectKey) {
+		return reviewerProjects.contains(projectKey);
+	}
+}
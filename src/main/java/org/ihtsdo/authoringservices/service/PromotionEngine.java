@@ -0,0 +1,141 @@
+package org.ihtsdo.authoringservices.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.ihtsdo.authoringservices.domain.PromotionQueueStatus;
+import org.ihtsdo.otf.rest.exception.BusinessServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs promotion jobs on a bounded pool of workers.
+ * Jobs for different projects run in parallel, jobs within a project run one at a time in the order they were submitted
+ * because they merge into the same project branch.
+ */
+@Service
+public class PromotionEngine {
+
+	public enum JobType {
+		TASK_PROMOTION, PROJECT_PROMOTION, AUTOMATED_TASK_PROMOTION
+	}
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Map<String, Deque<PromotionJob>> projectQueues = new HashMap<>();
+
+	private int queuedJobs;
+	private long startedJobs;
+	private long totalWaitMillis;
+	private long maxWaitMillis;
+
+	private ExecutorService workerPool;
+
+	@Value("${promotion.worker.thread-pool-size}")
+	private int threadPoolSize;
+
+	@Value("${promotion.worker.queue-capacity}")
+	private int queueCapacity;
+
+	@PostConstruct
+	public void init() {
+		workerPool = Executors.newFixedThreadPool(threadPoolSize);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		workerPool.shutdown();
+	}
+
+	/**
+	 * Queues a promotion job behind any other promotion of the same project.
+	 *
+	 * @throws BusinessServiceException if the queue is full
+	 */
+	public synchronized void submit(String projectKey, String jobKey, JobType type, Runnable job) throws BusinessServiceException {
+		if (queuedJobs >= queueCapacity) {
+			throw new BusinessServiceException("Too many promotions are waiting, please try again later");
+		}
+		Deque<PromotionJob> projectQueue = projectQueues.get(projectKey);
+		PromotionJob promotionJob = new PromotionJob(projectKey, jobKey, type, job, System.currentTimeMillis());
+		if (projectQueue == null) {
+			// Nothing running for this project, the queue holds the running job until it completes
+			projectQueue = new ArrayDeque<>();
+			projectQueue.add(promotionJob);
+			projectQueues.put(projectKey, projectQueue);
+			start(promotionJob);
+		} else {
+			projectQueue.add(promotionJob);
+			queuedJobs++;
+			logger.info("Promotion of {} queued behind {} other job(s) of project {}", jobKey, projectQueue.size() - 1, projectKey);
+		}
+	}
+
+	/**
+	 * Keys of the jobs of the given type which are waiting to start, in the order they will run within each project.
+	 */
+	public synchronized List<String> getQueuedJobKeys(JobType type) {
+		List<String> jobKeys = new ArrayList<>();
+		for (Deque<PromotionJob> projectQueue : projectQueues.values()) {
+			// The head of each queue is running
+			projectQueue.stream().skip(1)
+					.filter(job -> job.type() == type)
+					.map(PromotionJob::jobKey)
+					.forEach(jobKeys::add);
+		}
+		return jobKeys;
+	}
+
+	public synchronized PromotionQueueStatus getStatus() {
+		long now = System.currentTimeMillis();
+		long oldestQueuedWait = 0;
+		for (Deque<PromotionJob> projectQueue : projectQueues.values()) {
+			Iterator<PromotionJob> waiting = projectQueue.iterator();
+			waiting.next();
+			if (waiting.hasNext()) {
+				oldestQueuedWait = Math.max(oldestQueuedWait, now - waiting.next().queuedAt());
+			}
+		}
+		long averageWait = startedJobs == 0 ? 0 : totalWaitMillis / startedJobs;
+		return new PromotionQueueStatus(queuedJobs, projectQueues.size(), oldestQueuedWait, averageWait, maxWaitMillis);
+	}
+
+	private void start(PromotionJob promotionJob) {
+		long waitMillis = System.currentTimeMillis() - promotionJob.queuedAt();
+		startedJobs++;
+		totalWaitMillis += waitMillis;
+		maxWaitMillis = Math.max(maxWaitMillis, waitMillis);
+		logger.debug("Starting promotion of {} after waiting {}ms", promotionJob.jobKey(), waitMillis);
+		workerPool.execute(() -> run(promotionJob));
+	}
+
+	private void run(PromotionJob promotionJob) {
+		try {
+			promotionJob.job().run();
+		} catch (Exception e) {
+			logger.error("Promotion of {} failed.", promotionJob.jobKey(), e);
+		} finally {
+			startNext(promotionJob.projectKey());
+		}
+	}
+
+	private synchronized void startNext(String projectKey) {
+		Deque<PromotionJob> projectQueue = projectQueues.get(projectKey);
+		projectQueue.poll();
+		PromotionJob next = projectQueue.peek();
+		if (next == null) {
+			projectQueues.remove(projectKey);
+		} else {
+			queuedJobs--;
+			start(next);
+		}
+	}
+
+	private record PromotionJob(String projectKey, String jobKey, JobType type, Runnable job, long queuedAt) {
+	}
+}
@@ -2,9 +2,9 @@ package org.ihtsdo.authoringservices.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.annotation.PreDestroy;
 import net.sf.json.JSONObject;
 import org.ihtsdo.authoringservices.domain.*;
+import org.ihtsdo.authoringservices.service.PromotionEngine.JobType;
 import org.ihtsdo.authoringservices.service.client.ContentRequestServiceClient;
 import org.ihtsdo.authoringservices.service.client.ContentRequestServiceClientFactory;
 import org.ihtsdo.authoringservices.service.factory.ProjectServiceFactory;
@@ -20,16 +20,13 @@ import org.ihtsdo.sso.integration.SecurityUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,6 +40,7 @@ public class PromotionService {
     private static final String REBASING_STATUS = "Rebasing";
     private static final String REBASED_WITH_CONFLICT_STATUS = "Rebased with conflicts";
     private static final String STOPPED_STATUS = "stopped";
+    private static final String QUEUED_STATUS = "Queued";
     private static final String CONTENT_PROMOTION = "Content Promotion";
     private static final String TASK_PROMOTION_DISABLED_MSG = "Task promotion is disabled";
 
@@ -79,23 +77,21 @@ public class PromotionService {
     @Autowired
     private UiConfiguration uiConfiguration;
 
+    @Autowired
+    private PromotionEngine promotionEngine;
+
     private final Map<String, ProcessStatus> automateTaskPromotionStatus;
 
     private final Map<String, ProcessStatus> taskPromotionStatus;
 
     private final Map<String, ProcessStatus> projectPromotionStatus;
 
-    private final ExecutorService executorService;
-
-    private final LinkedBlockingQueue<AutomatePromoteProcess> autoPromoteBlockingQueue = new LinkedBlockingQueue<>();
-
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     public PromotionService() {
-        automateTaskPromotionStatus = new HashMap<>();
-        taskPromotionStatus = new HashMap<>();
-        projectPromotionStatus = new HashMap<>();
-        executorService = Executors.newCachedThreadPool();
+        automateTaskPromotionStatus = new ConcurrentHashMap<>();
+        taskPromotionStatus = new ConcurrentHashMap<>();
+        projectPromotionStatus = new ConcurrentHashMap<>();
     }
 
     public String requestConceptPromotion(String conceptId, boolean includeDependencies, String branchPath, CodeSystem codeSystem) throws BusinessServiceException {
@@ -109,28 +105,14 @@ public class PromotionService {
         }
     }
 
-    @Scheduled(initialDelay = 60_000, fixedDelay = 5_000)
-    private void processAutoPromotionJobs() {
-        try {
-            AutomatePromoteProcess automatePromoteProcess = autoPromoteBlockingQueue.take();
-            doAutomateTaskPromotion(automatePromoteProcess.getProjectKey(), automatePromoteProcess.getTaskKey(), automatePromoteProcess.getAuthentication());
-        } catch (InterruptedException e) {
-            logger.warn("Failed to take task auto-promotion job from the queue.", e);
-            Thread.currentThread().interrupt();
-        }
-    }
-
-    public void queueAutomateTaskPromotion(String projectKey, String taskKey) {
-        AutomatePromoteProcess automatePromoteProcess = new AutomatePromoteProcess(SecurityContextHolder.getContext().getAuthentication(), projectKey, taskKey);
-
+    public void queueAutomateTaskPromotion(String projectKey, String taskKey) throws BusinessServiceException {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        automateTaskPromotionStatus.put(parseKey(projectKey, taskKey), new ProcessStatus(QUEUED_STATUS, ""));
         try {
-            ProcessStatus processStatus = new ProcessStatus("Queued", "");
-            automateTaskPromotionStatus.put(parseKey(projectKey, taskKey), processStatus);
-            autoPromoteBlockingQueue.put(automatePromoteProcess);
-        } catch (InterruptedException e) {
-            ProcessStatus failedStatus = new ProcessStatus(FAILED_STATUS, e.getMessage());
-            automateTaskPromotionStatus.put(parseKey(projectKey, taskKey), failedStatus);
-            Thread.currentThread().interrupt();
+            promotionEngine.submit(projectKey, taskKey, JobType.AUTOMATED_TASK_PROMOTION, () -> doAutomateTaskPromotion(projectKey, taskKey, authentication));
+        } catch (BusinessServiceException e) {
+            automateTaskPromotionStatus.put(parseKey(projectKey, taskKey), new ProcessStatus(FAILED_STATUS, e.getMessage()));
+            throw e;
         }
     }
 
@@ -143,8 +125,19 @@ public class PromotionService {
 
         String taskBranchPath = branchService.getTaskBranchPathUsingCache(projectKey, taskKey);
         final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        ProcessStatus taskProcessStatus = new ProcessStatus();
-        executorService.submit(() -> {
+        ProcessStatus taskProcessStatus = new ProcessStatus(QUEUED_STATUS, "Task promotion is queued");
+        taskPromotionStatus.put(parseKey(projectKey, taskKey), taskProcessStatus);
+        try {
+            submitTaskPromotion(projectKey, taskKey, mergeRequest, useNew, taskBranchPath, authentication, taskProcessStatus);
+        } catch (BusinessServiceException e) {
+            taskPromotionStatus.put(parseKey(projectKey, taskKey), new ProcessStatus(FAILED_STATUS, e.getMessage()));
+            throw e;
+        }
+    }
+
+    private void submitTaskPromotion(String projectKey, String taskKey, MergeRequest mergeRequest, boolean useNew, String taskBranchPath,
+            Authentication authentication, ProcessStatus taskProcessStatus) throws BusinessServiceException {
+        promotionEngine.submit(projectKey, taskKey, JobType.TASK_PROMOTION, () -> {
             SecurityContextHolder.getContext().setAuthentication(authentication);
             try {
 
@@ -187,6 +180,8 @@ public class PromotionService {
                 taskProcessStatus.setStatus(PROMOTION_ERROR_STATUS);
                 taskProcessStatus.setMessage(e.getMessage());
                 taskPromotionStatus.put(parseKey(projectKey, taskKey), taskProcessStatus);
+            } finally {
+                SecurityContextHolder.getContext().setAuthentication(null);
             }
         });
     }
@@ -198,8 +193,19 @@ public class PromotionService {
             throw new BusinessServiceException("Project promotion is disabled");
         }
         final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        ProcessStatus projectProcessStatus = new ProcessStatus();
-        executorService.submit(() -> {
+        ProcessStatus projectProcessStatus = new ProcessStatus(QUEUED_STATUS, "Project promotion is queued");
+        projectPromotionStatus.put(projectKey, projectProcessStatus);
+        try {
+            submitProjectPromotion(projectKey, mergeRequest, useNew, authentication, projectProcessStatus);
+        } catch (BusinessServiceException e) {
+            projectPromotionStatus.put(projectKey, new ProcessStatus(FAILED_STATUS, e.getMessage()));
+            throw e;
+        }
+    }
+
+    private void submitProjectPromotion(String projectKey, MergeRequest mergeRequest, boolean useNew, Authentication authentication,
+            ProcessStatus projectProcessStatus) throws BusinessServiceException {
+        promotionEngine.submit(projectKey, projectKey, JobType.PROJECT_PROMOTION, () -> {
             SecurityContextHolder.getContext().setAuthentication(authentication);
             try {
 
@@ -240,12 +246,14 @@ public class PromotionService {
                 projectProcessStatus.setStatus(PROMOTION_ERROR_STATUS);
                 projectProcessStatus.setMessage(e.getMessage());
                 projectPromotionStatus.put(projectKey, projectProcessStatus);
+            } finally {
+                SecurityContextHolder.getContext().setAuthentication(null);
             }
         });
 
     }
 
-    private synchronized void doAutomateTaskPromotion(String projectKey, String taskKey, Authentication authentication) {
+    private void doAutomateTaskPromotion(String projectKey, String taskKey, Authentication authentication) {
         SecurityContextHolder.getContext().setAuthentication(authentication);
         try {
             logger.info("Beginning auto promotion of task {}", taskKey);
@@ -587,14 +595,11 @@ public class PromotionService {
         automateTaskPromotionStatus.remove(parseKey(projectKey, taskKey));
     }
 
-    @PreDestroy
-    public void shutdown() {
-        executorService.shutdown();
+    public List<String> listTasksQueuedForAutoPromotion() {
+        return promotionEngine.getQueuedJobKeys(JobType.AUTOMATED_TASK_PROMOTION);
     }
 
-    public List<String> listTasksQueuedForAutoPromotion() {
-        return autoPromoteBlockingQueue.stream()
-                .map(AutomatePromoteProcess::getTaskKey)
-                .toList();
+    public PromotionQueueStatus getPromotionQueueStatus() {
+        return promotionEngine.getStatus();
     }
 }
@@ -4,32 +4,45 @@ import jakarta.transaction.Transactional;
 import org.ihtsdo.authoringservices.entity.RMPTask;
 import org.ihtsdo.authoringservices.entity.RMPTaskAttachment;
 import org.ihtsdo.authoringservices.repository.RMPTaskAttachmentRepository;
+import org.ihtsdo.authoringservices.service.dao.RMPAttachmentResourceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class RMPTaskAttachmentService {
 
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
     private final RMPTaskAttachmentRepository attachmentRepository;
+    private final RMPAttachmentResourceService attachmentResourceService;
     private final Set<String> allowedExtensions;
 
     @Autowired
     public RMPTaskAttachmentService(
             RMPTaskAttachmentRepository attachmentRepository,
+            RMPAttachmentResourceService attachmentResourceService,
             @Value("${rmp.task.attachments.allowed-extensions}") String allowedExtensionsConfig) {
         this.attachmentRepository = attachmentRepository;
+        this.attachmentResourceService = attachmentResourceService;
         this.allowedExtensions = parseAllowedExtensions(allowedExtensionsConfig);
     }
 
@@ -55,8 +68,29 @@ public class RMPTaskAttachmentService {
         attachment.setFileName(original);
         attachment.setContentType(file.getContentType());
         attachment.setContentSize(file.getSize());
-        attachment.setContent(file.getBytes());
-        return attachmentRepository.save(attachment);
+        // Only the attachment details go into the database, the content is streamed to the attachment store
+        String storagePath = newStoragePath(rmpTask.getId());
+        try (InputStream content = file.getInputStream()) {
+            attachmentResourceService.write(storagePath, content);
+        }
+        attachment.setStoragePath(storagePath);
+        try {
+            return attachmentRepository.save(attachment);
+        } catch (RuntimeException e) {
+            deleteStoredContent(storagePath);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the content of the attachment, the caller is responsible for closing the stream.
+     */
+    @Transactional
+    public InputStream openContent(RMPTaskAttachment attachment) throws IOException {
+        if (attachment.getStoragePath() == null) {
+            moveLegacyContentToStore(attachment);
+        }
+        return attachmentResourceService.read(attachment.getStoragePath());
     }
 
     @Transactional
@@ -64,11 +98,60 @@ public class RMPTaskAttachmentService {
         Optional<RMPTaskAttachment> attachment = attachmentRepository.findByIdAndRmpTask_Id(attachmentId, taskId);
         if (attachment.isPresent()) {
             attachmentRepository.delete(attachment.get());
+            deleteStoredContentAfterCommit(List.of(attachment.get()));
             return true;
         }
         return false;
     }
 
+    /**
+     * Removes the stored content of every attachment of the task once the transaction removing the task commits,
+     * the attachment rows are removed with the task.
+     */
+    public void deleteStoredContent(RMPTask rmpTask) {
+        deleteStoredContentAfterCommit(findByRmpTask(rmpTask));
+    }
+
+    // Content is only removed once its rows are, so that a rolled back delete does not leave rows without content
+    private void deleteStoredContentAfterCommit(List<RMPTaskAttachment> attachments) {
+        List<String> storagePaths = attachments.stream().map(RMPTaskAttachment::getStoragePath).toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            storagePaths.forEach(this::deleteStoredContent);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                storagePaths.forEach(RMPTaskAttachmentService.this::deleteStoredContent);
+            }
+        });
+    }
+
+    private void moveLegacyContentToStore(RMPTaskAttachment attachment) throws IOException {
+        byte[] content = attachmentRepository.findLegacyContent(attachment.getId());
+        String storagePath = newStoragePath(attachment.getRmpTask().getId());
+        attachmentResourceService.write(storagePath, new ByteArrayInputStream(content != null ? content : new byte[0]));
+        attachment.setStoragePath(storagePath);
+        attachmentRepository.save(attachment);
+        attachmentRepository.clearLegacyContent(attachment.getId());
+        logger.info("Moved content of RMP task attachment {} to the attachment store.", attachment.getId());
+    }
+
+    private String newStoragePath(long taskId) {
+        return taskId + "/" + UUID.randomUUID();
+    }
+
+    private void deleteStoredContent(String storagePath) {
+        if (storagePath == null) {
+            return;
+        }
+        try {
+            attachmentResourceService.delete(storagePath);
+        } catch (IOException e) {
+            logger.warn("Failed to delete attachment content {}, it is no longer referenced.", storagePath, e);
+        }
+    }
+
     private Set<String> parseAllowedExtensions(String allowedExtensionsConfig) {
         Set<String> parsed = Arrays.stream(allowedExtensionsConfig.split(","))
                 .map(String::trim)
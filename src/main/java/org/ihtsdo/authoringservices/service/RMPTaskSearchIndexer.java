@@ -0,0 +1,65 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.entity.RMPTask;
+import org.ihtsdo.authoringservices.repository.RMPTaskRepository;
+import org.ihtsdo.authoringservices.service.util.SearchTokenUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Maintains the search words of RMP tasks, which are matched by prefix so that task search can use an index.
+ */
+@Service
+public class RMPTaskSearchIndexer {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final RMPTaskRepository rmpTaskRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public RMPTaskSearchIndexer(RMPTaskRepository rmpTaskRepository, PlatformTransactionManager transactionManager) {
+        this.rmpTaskRepository = rmpTaskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void index(RMPTask rmpTask) {
+        rmpTask.setSearchTokens(SearchTokenUtil.tokenize(rmpTask.getSummary(), rmpTask.getType()));
+    }
+
+    /**
+     * Indexes the tasks created before search words were kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexUnindexedTasks() {
+        long afterId = 0;
+        long indexed = 0;
+        List<Long> taskIds;
+        do {
+            taskIds = rmpTaskRepository.findUnindexedTaskIds(afterId, PageRequest.ofSize(BATCH_SIZE));
+            if (!taskIds.isEmpty()) {
+                final List<Long> batch = taskIds;
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<RMPTask> tasks = rmpTaskRepository.findAllById(batch);
+                    tasks.forEach(this::index);
+                    rmpTaskRepository.saveAll(tasks);
+                });
+                indexed += taskIds.size();
+                afterId = taskIds.get(taskIds.size() - 1);
+            }
+        } while (taskIds.size() == BATCH_SIZE);
+        if (indexed > 0) {
+            logger.info("Indexed {} RMP task(s) for search.", indexed);
+        }
+    }
+}
@@ -3,12 +3,15 @@ package org.ihtsdo.authoringservices.service;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.jpa.JPAExpressions;
 import org.ihtsdo.authoringservices.domain.RMPTaskStatus;
 import org.ihtsdo.authoringservices.domain.User;
 import org.ihtsdo.authoringservices.entity.QRMPTask;
 import org.ihtsdo.authoringservices.entity.RMPTask;
 import org.ihtsdo.authoringservices.entity.RMPNotificationUser;
 import org.ihtsdo.authoringservices.repository.RMPTaskRepository;
+import org.ihtsdo.authoringservices.service.util.SearchTokenUtil;
 
 import org.ihtsdo.otf.rest.exception.ResourceNotFoundException;
 import org.ihtsdo.sso.integration.SecurityUtil;
@@ -39,15 +42,23 @@ public class RMPTaskService {
 
     private final RMPUserNotificationService rmpNotificationUserService;
 
+    private final RMPTaskAttachmentService rmpTaskAttachmentService;
+
+    private final RMPTaskSearchIndexer rmpTaskSearchIndexer;
+
     @Autowired
     public RMPTaskService(RMPTaskRepository rmpTaskRepository,
                           EmailService emailService,
                           UserCacheService userCacheService,
-                          RMPUserNotificationService rmpNotificationUserService) {
+                          RMPUserNotificationService rmpNotificationUserService,
+                          RMPTaskAttachmentService rmpTaskAttachmentService,
+                          RMPTaskSearchIndexer rmpTaskSearchIndexer) {
         this.rmpTaskRepository = rmpTaskRepository;
         this.emailService = emailService;
         this.userCacheService = userCacheService;
         this.rmpNotificationUserService = rmpNotificationUserService;
+        this.rmpTaskAttachmentService = rmpTaskAttachmentService;
+        this.rmpTaskSearchIndexer = rmpTaskSearchIndexer;
     }
 
     public Page<RMPTask> findTasks(String country, String reporter, Pageable pageable) {
@@ -89,12 +100,33 @@ public class RMPTaskService {
     private static Predicate[] buildSearchPredicate(String searchString, boolean ignoreReporterFilter, boolean ignoreAssigneeFilter) {
         QRMPTask qRequest = QRMPTask.rMPTask;
         BooleanExpression searchRequestId = org.apache.commons.lang3.StringUtils.isNumeric(searchString) ? qRequest.id.eq(Long.parseLong(searchString)) : null;
-        BooleanExpression searchSummary = Expressions.stringTemplate(ACCENTED_CHARACTERS_CONVERSION_EXPRESSION, qRequest.summary) .contains(searchString.toLowerCase());
-        BooleanExpression searchType = qRequest.type.containsIgnoreCase(searchString);
+        BooleanExpression searchSummaryOrType = buildSearchTokensPredicate(searchString);
         BooleanExpression searchAssignee = ignoreAssigneeFilter ? null : qRequest.assignee.stringValue().containsIgnoreCase(searchString);
         BooleanExpression searchReporter = ignoreReporterFilter ? null : qRequest.reporter.containsIgnoreCase(searchString);
 
-        return new Predicate[]{searchRequestId, searchSummary, searchType, searchAssignee, searchReporter};
+        return new Predicate[]{searchRequestId, searchSummaryOrType, searchAssignee, searchReporter};
+    }
+
+    /**
+     * Every word of the search string has to be the start of a word of the summary or type.
+     * The words are matched by prefix against the search token index rather than by scanning the summaries.
+     */
+    private static BooleanExpression buildSearchTokensPredicate(String searchString) {
+        QRMPTask qRequest = QRMPTask.rMPTask;
+        BooleanExpression predicate = null;
+        int i = 0;
+        for (String word : SearchTokenUtil.tokenize(searchString)) {
+            QRMPTask qTokenTask = new QRMPTask("tokenTask" + i);
+            StringPath token = Expressions.stringPath("token" + i);
+            BooleanExpression wordMatches = qRequest.id.in(JPAExpressions.select(qTokenTask.id)
+                    .from(qTokenTask)
+                    .innerJoin(qTokenTask.searchTokens, token)
+                    .where(token.startsWith(word)));
+            predicate = predicate == null ? wordMatches : predicate.and(wordMatches);
+            i++;
+        }
+        // A search string without any words matches no summary or type
+        return predicate != null ? predicate : Expressions.FALSE.isTrue();
     }
 
     public Optional<RMPTask> getTaskById(long id) {
@@ -105,11 +137,13 @@ public class RMPTaskService {
         rmpTask.setStatus(RMPTaskStatus.NEW);
         rmpTask.setReporter(SecurityUtil.getUsername());
         rmpTask.setAssignee(null);
+        rmpTaskSearchIndexer.index(rmpTask);
         RMPTask savedTask = rmpTaskRepository.save(rmpTask);
         notifyTaskCreated(savedTask);
         return savedTask;
     }
 
+    @Transactional
     public Optional<RMPTask> updateTask(long id, RMPTask updatedTask) {
         Optional<RMPTask> taskOptional = rmpTaskRepository.findById(id);
         if (taskOptional.isEmpty()) throw new ResourceNotFoundException(String.format("RMP task %s not found", id));
@@ -146,6 +180,7 @@ public class RMPTaskService {
         existingTask.setParentConcept(updatedTask.getParentConcept());
         existingTask.setJustification(updatedTask.getJustification());
         existingTask.setReference(updatedTask.getReference());
+        rmpTaskSearchIndexer.index(existingTask);
 
         RMPTask savedRmpTask = rmpTaskRepository.save(existingTask);
         if (statusChanged) {
@@ -161,6 +196,8 @@ public class RMPTaskService {
     public boolean deleteTask(long id) {
         Optional<RMPTask> rmpTaskOptional = rmpTaskRepository.findById(id);
         if (rmpTaskOptional.isPresent()) {
+            // Attachment rows are removed with the task, their content outside the database once the delete commits
+            rmpTaskAttachmentService.deleteStoredContent(rmpTaskOptional.get());
             rmpTaskRepository.delete(rmpTaskOptional.get());
             return true;
         }
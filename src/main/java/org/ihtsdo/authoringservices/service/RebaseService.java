@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.ihtsdo.authoringservices.domain.AuthoringProject;
 import org.ihtsdo.authoringservices.domain.BranchState;
@@ -20,15 +21,14 @@ import org.ihtsdo.otf.rest.exception.BusinessServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.*;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.ihtsdo.otf.rest.client.terminologyserver.pojo.MergeReviewsResults.MergeReviewStatus.CURRENT;
@@ -58,6 +58,8 @@ public class RebaseService {
 		}
 	}
 
+	private static final int MAX_TOTAL_WAIT_SECONDS = 60 * 60;
+
 	@Autowired
 	private SnowstormRestClientFactory snowstormRestClientFactory;
 
@@ -67,98 +69,182 @@ public class RebaseService {
 	@Autowired
 	private BranchService branchService;
 
-	private final ExecutorService executorService;
+	@Value("${rebase.scheduler.thread-pool-size}")
+	private int threadPoolSize;
+
+	@Value("${rebase.max-concurrent-per-code-system}")
+	private int maxConcurrentPerCodeSystem;
+
+	@Value("${rebase.poll.initial-interval-seconds}")
+	private int initialPollIntervalSeconds;
+
+	@Value("${rebase.poll.max-interval-seconds}")
+	private int maxPollIntervalSeconds;
+
+	private ScheduledExecutorService rebaseScheduler;
 
 	private final Cache<String, ProcessStatus> rebaseStatusCache;
 
+	// Project rebases waiting for a merge slot and the number running, per code system branch. Guarded by this.
+	private final Map<String, Deque<RebaseJob>> waitingRebases = new HashMap<>();
+	private final Map<String, Integer> runningRebases = new HashMap<>();
+
 	public RebaseService() {
 		this.rebaseStatusCache = CacheBuilder.newBuilder().expireAfterWrite(1, TimeUnit.DAYS).build();
-		executorService = Executors.newCachedThreadPool();
+	}
+
+	@PostConstruct
+	public void init() {
+		rebaseScheduler = Executors.newScheduledThreadPool(threadPoolSize);
 	}
 
 	public void doTaskRebase(String projectKey, String taskKey) {
 		final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		executorService.submit(() -> {
-			SecurityContextHolder.getContext().setAuthentication(authentication);
-			try {
-				updateRebaseStatus(RebaseStatus.REBASING, null, parseKey(projectKey, taskKey));
-				String taskBranchPath = branchService.getTaskBranchPathUsingCache(projectKey, taskKey);
-				mergeBranch(PathHelper.getParentPath(taskBranchPath), taskBranchPath, null, parseKey(projectKey, taskKey));
-			} catch (Exception e) {
-				logger.error(e.getMessage(), e);
-				updateRebaseStatus(RebaseStatus.REBASE_ERROR, e.getMessage(), parseKey(projectKey, taskKey));
-			}
-		});
+		String key = parseKey(projectKey, taskKey);
+		updateRebaseStatus(RebaseStatus.REBASING, null, key);
+		try {
+			String taskBranchPath = branchService.getTaskBranchPathUsingCache(projectKey, taskKey);
+			// Task rebases are started by authors waiting on them so they do not take a code system merge slot
+			RebaseJob job = new RebaseJob(key, authentication, PathHelper.getParentPath(taskBranchPath), taskBranchPath, null);
+			rebaseScheduler.execute(() -> runStep(job, () -> startMerge(job)));
+		} catch (Exception e) {
+			logger.error(e.getMessage(), e);
+			updateRebaseStatus(RebaseStatus.REBASE_ERROR, e.getMessage(), key);
+		}
 	}
+
+	/**
+	 * Rebases a project without holding a thread while Snowstorm works.
+	 * The merge review and the merge are polled on a shared scheduler with a growing interval
+	 * and the number of project rebases running against the same code system branch is capped.
+	 */
 	public void doProjectRebase(String jobId, final AuthoringProject project) throws BusinessServiceException {
 		String key = jobId != null ? jobId + UNDERSCORE + project.getKey() : project.getKey();
 		if (skipProjectRebaseIfDisabled(jobId, project, key)) return;
 		if (skipProjectRebaseIfBranchStateNotValid(jobId, project, key)) return;
 		if (skipProjectRebaseIfRunning(jobId, project.getKey(), key)) return;
 		final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		executorService.submit(() -> {
-			SecurityContextHolder.getContext().setAuthentication(authentication);
-			try {
-				updateRebaseStatus(RebaseStatus.REBASING, null, key);
-				String targetBranch = branchService.getProjectBranchPathUsingCache(project.getKey());
-				String sourceBranch = PathHelper.getParentPath(targetBranch);
-				if (BranchState.BEHIND.name().equals(project.getBranchState())) {
-					mergeBranch(sourceBranch, targetBranch, null, key);
-					return;
-				}
+		updateRebaseStatus(RebaseStatus.REBASING, null, key);
+		try {
+			String targetBranch = branchService.getProjectBranchPathUsingCache(project.getKey());
+			String sourceBranch = PathHelper.getParentPath(targetBranch);
+			RebaseJob job = new RebaseJob(key, authentication, sourceBranch, targetBranch, sourceBranch);
+			job.reviewRequired = !BranchState.BEHIND.name().equals(project.getBranchState());
+			queueProjectRebase(job);
+		} catch (Exception e) {
+			logger.error(e.getMessage(), e);
+			updateRebaseStatus(RebaseStatus.REBASE_ERROR, e.getMessage(), key);
+		}
+	}
 
-				SnowstormRestClient client = snowstormRestClientFactory.getClient();
-				String mergeReviewsId = client.createBranchMergeReviews(sourceBranch, targetBranch);
-				MergeReviewsResults mergeReviewsResults = waitToMergeReviewsComplete(client, mergeReviewsId);
-				if (CURRENT.equals(mergeReviewsResults.getStatus())) {
-					Set mergeReviewsDetails = client.getMergeReviewsDetails(mergeReviewsId);
-					if (mergeReviewsDetails.isEmpty()) {
-						mergeBranch(sourceBranch, targetBranch, mergeReviewsId, key);
-					} else {
-						updateRebaseStatus(RebaseStatus.REBASE_CONFLICTS, null, key);
-					}
-				} else {
-					updateRebaseStatus(RebaseStatus.REBASE_ERROR, "Failed to generate the merge-review.", key);
-				}
-			} catch (Exception e) {
-				logger.error(e.getMessage(), e);
-				updateRebaseStatus(RebaseStatus.REBASE_ERROR, e.getMessage(), key);
+	private synchronized void queueProjectRebase(RebaseJob job) {
+		int running = runningRebases.getOrDefault(job.codeSystemBranch, 0);
+		if (running < maxConcurrentPerCodeSystem) {
+			runningRebases.put(job.codeSystemBranch, running + 1);
+			rebaseScheduler.execute(() -> runStep(job, () -> startProjectRebase(job)));
+		} else {
+			Deque<RebaseJob> waiting = waitingRebases.computeIfAbsent(job.codeSystemBranch, k -> new ArrayDeque<>());
+			waiting.add(job);
+			updateRebaseStatus(RebaseStatus.REBASING, String.format("Waiting for %d other rebase(s) of %s", running + waiting.size() - 1, job.codeSystemBranch), job.key);
+		}
+	}
+
+	private synchronized void releaseMergeSlot(RebaseJob job) {
+		Deque<RebaseJob> waiting = waitingRebases.get(job.codeSystemBranch);
+		RebaseJob next = waiting != null ? waiting.poll() : null;
+		if (next != null) {
+			// Hand the slot straight to the next rebase of this code system
+			if (waiting.isEmpty()) {
+				waitingRebases.remove(job.codeSystemBranch);
+			}
+			updateRebaseStatus(RebaseStatus.REBASING, null, next.key);
+			rebaseScheduler.execute(() -> runStep(next, () -> startProjectRebase(next)));
+		} else {
+			int running = runningRebases.getOrDefault(job.codeSystemBranch, 1) - 1;
+			if (running > 0) {
+				runningRebases.put(job.codeSystemBranch, running);
+			} else {
+				runningRebases.remove(job.codeSystemBranch);
+			}
+		}
+	}
+
+	private void startProjectRebase(RebaseJob job) throws RestClientException {
+		if (!job.reviewRequired) {
+			startMerge(job);
+			return;
+		}
+		job.mergeReviewsId = snowstormRestClientFactory.getClient().createBranchMergeReviews(job.sourceBranch, job.targetBranch);
+		job.resetPolling();
+		schedulePoll(job, () -> pollMergeReview(job));
+	}
+
+	@SuppressWarnings("rawtypes")
+	private void pollMergeReview(RebaseJob job) throws RestClientException {
+		SnowstormRestClient client = snowstormRestClientFactory.getClient();
+		MergeReviewsResults mergeReviewsResults = client.getMergeReviewsResult(job.mergeReviewsId);
+		if (mergeReviewsResults.getStatus() == PENDING && !job.timedOut()) {
+			schedulePoll(job, () -> pollMergeReview(job));
+		} else if (CURRENT.equals(mergeReviewsResults.getStatus())) {
+			Set mergeReviewsDetails = client.getMergeReviewsDetails(job.mergeReviewsId);
+			if (mergeReviewsDetails.isEmpty()) {
+				startMerge(job);
+			} else {
+				finish(job, RebaseStatus.REBASE_CONFLICTS, null);
 			}
-		});
+		} else {
+			finish(job, RebaseStatus.REBASE_ERROR, "Failed to generate the merge-review.");
+		}
 	}
 
-	private void mergeBranch(String sourceBranch, String targetBranch, String mergeReviewsId, String key) throws BusinessServiceException {
-		Merge merge = branchService.mergeBranchSync(sourceBranch, targetBranch, mergeReviewsId);
+	private void startMerge(RebaseJob job) throws RestClientException {
+		logger.info("Attempting branch merge from '{}' to '{}'", job.sourceBranch, job.targetBranch);
+		job.mergeId = snowstormRestClientFactory.getClient().startMerge(job.sourceBranch, job.targetBranch, job.mergeReviewsId);
+		job.resetPolling();
+		schedulePoll(job, () -> pollMerge(job));
+	}
+
+	private void pollMerge(RebaseJob job) throws RestClientException {
+		Merge merge = snowstormRestClientFactory.getClient().getMerge(job.mergeId);
+		if ((merge.getStatus() == Merge.Status.SCHEDULED || merge.getStatus() == Merge.Status.IN_PROGRESS) && !job.timedOut()) {
+			schedulePoll(job, () -> pollMerge(job));
+			return;
+		}
+		logger.info("Branch merge from '{}' to '{}' end status is {} {}", job.sourceBranch, job.targetBranch, merge.getStatus(), merge.getApiError() == null ? "" : merge.getApiError());
 		if (merge.getStatus() == Merge.Status.COMPLETED) {
-			updateRebaseStatus(RebaseStatus.REBASE_COMPLETE, null, key);
-		} else if (merge.getStatus().equals(Merge.Status.CONFLICTS)) {
-			processRebaseConflicts(merge, key);
+			finish(job, RebaseStatus.REBASE_COMPLETE, null);
+		} else if (merge.getStatus() == Merge.Status.CONFLICTS) {
+			finish(job, RebaseStatus.REBASE_CONFLICTS, getConflictsMessage(merge));
 		} else {
 			ApiError apiError = merge.getApiError();
-			String message = apiError != null ? apiError.getMessage() : null;
-			updateRebaseStatus(RebaseStatus.REBASE_ERROR, message, key);
+			finish(job, RebaseStatus.REBASE_ERROR, apiError != null ? apiError.getMessage() : null);
 		}
 	}
 
-	private MergeReviewsResults waitToMergeReviewsComplete(SnowstormRestClient client, String mergeReviewsId) throws RestClientException {
-		int sleepSeconds = 4;
-		int totalWait = 0;
-		int maxTotalWait = 60 * 60;
-		MergeReviewsResults mergeReviewsResults;
-		do {
-            try {
-                Thread.sleep(1000L * sleepSeconds);
-            } catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
-            }
-            totalWait += sleepSeconds;
-			mergeReviewsResults = client.getMergeReviewsResult(mergeReviewsId);
-			if (sleepSeconds < 10) {
-				sleepSeconds += 2;
-			}
-		} while (totalWait < maxTotalWait && mergeReviewsResults.getStatus() == PENDING);
+	private void schedulePoll(RebaseJob job, RebaseStep step) {
+		int delaySeconds = job.nextPollDelaySeconds;
+		job.waitedSeconds += delaySeconds;
+		job.nextPollDelaySeconds = Math.min(delaySeconds * 2, maxPollIntervalSeconds);
+		rebaseScheduler.schedule(() -> runStep(job, step), delaySeconds, TimeUnit.SECONDS);
+	}
 
-		return mergeReviewsResults;
+	private void runStep(RebaseJob job, RebaseStep step) {
+		SecurityContextHolder.getContext().setAuthentication(job.authentication);
+		try {
+			step.run();
+		} catch (Exception e) {
+			logger.error(e.getMessage(), e);
+			finish(job, RebaseStatus.REBASE_ERROR, e.getMessage());
+		} finally {
+			SecurityContextHolder.getContext().setAuthentication(null);
+		}
+	}
+
+	private void finish(RebaseJob job, RebaseStatus status, String message) {
+		updateRebaseStatus(status, message, job.key);
+		if (job.codeSystemBranch != null) {
+			releaseMergeSlot(job);
+		}
 	}
 
 	public void doProjectRebase(final String jobId, final String projectKey) throws BusinessServiceException {
@@ -228,14 +314,13 @@ public class RebaseService {
 		return false;
 	}
 
-	private void processRebaseConflicts(Merge merge, String key) {
+	private String getConflictsMessage(Merge merge) {
 		try {
 			ObjectMapper mapper = new ObjectMapper();
-			String jsonInString = mapper.writeValueAsString(merge);
-			updateRebaseStatus(RebaseStatus.REBASE_CONFLICTS, jsonInString, key);
+			return mapper.writeValueAsString(merge);
 		} catch (JsonProcessingException e) {
 			logger.error(e.getMessage(), e);
-			updateRebaseStatus(RebaseStatus.REBASE_CONFLICTS, e.getMessage(), key);
+			return e.getMessage();
 		}
 	}
 
@@ -256,6 +341,41 @@ public class RebaseService {
 
 	@PreDestroy
 	public void shutdown() {
-		executorService.shutdown();
+		rebaseScheduler.shutdownNow();
+	}
+
+	private interface RebaseStep {
+		void run() throws Exception;
+	}
+
+	private class RebaseJob {
+		private final String key;
+		private final Authentication authentication;
+		private final String sourceBranch;
+		private final String targetBranch;
+		// Null when the rebase does not take a code system merge slot
+		private final String codeSystemBranch;
+		private boolean reviewRequired;
+		private String mergeReviewsId;
+		private String mergeId;
+		private int nextPollDelaySeconds;
+		private int waitedSeconds;
+
+		RebaseJob(String key, Authentication authentication, String sourceBranch, String targetBranch, String codeSystemBranch) {
+			this.key = key;
+			this.authentication = authentication;
+			this.sourceBranch = sourceBranch;
+			this.targetBranch = targetBranch;
+			this.codeSystemBranch = codeSystemBranch;
+		}
+
+		void resetPolling() {
+			nextPollDelaySeconds = initialPollIntervalSeconds;
+			waitedSeconds = 0;
+		}
+
+		boolean timedOut() {
+			return waitedSeconds >= MAX_TOTAL_WAIT_SECONDS;
+		}
 	}
 }
@@ -140,53 +140,58 @@ public class ReviewService {
 	}
 
 	public TaskMessagesDetail getTaskMessagesDetail(String projectKey, String taskKey, String username) {
-		TaskMessagesDetail detail = new TaskMessagesDetail();
-
-		detail.setTaskMessagesStatus(TaskMessagesStatus.none);
 		final Branch branch = branchRepository.findOneByProjectAndTask(projectKey, taskKey);
-		if (branch != null) {
-			final List<ReviewConcept> reviewConcepts = getReviewConcepts(username, branch);
-			for (ReviewConcept reviewConcept : reviewConcepts) {
-
-				// get the view date and save in task messages detail
-				Date viewDate = reviewConcept.getViewDate();
-				if(null != detail.getViewDate() && null != viewDate) {
-					if (viewDate.after(detail.getViewDate())) {
-						detail.setViewDate(viewDate);
-					}
-				} else {
-					detail.setViewDate(viewDate);
-				}			
-
-				// check dates and messages status
-				for (ReviewMessage reviewMessage : reviewConcept.getMessages()) {
-
-					final Date messageDate = reviewMessage.getCreationDate();
-
-					// If last message date null, simply set
-					if (detail.getLastMessageDate() == null) {
-						detail.setLastMessageDate(messageDate);
-					}
-
-					// otherwise check for later date
-					else if (messageDate != null && messageDate.after(detail.getLastMessageDate())) {
-						detail.setLastMessageDate(messageDate);
-					}
-
-					// if another user left message after view date, mark unread
-					if (!username.equals(reviewMessage.getFromUsername()) && (viewDate == null || (messageDate != null && messageDate.after(viewDate)))) {
-						detail.setTaskMessagesStatus(TaskMessagesStatus.unread);
-					}
-
-					// if not already marked unread, mark read
-					else if (!detail.getTaskMessagesStatus().equals(TaskMessagesStatus.unread)) {
-						detail.setTaskMessagesStatus(TaskMessagesStatus.read);
-					}
-				}
+		if (branch == null) {
+			TaskMessagesDetail detail = new TaskMessagesDetail();
+			detail.setTaskMessagesStatus(TaskMessagesStatus.none);
+			return detail;
+		}
+		return getTaskMessagesDetails(Collections.singletonList(branch), username).get(branch.getId());
+	}
 
-			}
+	/**
+	 * Message status, last message date and view date for each of the given tasks, keyed by task key.
+	 * The figures are aggregated by the database so the messages and concept views themselves are never loaded.
+	 */
+	public Map<String, TaskMessagesDetail> getTaskMessagesDetails(Collection<String> taskKeys, String username) {
+		final Map<String, TaskMessagesDetail> details = new HashMap<>();
+		if (taskKeys.isEmpty()) {
+			return details;
+		}
+		final List<Branch> branches = branchRepository.findByTaskIn(taskKeys);
+		final Map<Long, TaskMessagesDetail> branchDetails = getTaskMessagesDetails(branches, username);
+		for (Branch branch : branches) {
+			details.put(branch.getTask(), branchDetails.get(branch.getId()));
+		}
+		for (String taskKey : taskKeys) {
+			details.computeIfAbsent(taskKey, k -> {
+				TaskMessagesDetail detail = new TaskMessagesDetail();
+				detail.setTaskMessagesStatus(TaskMessagesStatus.none);
+				return detail;
+			});
+		}
+		return details;
+	}
+
+	private Map<Long, TaskMessagesDetail> getTaskMessagesDetails(List<Branch> branches, String username) {
+		final Map<Long, TaskMessagesDetail> details = new HashMap<>();
+		for (Branch branch : branches) {
+			TaskMessagesDetail detail = new TaskMessagesDetail();
+			detail.setTaskMessagesStatus(TaskMessagesStatus.none);
+			details.put(branch.getId(), detail);
+		}
+		for (ReviewConceptViewRepository.BranchViewDate viewDate : reviewConceptViewRepository.findLatestViewDates(branches, username)) {
+			details.get(viewDate.getBranchId()).setViewDate(viewDate.getViewDate());
+		}
+		for (ReviewMessageRepository.BranchLastMessageDate messageDate : messageRepository.findLastMessageDates(branches)) {
+			TaskMessagesDetail detail = details.get(messageDate.getBranchId());
+			detail.setLastMessageDate(messageDate.getLastMessageDate());
+			detail.setTaskMessagesStatus(TaskMessagesStatus.read);
+		}
+		for (Long branchId : messageRepository.findBranchIdsWithUnreadMessages(branches, username)) {
+			details.get(branchId).setTaskMessagesStatus(TaskMessagesStatus.unread);
 		}
-		return detail;
+		return details;
 	}
 
 	/**
@@ -34,7 +34,7 @@ public class SnowstormBranchChangeListener {
     public void receiveBranchChangeMessage(String message) {
         try {
             Map<String, String> jsonObject = objectMapper.readValue(message, HashMap.class);
-            Set<Object> cachedBranchKeys = cacheService.getBranchCaches();
+            Set<String> cachedBranchKeys = cacheService.getBranchCaches();
             if (CollectionUtils.isEmpty(cachedBranchKeys)) return;
 
             if (jsonObject.containsKey(SOURCE_BRANCH) && jsonObject.containsKey(BRANCH)) {
@@ -44,13 +44,13 @@ public class SnowstormBranchChangeListener {
                 if (isPromotion) {
                     // Promotion
                     if (Branch.MAIN.equals(branch)) {
-                        cachedBranchKeys.stream().filter(key -> !key.toString().startsWith("MAIN/SNOMEDCT-")).forEach(item -> cacheService.clearBranchCache(item.toString()));
+                        cacheService.clearBranchCacheSubtree(branch, key -> key.startsWith("MAIN/SNOMEDCT-"));
                     } else {
-                        cacheService.clearBranchCacheStartWith(jsonObject.get(BRANCH));
+                        cacheService.clearBranchCacheSubtree(jsonObject.get(BRANCH));
                     }
                 } else {
                     // Rebase
-                    cacheService.clearBranchCacheStartWith(jsonObject.get(BRANCH));
+                    cacheService.clearBranchCacheSubtree(jsonObject.get(BRANCH));
                 }
             } else if (jsonObject.containsKey(BRANCH)) {
                 cacheService.clearBranchCache(jsonObject.get(BRANCH));
@@ -66,7 +66,7 @@ public class SnowstormBranchChangeListener {
         try {
             Map<String, String> jsonObject = objectMapper.readValue(message, HashMap.class);
             if (jsonObject.containsKey(BRANCH)) {
-                cacheService.clearBranchCacheStartWith(jsonObject.get(BRANCH));
+                cacheService.clearBranchCacheSubtree(jsonObject.get(BRANCH));
             }
         } catch (Exception e) {
             logger.error("Error while processing message for role changes. Message {}", e.getMessage(), e);
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.jms.JMSException;
 import jakarta.jms.TextMessage;
 import org.ihtsdo.authoringservices.domain.*;
@@ -18,20 +20,23 @@ import org.ihtsdo.sso.integration.SecurityUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.jms.annotation.JmsListener;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 public class SnowstormClassificationClient {
 
 	public static final String CLASSIFICATION_RUNNING = "Classification is running";
+	private static final String CLASSIFICATION_IN_PROGRESS_MSG = "Classification already in progress on this branch.";
 
 	@Autowired
 	private CacheService cacheService;
@@ -48,21 +53,47 @@ public class SnowstormClassificationClient {
 	@Autowired
 	private NotificationService notificationService;
 
+	@Autowired
+	private ClassificationJobRegistry classificationJobRegistry;
+
+	@Value("${classification.completion.thread-pool-size}")
+	private int completionThreadPoolSize;
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	private final ObjectMapper objectMapper = new ObjectMapper();
-	private final Map <String, ClassificationRequest> classificationRequests = Collections.synchronizedMap(new HashMap <>());
 
-	public synchronized Classification startClassification(String projectKey, String taskKey, String branchPath, String username) throws RestClientException {
-		if (!snowstormRestClientFactory.getClient().isClassificationInProgressOnBranch(branchPath)) {
+	// Branches with a classification start in flight, starts on other branches do not wait for them
+	private final Set<String> startingBranches = ConcurrentHashMap.newKeySet();
+
+	private ExecutorService completionExecutor;
+
+	@PostConstruct
+	public void init() {
+		completionExecutor = Executors.newFixedThreadPool(completionThreadPoolSize);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		completionExecutor.shutdown();
+	}
+
+	public Classification startClassification(String projectKey, String taskKey, String branchPath, String username) throws RestClientException {
+		if (!startingBranches.add(branchPath)) {
+			throw new IllegalStateException(CLASSIFICATION_IN_PROGRESS_MSG);
+		}
+		try {
+			if (snowstormRestClientFactory.getClient().isClassificationInProgressOnBranch(branchPath)) {
+				throw new IllegalStateException(CLASSIFICATION_IN_PROGRESS_MSG);
+			}
 			Classification classificationResult = callClassification(projectKey, taskKey, branchPath, username);
 			Notification notification = new Notification(projectKey, taskKey, EntityType.Classification, CLASSIFICATION_RUNNING);
 			notification.setBranchPath(branchPath);
 			notificationService.queueNotification(SecurityUtil.getUsername(), notification);
 
 			return classificationResult;
-		} else {
-			throw new IllegalStateException("Classification already in progress on this branch.");
+		} finally {
+			startingBranches.remove(branchPath);
 		}
 	}
 
@@ -80,11 +111,13 @@ public class SnowstormClassificationClient {
 	void messageConsumer(TextMessage statusResponseMessage) throws JMSException, JsonProcessingException {
 		try {
 			ClassificationStatusResponse response = objectMapper.readValue(statusResponseMessage.getText(), ClassificationStatusResponse.class);
-			if (classificationRequests.containsKey(response.getId()) && (!ClassificationStatus.RUNNING.equals(response.getStatus())
+			if (!ClassificationStatus.RUNNING.equals(response.getStatus())
 					&& !ClassificationStatus.SCHEDULED.equals(response.getStatus())
-					&& !ClassificationStatus.SAVING_IN_PROGRESS.equals(response.getStatus()))) {
-					ClassificationRequest request = classificationRequests.remove(response.getId());
-					new Thread(new ClassificationRunner(request, response.getStatus())).start();
+					&& !ClassificationStatus.SAVING_IN_PROGRESS.equals(response.getStatus())) {
+				ClassificationRequest request = classificationJobRegistry.complete(response.getId());
+				if (request != null) {
+					completionExecutor.execute(new ClassificationRunner(request, response.getStatus()));
+				}
 			}
 		} catch (JsonParseException | JsonMappingException e) {
 			logger.error("Failed to parse message. Message: {}.", statusResponseMessage.getText());
@@ -105,7 +138,7 @@ public class SnowstormClassificationClient {
 		request.setProjectKey(projectKey);
 		request.setBranchPath(branchPath);
 		request.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
-		classificationRequests.put(classification.getId(), request);
+		classificationJobRegistry.register(request, callerUsername);
 
 		return classification;
 	}
@@ -123,16 +156,29 @@ public class SnowstormClassificationClient {
 		@Override
 		public void run() {
 			SecurityContextHolder.getContext().setAuthentication(request.getAuthentication());
+			try {
+				reportCompletion();
+			} finally {
+				SecurityContextHolder.clearContext();
+			}
+		}
 
+		private void reportCompletion() {
 			String resultMessage = ClassificationStatus.COMPLETED.equals(status)
 					? "Classification completed successfully"
 					: "Classification failed to complete due to an internal error. Please try again.";
 
-			// Add new comment to project/task
-			try {
-				addCommentLog(resultMessage);
-			} catch (BusinessServiceException e) {
-				logger.error("Failed to add comment log. Error: {}", e.getMessage());
+			// Without the user's credentials the task cannot be read or updated, only the user notified
+			if (request.isRecovered()) {
+				logger.info("Classification {} on {} was started before the last restart, not commenting on or updating the task.",
+						request.getClassificationId(), request.getBranchPath());
+			} else {
+				// Add new comment to project/task
+				try {
+					addCommentLog(resultMessage);
+				} catch (BusinessServiceException e) {
+					logger.error("Failed to add comment log. Error: {}", e.getMessage());
+				}
 			}
 
 			// Clear the cache
@@ -144,7 +190,7 @@ public class SnowstormClassificationClient {
 			notificationService.queueNotification(SecurityUtil.getUsername(), notification);
 
 			// Mark task as IN_REVIEW when inferred relationship changes found
-			if (request.getTaskKey() != null && ClassificationStatus.COMPLETED.equals(status)) {
+			if (request.getTaskKey() != null && ClassificationStatus.COMPLETED.equals(status) && !request.isRecovered()) {
 				processCompletedClassification();
 			}
 		}
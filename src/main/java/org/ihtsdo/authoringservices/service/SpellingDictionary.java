@@ -0,0 +1,109 @@
+package org.ihtsdo.authoringservices.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.ihtsdo.otf.spellcheck.service.SpellCheckService;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Immutable snapshot of the spell check dictionary.
+ * The dictionary index is loaded once and only read afterwards. Words added to or removed from the spelling list since
+ * it was loaded are held alongside it, so that a single word change gives a new snapshot without indexing the list again.
+ * Suggestions for misspelled words are cached, the cache is shared by the snapshots over the same index.
+ */
+final class SpellingDictionary {
+
+	private final SpellCheckService spellCheckService;
+	private final Cache<String, List<String>> suggestionsCache;
+	private final Set<String> addedWords;
+	private final Set<String> deletedWords;
+
+	private SpellingDictionary(SpellCheckService spellCheckService, Cache<String, List<String>> suggestionsCache,
+			Set<String> addedWords, Set<String> deletedWords) {
+		this.spellCheckService = spellCheckService;
+		this.suggestionsCache = suggestionsCache;
+		this.addedWords = addedWords;
+		this.deletedWords = deletedWords;
+	}
+
+	/**
+	 * @param reader the spelling list, or null for an empty dictionary
+	 */
+	static SpellingDictionary load(Reader reader, long suggestionsCacheSize) throws IOException {
+		SpellCheckService spellCheckService = new SpellCheckService();
+		if (reader != null) {
+			spellCheckService.loadDictionary(reader);
+		}
+		return new SpellingDictionary(spellCheckService, CacheBuilder.newBuilder().maximumSize(suggestionsCacheSize).build(),
+				Collections.emptySet(), Collections.emptySet());
+	}
+
+	SpellingDictionary withWordAdded(String word) {
+		String key = word.toLowerCase();
+		return new SpellingDictionary(spellCheckService, suggestionsCache,
+				plus(addedWords, key), minus(deletedWords, key));
+	}
+
+	SpellingDictionary withWordDeleted(String word) {
+		String key = word.toLowerCase();
+		return new SpellingDictionary(spellCheckService, suggestionsCache,
+				minus(addedWords, key), plus(deletedWords, key));
+	}
+
+	/**
+	 * @return the number of words changed since the dictionary index was loaded
+	 */
+	int getPendingChanges() {
+		return addedWords.size() + deletedWords.size();
+	}
+
+	Map<String, List<String>> checkWordsReturnErrorSuggestions(Set<String> words) {
+		Map<String, List<String>> errors = new HashMap<>();
+		Set<String> uncheckedWords = new HashSet<>();
+		for (String word : words) {
+			String key = word.toLowerCase();
+			if (addedWords.contains(key)) {
+				continue;
+			}
+			if (deletedWords.contains(key)) {
+				errors.put(word, Collections.emptyList());
+				continue;
+			}
+			List<String> suggestions = suggestionsCache.getIfPresent(word);
+			if (suggestions != null) {
+				errors.put(word, withoutDeletedWords(suggestions));
+			} else {
+				uncheckedWords.add(word);
+			}
+		}
+		if (!uncheckedWords.isEmpty()) {
+			Map<String, List<String>> indexErrors = spellCheckService.checkWordsReturnErrorSuggestions(uncheckedWords);
+			for (Map.Entry<String, List<String>> indexError : indexErrors.entrySet()) {
+				List<String> suggestions = indexError.getValue() != null ? ImmutableList.copyOf(indexError.getValue()) : Collections.emptyList();
+				suggestionsCache.put(indexError.getKey(), suggestions);
+				errors.put(indexError.getKey(), withoutDeletedWords(suggestions));
+			}
+		}
+		return errors;
+	}
+
+	private List<String> withoutDeletedWords(List<String> suggestions) {
+		if (deletedWords.isEmpty()) {
+			return suggestions;
+		}
+		return suggestions.stream().filter(suggestion -> !deletedWords.contains(suggestion.toLowerCase())).toList();
+	}
+
+	private static Set<String> plus(Set<String> words, String word) {
+		return ImmutableSet.<String>builder().addAll(words).add(word).build();
+	}
+
+	private static Set<String> minus(Set<String> words, String word) {
+		return words.contains(word) ? words.stream().filter(w -> !w.equals(word)).collect(ImmutableSet.toImmutableSet()) : words;
+	}
+}
@@ -4,7 +4,6 @@ import io.awspring.cloud.s3.ObjectMetadata;
 import jakarta.annotation.PostConstruct;
 import org.ihtsdo.authoringservices.service.exceptions.ServiceException;
 import org.ihtsdo.otf.dao.s3.S3ClientImpl;
-import org.ihtsdo.otf.spellcheck.service.SpellCheckService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,6 +17,8 @@ import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 @Service
 public class SpellingListsService {
@@ -25,19 +26,28 @@ public class SpellingListsService {
 	private final S3ClientImpl s3Client;
 	private final String bucket;
 	private final String path;
-	private final SpellCheckService spellCheckService;
+	private final long suggestionsCacheSize;
+	private final int maxPendingChanges;
+	// Spell checks read the current snapshot without locking, changes publish a new one
+	private final AtomicReference<SpellingDictionary> dictionary;
+	// Serialises changes to the list in S3
+	private final Object listUpdateLock = new Object();
     private final boolean awsResourceEnabled;
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     public SpellingListsService(
             @Value("${aws.resources.enabled}") boolean awsResourceEnabled,
 			@Value("${aws.s3.spell-check.bucket}") String bucket,
-			@Value("${aws.s3.spell-check.path}") String path) throws IOException {
+			@Value("${aws.s3.spell-check.path}") String path,
+			@Value("${spelling.suggestions.cache.max-size}") long suggestionsCacheSize,
+			@Value("${spelling.list.max-pending-changes}") int maxPendingChanges) throws IOException {
 
 	    this.s3Client = new S3ClientImpl(S3Client.builder().region(DefaultAwsRegionProviderChain.builder().build().getRegion()).build());
 		this.bucket = bucket;
 		this.path = path;
-		this.spellCheckService = new SpellCheckService();
+		this.suggestionsCacheSize = suggestionsCacheSize;
+		this.maxPendingChanges = maxPendingChanges;
+		this.dictionary = new AtomicReference<>(SpellingDictionary.load(null, suggestionsCacheSize));
         this.awsResourceEnabled = awsResourceEnabled;
     }
 
@@ -45,9 +55,7 @@ public class SpellingListsService {
 	public void loadList() throws ServiceException {
 	    if (awsResourceEnabled) {
             try (InputStream inputStream = getListObject()) {
-                synchronized (spellCheckService) {
-                    doLoadList(inputStream);
-                }
+                doLoadList(inputStream);
             } catch (IOException e) {
                 throw new ServiceException("Failed to load spelling list from S3.", e);
             }
@@ -58,14 +66,12 @@ public class SpellingListsService {
 
 	private void doLoadList(InputStream inputStream) throws IOException {
 		logger.info("Load spelling list");
-		spellCheckService.clearIndex();
-		spellCheckService.loadDictionary(new InputStreamReader(inputStream));
+		// Built aside so that spell checks carry on against the previous dictionary meanwhile
+		dictionary.set(SpellingDictionary.load(new InputStreamReader(inputStream), suggestionsCacheSize));
 	}
 
 	public Map<String, List<String>> checkWordsReturnErrorSuggestions(Set<String> words) {
-		synchronized (spellCheckService) {
-			return spellCheckService.checkWordsReturnErrorSuggestions(words);
-		}
+		return dictionary.get().checkWordsReturnErrorSuggestions(words);
 	}
 
 	public InputStream getListObject() {
@@ -74,15 +80,17 @@ public class SpellingListsService {
 
 	public void replaceList(MultipartFile file) throws IOException, ServiceException {
 		ObjectMetadata objectMetadata = ObjectMetadata.builder().contentDisposition(String.valueOf(file.getSize())).build();
-		try (InputStream inputStream = file.getInputStream()) {
-			s3Client.putObject(bucket, path, inputStream, objectMetadata, file.getSize());
-			loadList();
+		synchronized (listUpdateLock) {
+			try (InputStream inputStream = file.getInputStream()) {
+				s3Client.putObject(bucket, path, inputStream, objectMetadata, file.getSize());
+				loadList();
+			}
 		}
 	}
 
 	public void addWord(String newWord) throws IOException {
 		logger.info("Adding word to spelling list '{}'", newWord);
-		updateList((reader, writer) -> {
+		updateList(dictionary -> dictionary.withWordAdded(newWord), (reader, writer) -> {
 
 			// Write header
 			writer.write(reader.readLine());
@@ -110,7 +118,7 @@ public class SpellingListsService {
 	}
 
 	public boolean deleteWord(String word) throws IOException, ServiceException {
-		return updateList((reader, writer) -> {
+		return updateList(dictionary -> dictionary.withWordDeleted(word), (reader, writer) -> {
 
 			// Write header
 			writer.write(reader.readLine());
@@ -135,7 +143,17 @@ public class SpellingListsService {
 		});
 	}
 
-	private boolean updateList(FileModifier fileModifier) throws IOException {
+	/**
+	 * Applies a change to the list in S3 and to the dictionary.
+	 * The dictionary is only indexed again from the modified list once enough single word changes have built up.
+	 */
+	private boolean updateList(UnaryOperator<SpellingDictionary> dictionaryChange, FileModifier fileModifier) throws IOException {
+		synchronized (listUpdateLock) {
+			return doUpdateList(dictionaryChange, fileModifier);
+		}
+	}
+
+	private boolean doUpdateList(UnaryOperator<SpellingDictionary> dictionaryChange, FileModifier fileModifier) throws IOException {
 		try (InputStream inputStream = getListObject()) {
 			File modifiedList = Files.createTempFile("temp-spelling-list", "txt").toFile();
 			try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
@@ -147,7 +165,14 @@ public class SpellingListsService {
 //					AccessControlList acl = s3Client.getObjectAcl(bucket, path);
 					s3Client.putObject(bucket, path, modifiedList);
 //					s3Client.setObjectAcl(bucket, path, acl);
-					doLoadList(new FileInputStream(modifiedList));
+					SpellingDictionary changedDictionary = dictionaryChange.apply(dictionary.get());
+					if (changedDictionary.getPendingChanges() > maxPendingChanges) {
+						try (InputStream modifiedListStream = new FileInputStream(modifiedList)) {
+							doLoadList(modifiedListStream);
+						}
+					} else {
+						dictionary.set(changedDictionary);
+					}
 				}
 				return changes;
 			} finally {
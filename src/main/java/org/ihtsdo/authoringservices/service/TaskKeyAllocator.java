@@ -0,0 +1,85 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.domain.TaskKeyAllocationStats;
+import org.ihtsdo.authoringservices.entity.Project;
+import org.ihtsdo.authoringservices.entity.TaskSequence;
+import org.ihtsdo.authoringservices.repository.TaskSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out task numbers per project with an atomic increment of the project's task sequence.
+ * Each allocation runs in its own short transaction, so the sequence row is locked only for the increment
+ * and not for the whole task creation. A number is not reused if the task creation fails afterwards.
+ */
+@Service
+public class TaskKeyAllocator {
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final TaskSequenceRepository taskSequenceRepository;
+
+	private final TransactionTemplate allocationTransaction;
+
+	private final LongAdder allocations = new LongAdder();
+	private final LongAdder sequencesCreated = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	public TaskKeyAllocator(TaskSequenceRepository taskSequenceRepository, PlatformTransactionManager transactionManager) {
+		this.taskSequenceRepository = taskSequenceRepository;
+		this.allocationTransaction = new TransactionTemplate(transactionManager);
+		this.allocationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public int nextTaskNumber(Project project) {
+		long start = System.nanoTime();
+		try {
+			Integer taskNumber = allocationTransaction.execute(status -> incrementAndGet(project));
+			return taskNumber != null ? taskNumber : createSequence(project);
+		} finally {
+			long nanos = System.nanoTime() - start;
+			allocations.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulateAndGet(nanos, Math::max);
+		}
+	}
+
+	public TaskKeyAllocationStats getStats() {
+		long count = allocations.sum();
+		long averageNanos = count == 0 ? 0 : totalNanos.sum() / count;
+		return new TaskKeyAllocationStats(count, sequencesCreated.sum(), TimeUnit.NANOSECONDS.toMicros(averageNanos), TimeUnit.NANOSECONDS.toMicros(maxNanos.get()));
+	}
+
+	private Integer incrementAndGet(Project project) {
+		if (taskSequenceRepository.incrementSequence(project) == 0) {
+			return null;
+		}
+		// The row stays locked by the increment until commit so this reads our own value
+		return taskSequenceRepository.findOneByProject(project).getSequence();
+	}
+
+	private int createSequence(Project project) {
+		try {
+			Integer taskNumber = allocationTransaction.execute(status -> taskSequenceRepository.save(new TaskSequence(project, 1)).getSequence());
+			sequencesCreated.increment();
+			return taskNumber != null ? taskNumber : 1;
+		} catch (DataIntegrityViolationException e) {
+			logger.debug("Task sequence of project {} was created by another request, incrementing it instead.", project.getKey());
+			Integer taskNumber = allocationTransaction.execute(status -> incrementAndGet(project));
+			if (taskNumber == null) {
+				throw new IllegalStateException("Task sequence of project " + project.getKey() + " not found after creation", e);
+			}
+			return taskNumber;
+		}
+	}
+}
@@ -31,10 +31,14 @@ public interface TaskService {
 
     List<AuthoringTask> listMyOrUnassignedReviewTasks(List<CodeSystem> codeSystems, String excludePromoted) throws BusinessServiceException;
 
+    AuthoringTaskPage listMyOrUnassignedReviewTasks(List<CodeSystem> codeSystems, String excludePromoted, String cursor, int limit) throws BusinessServiceException;
+
     List<String> listMyTaskProjectKeys(String username) throws BusinessServiceException;
 
     List<AuthoringTask> searchTasks(String criteria, Set<String> projectKeys, Set<String> statuses, String author, Long createdDateFrom, Long createdDateTo, Boolean lightweight) throws BusinessServiceException;
 
+    AuthoringTaskPage searchTasks(String criteria, Set<String> projectKeys, Set<String> statuses, String author, Long createdDateFrom, Long createdDateTo, Boolean lightweight, String cursor, int limit) throws BusinessServiceException;
+
     void addCommentLogErrors(String projectKey, String taskKey, String commentString);
 
     User getUser(String username) throws BusinessServiceException;
@@ -3,6 +3,7 @@ package org.ihtsdo.authoringservices.service;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.apache.http.HttpStatus;
 import org.ihtsdo.authoringservices.domain.User;
 import org.ihtsdo.authoringservices.service.client.IMSClientFactory;
@@ -20,12 +21,17 @@ import org.springframework.web.client.RestClientResponseException;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Service for caching user details to reduce IMS calls.
  * Provides both individual user lookups and batch user loading capabilities.
+ * Concurrent lookups of the same uncached user share a single IMS call.
  */
 @Service
 public class UserCacheService {
@@ -58,6 +64,9 @@ public class UserCacheService {
     @Value("${user.cache.maximum.size:1000}")
     private int cacheMaximumSize;
 
+    @Value("${user.cache.loading.thread-pool-size:8}")
+    private int loadingThreadPoolSize;
+
     private Cache<String, User> userCache;
 
     private Cache<String, List<User>> userGroupCache;
@@ -69,6 +78,11 @@ public class UserCacheService {
     @Value("${user.cache.token.expiry.minutes:60}")
     private int tokenCacheExpiryMinutes;
 
+    /** IMS lookups currently in progress, keyed by username, so that concurrent misses share one call. */
+    private final Map<String, CompletableFuture<User>> inFlightLookups = new ConcurrentHashMap<>();
+
+    private ExecutorService userLoadingExecutor;
+
     @PostConstruct
     public void init() {
         this.userCache = CacheBuilder.newBuilder()
@@ -87,7 +101,9 @@ public class UserCacheService {
                 .expireAfterWrite(tokenCacheExpiryMinutes, TimeUnit.MINUTES)
                 .maximumSize(1)
                 .build();
-        
+
+        this.userLoadingExecutor = Executors.newFixedThreadPool(loadingThreadPoolSize);
+
         logger.info("UserCacheService initialized with {} minute expiry, max size {}",
                 cacheExpiryMinutes, cacheMaximumSize);
     }
@@ -96,6 +112,11 @@ public class UserCacheService {
         this.imsClientFactory = imsClientFactory;
     }
 
+    @PreDestroy
+    public void shutdown() {
+        userLoadingExecutor.shutdown();
+    }
+
     @Scheduled(initialDelay = 1, fixedRateString = "${user.cache.expiry.minutes}", timeUnit = TimeUnit.MINUTES)
     public void preloadUsersForDefaultGroup() throws URISyntaxException, IOException {
         if (imsUsername == null || imsUsername.isEmpty()) {
@@ -130,10 +151,7 @@ public class UserCacheService {
         }
 
         logger.debug("User '{}' not in cache, fetching from IMS", normalizedUsername);
-        User user = fetchUserFromIMS(normalizedUsername);
-        userCache.put(normalizedUsername, user);
-        
-        return user;
+        return lookupUser(normalizedUsername).join();
     }
 
     /**
@@ -167,14 +185,15 @@ public class UserCacheService {
             }
         }
 
-        // Fetch uncached users
+        // Fetch uncached users. IMS has no bulk user endpoint so the lookups are made in parallel.
         if (!uncachedUsernames.isEmpty()) {
             logger.debug("Fetching {} uncached users from IMS: {}", uncachedUsernames.size(), uncachedUsernames);
-            // Individual fetch for each uncached user
+            Map<String, CompletableFuture<User>> lookups = new HashMap<>();
             for (String username : uncachedUsernames) {
-                User user = fetchUserFromIMS(username);
-                result.put(username, user);
-                userCache.put(username, user);
+                lookups.put(username, lookupUser(username));
+            }
+            for (Map.Entry<String, CompletableFuture<User>> entry : lookups.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().join());
             }
         }
 
@@ -266,6 +285,25 @@ public class UserCacheService {
         }
     }
 
+    /**
+     * Returns the in-flight IMS lookup for the given user, starting one if none is running.
+     * The fetched user is cached before the lookup is released.
+     */
+    private CompletableFuture<User> lookupUser(String username) {
+        CompletableFuture<User> lookup = inFlightLookups.computeIfAbsent(username, key -> CompletableFuture.supplyAsync(() -> {
+            // Another lookup may have completed and cached the user since the caller checked
+            User cachedUser = userCache.getIfPresent(key);
+            if (cachedUser != null) {
+                return cachedUser;
+            }
+            User user = fetchUserFromIMS(key);
+            userCache.put(key, user);
+            return user;
+        }, userLoadingExecutor));
+        lookup.whenComplete((user, throwable) -> inFlightLookups.remove(username, lookup));
+        return lookup;
+    }
+
     /**
      * Fetch a single user from IMS
      */
@@ -13,9 +13,11 @@ import org.ihtsdo.otf.rest.client.terminologyserver.SnowstormRestClient;
 import org.ihtsdo.otf.rest.client.terminologyserver.pojo.Branch;
 import org.ihtsdo.otf.rest.exception.ProcessWorkflowException;
 import org.ihtsdo.otf.utils.DateUtils;
-import org.ihtsdo.otf.utils.ZipFileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -34,6 +36,7 @@ import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static org.ihtsdo.otf.rest.client.terminologyserver.SnowstormRestClient.ExportCategory.UNPUBLISHED;
 import static org.ihtsdo.otf.rest.client.terminologyserver.SnowstormRestClient.ExportType.DELTA;
@@ -62,6 +65,11 @@ public class ValidationRunner implements Runnable {
 
     private final String scaQueuePrefix;
 
+    // Runs the export conversion while the converted zip is uploaded, null to convert into a temp file before uploading
+    private final Executor exportConversionExecutor;
+
+    private final int uploadBufferSize;
+
     public ValidationRunner(ValidationConfiguration validationConfig,
                             SnowstormRestClient snowstormRestClient,
                             SRSFileDAO srsDAO,
@@ -70,7 +78,9 @@ public class ValidationRunner implements Runnable {
                             RVFClient rvfClient,
                             String scaQueuePrefix,
                             String username,
-                            String authenticationToken) {
+                            String authenticationToken,
+                            Executor exportConversionExecutor,
+                            int uploadBufferSize) {
         this.config = validationConfig;
         this.snowstormRestClient = snowstormRestClient;
         this.srsDAO = srsDAO;
@@ -80,6 +90,8 @@ public class ValidationRunner implements Runnable {
         this.authenticationToken = authenticationToken;
         this.rvfClient = rvfClient;
         this.scaQueuePrefix = scaQueuePrefix;
+        this.exportConversionExecutor = exportConversionExecutor;
+        this.uploadBufferSize = uploadBufferSize;
     }
 
     @Override
@@ -172,6 +184,47 @@ public class ValidationRunner implements Runnable {
     }
 
     public void validateByRvfDirectly(File exportArchive, String effectiveTime) {
+        if (exportConversionExecutor != null) {
+            try {
+                streamValidationForRF2DeltaExport(exportArchive, effectiveTime);
+                return;
+            } catch (UploadNotSentException e) {
+                logger.warn("Streaming the export of {} to RVF failed, retrying through a temp file.", config.getBranchPath(), e.getCause());
+            } catch (Exception e) {
+                // The export may have reached RVF, sending it again could start a second run
+                logger.error("Validation of {} failed.", config.getBranchPath(), e);
+                this.markValidationAsFailedAndNotifyUser("Failed to send request to RVF. Please check the logs for details");
+                return;
+            }
+        }
+        validateByRvfThroughTempFile(exportArchive, effectiveTime);
+    }
+
+    /**
+     * Uploads the export to RVF as it is converted, without writing the converted zip to disk.
+     * The conversion writes into a pipe of bounded size, so it waits whenever the upload falls behind.
+     *
+     * @throws UploadNotSentException if the conversion failed, or the upload failed before the whole export had been sent
+     */
+    private void streamValidationForRF2DeltaExport(File exportArchive, String effectiveTime) throws IOException, ServiceException, UploadNotSentException {
+        ConversionPipe convertedZip = new ConversionPipe(uploadBufferSize);
+        try {
+            convertedZip.start(exportConversionExecutor,
+                    output -> srsDAO.convertExportWithRF2FileNameFormat(exportArchive, config.getReleaseCenter(), effectiveTime, output));
+            String filename = config.getProductName() + "_" + effectiveTime + ".zip";
+            runValidationForRF2DeltaExport(new InputStreamResource(convertedZip), filename, config, effectiveTime);
+        } catch (ServiceException | RuntimeException e) {
+            if (convertedZip.isConversionFailed() || !convertedZip.isFullyRead()) {
+                throw new UploadNotSentException(e);
+            }
+            throw e;
+        } finally {
+            // Stops the conversion if the upload failed part way through
+            convertedZip.close();
+        }
+    }
+
+    private void validateByRvfThroughTempFile(File exportArchive, String effectiveTime) {
         File tempDir = null;
         File localZipFile = null;
         try {
@@ -200,30 +253,26 @@ public class ValidationRunner implements Runnable {
     }
 
     public void prepareExportFilesForValidation(File exportArchive, ValidationConfiguration config, File localZipFile, String effectiveTime) throws ProcessWorkflowException, IOException {
-        File extractDir = null;
-        try {
-            extractDir = srsDAO.extractAndConvertExportWithRF2FileNameFormat(exportArchive, config.getReleaseCenter(), effectiveTime);
-            ZipFileUtils.zip(extractDir.getAbsolutePath(), localZipFile.getAbsolutePath());
-        } finally {
-            if (extractDir != null) {
-                // Better to delete temp files after use rather than deleteOnExit()
-                FileUtils.deleteDirectory(extractDir);
-            }
-        }
+        srsDAO.convertExportWithRF2FileNameFormat(exportArchive, config.getReleaseCenter(), effectiveTime, localZipFile);
     }
 
     public void runValidationForRF2DeltaExport(File zipFile, ValidationConfiguration config, String effectiveTime) throws IOException, ServiceException {
+        runValidationForRF2DeltaExport(new FileSystemResource(zipFile), zipFile.getName(), config, effectiveTime);
+    }
+
+    private void runValidationForRF2DeltaExport(Resource zip, String filename, ValidationConfiguration config, String effectiveTime) throws ServiceException {
         MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
 
         MultiValueMap<String, String> fileMap = new LinkedMultiValueMap<>();
         ContentDisposition contentDisposition = ContentDisposition
                 .builder("form-data")
                 .name("file")
-                .filename(zipFile.getName())
+                .filename(filename)
                 .build();
         fileMap.add(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString());
         fileMap.add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE);
-        HttpEntity<byte[]> fileEntity = new HttpEntity<>(FileUtils.readFileToByteArray(zipFile), fileMap);
+        // Streamed into the request rather than read into memory
+        HttpEntity<Resource> fileEntity = new HttpEntity<>(zip, fileMap);
 
         body.add("file", fileEntity);
         body.add("rf2DeltaOnly", Boolean.TRUE.toString());
@@ -291,4 +340,11 @@ public class ValidationRunner implements Runnable {
             throw new ServiceException(message + ". Error: " + e.getMessage(), e);
         }
     }
+
+    private static class UploadNotSentException extends Exception {
+
+        UploadNotSentException(Exception cause) {
+            super(cause);
+        }
+    }
 }
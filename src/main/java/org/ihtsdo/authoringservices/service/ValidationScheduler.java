@@ -0,0 +1,178 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+
+/**
+ * Queue of validations waiting to be exported from Snowstorm and sent to RVF.
+ * Only a limited number of validations run at once and interactive validations are started before bulk ones,
+ * which are limited further so that a run over all code systems always leaves room for interactive validations.
+ * A branch is queued at most once, a request for a branch which is already queued joins the queued validation.
+ * A branch queued while its previous validation is still finishing is started once that validation has finished.
+ */
+final class ValidationScheduler<V extends Runnable> {
+
+	enum Priority {
+		INTERACTIVE, BULK
+	}
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Executor executor;
+	private final int maxRunning;
+	private final int maxBulkRunning;
+
+	// Branch path to validation, in the order they were queued
+	private final LinkedHashMap<String, V> interactiveQueue = new LinkedHashMap<>();
+	private final LinkedHashMap<String, V> bulkQueue = new LinkedHashMap<>();
+	private final Map<String, Priority> running = new HashMap<>();
+	private int bulkRunning;
+
+	/**
+	 * @param executor runs the validations, it must be able to run maxRunning of them at once
+	 */
+	ValidationScheduler(Executor executor, int maxRunning, int maxBulkRunning) {
+		if (maxRunning < 1 || maxBulkRunning < 1) {
+			throw new IllegalArgumentException("At least one validation must be allowed to run.");
+		}
+		this.executor = executor;
+		this.maxRunning = maxRunning;
+		this.maxBulkRunning = Math.min(maxBulkRunning, maxRunning);
+	}
+
+	/**
+	 * Queues the validation of a branch which is not queued.
+	 *
+	 * @return the position of the validation in the queue, or 0 if it has been started
+	 */
+	synchronized int schedule(String branchPath, Priority priority, V validation) {
+		if (isQueued(branchPath)) {
+			throw new IllegalStateException("Validation of " + branchPath + " is already scheduled.");
+		}
+		queue(priority).put(branchPath, validation);
+		dispatch();
+		return getQueuePositionOrZero(branchPath);
+	}
+
+	/**
+	 * Joins a request to the validation already queued for the branch, if there is one and it accepts the request.
+	 * The queued validation is moved up to the given priority if that is higher.
+	 *
+	 * @param accept merges the request into the queued validation, returns false if the request can not be merged.
+	 *               It is called while the validation can not be started.
+	 * @return the position of the queued validation, or null if the branch is not queued or the request was not accepted
+	 */
+	synchronized Integer join(String branchPath, Priority priority, Predicate<V> accept) {
+		V queued = interactiveQueue.containsKey(branchPath) ? interactiveQueue.get(branchPath) : bulkQueue.get(branchPath);
+		if (queued == null || !accept.test(queued)) {
+			return null;
+		}
+		if (priority == Priority.INTERACTIVE && bulkQueue.containsKey(branchPath)) {
+			interactiveQueue.put(branchPath, bulkQueue.remove(branchPath));
+		}
+		return getQueuePositionOrZero(branchPath);
+	}
+
+	synchronized boolean isRunning(String branchPath) {
+		return running.containsKey(branchPath);
+	}
+
+	/**
+	 * @return the 1-based position of the branch in the queue, or null if it is not queued
+	 */
+	synchronized Integer getQueuePosition(String branchPath) {
+		return isQueued(branchPath) ? getQueuePositionOrZero(branchPath) : null;
+	}
+
+	private boolean isQueued(String branchPath) {
+		return interactiveQueue.containsKey(branchPath) || bulkQueue.containsKey(branchPath);
+	}
+
+	private int getQueuePositionOrZero(String branchPath) {
+		int position = indexOf(interactiveQueue, branchPath);
+		if (position >= 0) {
+			return position + 1;
+		}
+		position = indexOf(bulkQueue, branchPath);
+		return position >= 0 ? interactiveQueue.size() + position + 1 : 0;
+	}
+
+	private static int indexOf(LinkedHashMap<String, ?> queue, String branchPath) {
+		if (!queue.containsKey(branchPath)) {
+			return -1;
+		}
+		int index = 0;
+		for (String queuedBranchPath : queue.keySet()) {
+			if (queuedBranchPath.equals(branchPath)) {
+				break;
+			}
+			index++;
+		}
+		return index;
+	}
+
+	private LinkedHashMap<String, V> queue(Priority priority) {
+		return priority == Priority.INTERACTIVE ? interactiveQueue : bulkQueue;
+	}
+
+	private void dispatch() {
+		while (running.size() < maxRunning) {
+			Priority priority = Priority.INTERACTIVE;
+			String branchPath = nextStartable(interactiveQueue);
+			if (branchPath == null && bulkRunning < maxBulkRunning) {
+				priority = Priority.BULK;
+				branchPath = nextStartable(bulkQueue);
+			}
+			if (branchPath == null) {
+				return;
+			}
+			start(branchPath, priority, queue(priority).remove(branchPath));
+		}
+	}
+
+	private String nextStartable(LinkedHashMap<String, V> queue) {
+		for (String branchPath : queue.keySet()) {
+			// Waits for the previous validation of the branch to finish
+			if (!running.containsKey(branchPath)) {
+				return branchPath;
+			}
+		}
+		return null;
+	}
+
+	private void start(String branchPath, Priority priority, V validation) {
+		running.put(branchPath, priority);
+		if (priority == Priority.BULK) {
+			bulkRunning++;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					validation.run();
+				} finally {
+					finished(branchPath);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Only happens on shutdown
+			logger.error("Failed to start validation of {}.", branchPath, e);
+			release(branchPath);
+		}
+	}
+
+	private synchronized void finished(String branchPath) {
+		release(branchPath);
+		dispatch();
+	}
+
+	private void release(String branchPath) {
+		if (running.remove(branchPath) == Priority.BULK) {
+			bulkRunning--;
+		}
+	}
+}
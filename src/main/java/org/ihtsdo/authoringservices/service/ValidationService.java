@@ -5,7 +5,9 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Striped;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import net.sf.json.JSONObject;
 import org.apache.commons.io.FileUtils;
 import org.ihtsdo.authoringservices.domain.*;
@@ -28,6 +30,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import software.amazon.awssdk.regions.providers.DefaultAwsRegionProviderChain;
@@ -39,6 +43,9 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -101,6 +108,18 @@ public class ValidationService {
 	@Value("${sca.jms.queue.prefix}")
 	private String scaQueuePrefix;
 
+	@Value("${validation.start.thread-pool-size}")
+	private int validationStartThreadPoolSize;
+
+	@Value("${validation.bulk.max-running}")
+	private int validationBulkMaxRunning;
+
+	@Value("${validation.rvf.upload.streaming-enabled}")
+	private boolean rvfUploadStreamingEnabled;
+
+	@Value("${validation.rvf.upload.buffer-size-kb}")
+	private int rvfUploadBufferSizeKb;
+
 	@Autowired
 	private BranchService branchService;
 
@@ -110,6 +129,9 @@ public class ValidationService {
 	@Autowired
 	private ValidationRepository validationRepository;
 
+	@Autowired
+	private ValidationStatusStore validationStatusStore;
+
 	@Autowired
 	private SnowstormRestClientFactory snowstormRestClientFactory;
 
@@ -131,8 +153,21 @@ public class ValidationService {
 
 	private Set<String> technicalItems;
 
+	// Validation starts only exclude each other when they are for the same branch
+	private final Striped<Lock> validationStartLocks = Striped.lock(64);
+
+	private ExecutorService validationStartExecutor;
+
+	private ValidationScheduler<QueuedValidation> validationScheduler;
+
+	// Converts exports while they are streamed to RVF, one per validation being started
+	private ExecutorService validationExportExecutor;
+
 	@PostConstruct
 	public void init() {
+		validationStartExecutor = Executors.newFixedThreadPool(validationStartThreadPoolSize);
+		validationExportExecutor = Executors.newFixedThreadPool(validationStartThreadPoolSize);
+		validationScheduler = new ValidationScheduler<>(validationStartExecutor, validationStartThreadPoolSize, validationBulkMaxRunning);
 		validationLoadingCache = CacheBuilder.newBuilder()
 				.maximumSize(10000)
 				.build(
@@ -168,6 +203,12 @@ public class ValidationService {
 		}
 	}
 
+	@PreDestroy
+	public void shutdown() {
+		validationStartExecutor.shutdown();
+		validationExportExecutor.shutdown();
+	}
+
 	private void fetchTechnicalAssertions() {
 		S3ClientImpl s3Client = new S3ClientImpl(S3Client.builder().region(DefaultAwsRegionProviderChain.builder().build().getRegion()).build());
 		if (s3Client.exists(this.bucket, this.techinicalIssueItemsPath)) {
@@ -187,7 +228,7 @@ public class ValidationService {
 		// Check cache first to get the most recent in-memory state, then fall back to database
 		Validation validation = validationLoadingCache.getIfPresent(branchPath);
 		if (validation == null) {
-			validation = validationRepository.findByBranchPath(branchPath);
+			validation = validationStatusStore.findByBranchPath(branchPath);
 		}
 		if (validation == null) {
 			validation = new Validation(branchPath);
@@ -223,7 +264,8 @@ public class ValidationService {
 			validation.setEndTimestamp(asLongOrNull(newPropertyValues.get(VALIDATION_END_TIMESTAMP)));
 		}
 
-		validation = validationRepository.save(validation);
+		// Written behind, so bursts of changes to the same branch are coalesced into one row write
+		validationStatusStore.save(validation);
 		validationLoadingCache.put(branchPath, validation);
 	}
 
@@ -240,26 +282,53 @@ public class ValidationService {
                 logger.error("Unable to set effective date for MAIN validation, unrecognised: " + potentialEffectiveDate, e);
             }
         }
-        return doStartValidation(PathHelper.getMainPath(),null,null, effectiveDate,false);
+        return doStartValidation(PathHelper.getMainPath(),null,null, effectiveDate,false, ValidationScheduler.Priority.INTERACTIVE);
     }
 
 	public Status startValidation(String branch, boolean enableMRCMValidation) throws BusinessServiceException {
-		return doStartValidation(branch, null, null, null, enableMRCMValidation);
+		return doStartValidation(branch, null, null, null, enableMRCMValidation, ValidationScheduler.Priority.INTERACTIVE);
+	}
+
+	/**
+	 * Starts validation as part of a run over many branches, which waits for any validations requested by users.
+	 */
+	public Status startBulkValidation(String branch, boolean enableMRCMValidation) throws BusinessServiceException {
+		return doStartValidation(branch, null, null, null, enableMRCMValidation, ValidationScheduler.Priority.BULK);
 	}
 
 	public Status startValidation(String projectKey, String taskKey, boolean enableMRCMValidation) throws BusinessServiceException {
 		String branchPath = taskKey != null ? branchService.getTaskBranchPathUsingCache(projectKey, taskKey) : branchService.getProjectBranchPathUsingCache(projectKey);
-	    return doStartValidation(branchPath, projectKey, taskKey, null, enableMRCMValidation);
+	    return doStartValidation(branchPath, projectKey, taskKey, null, enableMRCMValidation, ValidationScheduler.Priority.INTERACTIVE);
 	}
 
-	private synchronized Status doStartValidation(String branchPath, String projectKey, String taskKey, String effectiveDate, boolean enableMRCMValidation) throws BusinessServiceException {
+	/**
+	 * Marks the branch as scheduled for validation and returns straight away,
+	 * the branch metadata is read and the export is prepared once the validation scheduler starts it.
+	 * A request for a branch which is already queued, or which is being validated at its current head, joins that validation.
+	 * A queued validation takes on the project and task keys and effective date of a request which joins it where it has none
+	 * and runs the MRCM validation if any of its requests asked for it. A request with a different key or effective date is rejected.
+	 */
+	private Status doStartValidation(String branchPath, String projectKey, String taskKey, String effectiveDate, boolean enableMRCMValidation,
+			ValidationScheduler.Priority priority) throws BusinessServiceException {
+		final String username = SecurityUtil.getUsername();
+		final String authToken = SecurityUtil.getAuthenticationToken();
+		final SecurityContext securityContext = SecurityContextHolder.getContext();
+		Lock lock = validationStartLocks.get(branchPath);
+		lock.lock();
 		try {
-			final String username = SecurityUtil.getUsername();
-		    final String authToken = SecurityUtil.getAuthenticationToken();
-			final Map<String, Object> branchMetadata = branchService.getBranchMetadataIncludeInherited(branchPath);
-			ValidationConfiguration validationConfig = constructValidationConfig(branchPath, branchMetadata, effectiveDate, enableMRCMValidation, projectKey, taskKey);
+			Integer queuePosition = validationScheduler.join(branchPath, priority,
+					queued -> queued.merge(projectKey, taskKey, effectiveDate, enableMRCMValidation));
+			if (queuePosition != null) {
+				return new Status(ValidationJobStatus.SCHEDULED.name(), queuePosition);
+			}
+			if (validationScheduler.getQueuePosition(branchPath) != null) {
+				throw new EntityAlreadyExistsException("A validation with a different project, task or effective date is already scheduled for " + branchPath);
+			}
 			Validation validation = getValidation(branchPath);
 			if (validation.getStatus() != null && !ValidationJobStatus.isAllowedTriggeringState(validation.getStatus())) {
+				if (isRunningAtBranchHead(branchPath, validation)) {
+					return new Status(validation.getStatus());
+				}
 				throw new EntityAlreadyExistsException("An in-progress validation has been detected for " + branchPath + " at state " + validation.getStatus());
 			}
 			Map<String, String> newPropertyValues = new HashMap<>();
@@ -271,6 +340,8 @@ public class ValidationService {
 			newPropertyValues.put(VALIDATION_END_TIMESTAMP, null);
 			newPropertyValues.put(REPORT_URL, null);
 			newPropertyValues.put(RUN_ID, null);
+			// Recorded again once the branch has been exported
+			newPropertyValues.put(CONTENT_HEAD_TIMESTAMP, null);
 
 			updateValidationCache(branchPath, newPropertyValues);
 
@@ -283,12 +354,109 @@ public class ValidationService {
 			notification.setBranchPath(branchPath);
 			notificationService.queueNotification(username, notification);
 
-			// Pass the proxied bean to ensure @Transactional on updateValidationCache is applied
-			new Thread(new ValidationRunner(validationConfig, snowstormRestClientFactory.getClient(), srsDAO, selfProxy, notificationService, rvfClientFactory.getClient(), scaQueuePrefix, username, authToken)).start();
-
-			return new Status(ValidationJobStatus.SCHEDULED.name());
-		} catch (ServiceException | ExecutionException e) {
+			// The previous validation of the branch may have failed but not have finished running yet, this one then waits for it
+			queuePosition = validationScheduler.schedule(branchPath, priority,
+					new QueuedValidation(branchPath, projectKey, taskKey, effectiveDate, enableMRCMValidation, username, authToken, securityContext));
+			return new Status(ValidationJobStatus.SCHEDULED.name(), queuePosition > 0 ? queuePosition : null);
+		} catch (ExecutionException e) {
 			throw new BusinessServiceException("Failed to read branch information, validation request not sent.", e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return true if this instance is validating the branch and the content being validated is the current head of the branch
+	 */
+	private boolean isRunningAtBranchHead(String branchPath, Validation validation) {
+		if (!validationScheduler.isRunning(branchPath)) {
+			return false;
+		}
+		// Not exported yet, the current head will be validated
+		if (validation.getContentHeadTimestamp() == null) {
+			return true;
+		}
+		try {
+			Branch branch = branchService.getBranchOrNull(branchPath);
+			return branch != null && validation.getContentHeadTimestamp().equals(branch.getHeadTimestamp());
+		} catch (ServiceException e) {
+			logger.warn("Failed to read the head of {}.", branchPath, e);
+			return false;
+		}
+	}
+
+	private void runValidation(String branchPath, String projectKey, String taskKey, String effectiveDate, boolean enableMRCMValidation, String username, String authToken) {
+		ValidationConfiguration validationConfig;
+		try {
+			final Map<String, Object> branchMetadata = branchService.getBranchMetadataIncludeInherited(branchPath);
+			validationConfig = constructValidationConfig(branchPath, branchMetadata, effectiveDate, enableMRCMValidation, projectKey, taskKey);
+		} catch (ServiceException | RuntimeException e) {
+			logger.error("Failed to read branch information for validation of {}.", branchPath, e);
+			Map<String, String> newPropertyValues = new HashMap<>();
+			newPropertyValues.put(VALIDATION_STATUS, ValidationJobStatus.FAILED.name());
+			newPropertyValues.put(FAILURE_MESSAGES, "Failed to read branch information, validation request not sent.");
+			selfProxy.updateValidationCache(branchPath, newPropertyValues);
+			Notification notification = new Notification(projectKey, taskKey, EntityType.Validation, ValidationJobStatus.FAILED.name());
+			notification.setBranchPath(branchPath);
+			notificationService.queueNotification(username, notification);
+			return;
+		}
+		// Pass the proxied bean to ensure @Transactional on updateValidationCache is applied
+		new ValidationRunner(validationConfig, snowstormRestClientFactory.getClient(), srsDAO, selfProxy, notificationService, rvfClientFactory.getClient(), scaQueuePrefix, username, authToken,
+				rvfUploadStreamingEnabled ? validationExportExecutor : null, rvfUploadBufferSizeKb * 1024).run();
+	}
+
+	/**
+	 * Validation waiting in the scheduler queue, the requests which join it are merged into it until it starts.
+	 */
+	private final class QueuedValidation implements Runnable {
+		private final String branchPath;
+		private final String username;
+		private final String authToken;
+		private final SecurityContext securityContext;
+		private String projectKey;
+		private String taskKey;
+		private String effectiveDate;
+		private boolean enableMRCMValidation;
+
+		private QueuedValidation(String branchPath, String projectKey, String taskKey, String effectiveDate, boolean enableMRCMValidation,
+				String username, String authToken, SecurityContext securityContext) {
+			this.branchPath = branchPath;
+			this.projectKey = projectKey;
+			this.taskKey = taskKey;
+			this.effectiveDate = effectiveDate;
+			this.enableMRCMValidation = enableMRCMValidation;
+			this.username = username;
+			this.authToken = authToken;
+			this.securityContext = securityContext;
+		}
+
+		/**
+		 * @return false if the request has a different project, task or effective date
+		 */
+		private boolean merge(String projectKey, String taskKey, String effectiveDate, boolean enableMRCMValidation) {
+			if (differs(this.projectKey, projectKey) || differs(this.taskKey, taskKey) || differs(this.effectiveDate, effectiveDate)) {
+				return false;
+			}
+			this.projectKey = this.projectKey != null ? this.projectKey : projectKey;
+			this.taskKey = this.taskKey != null ? this.taskKey : taskKey;
+			this.effectiveDate = this.effectiveDate != null ? this.effectiveDate : effectiveDate;
+			this.enableMRCMValidation |= enableMRCMValidation;
+			return true;
+		}
+
+		private boolean differs(String queued, String requested) {
+			return queued != null && requested != null && !queued.equals(requested);
+		}
+
+		@Override
+		public void run() {
+			SecurityContextHolder.setContext(securityContext);
+			try {
+				runValidation(branchPath, projectKey, taskKey, effectiveDate, enableMRCMValidation, username, authToken);
+			} finally {
+				SecurityContextHolder.clearContext();
+			}
 		}
 	}
 
@@ -556,15 +724,26 @@ public class ValidationService {
 		return semanticTags;
 	}
 
+	public Validation getValidationByRunId(Long runId) {
+		return validationStatusStore.findByRunId(runId);
+	}
+
 	private Map<String, Validation> getValidationStatusesWithoutCache(List<String> paths) {
 		List<Validation> validations = validationRepository.findAllByBranchPathIn(paths);
 		Map<String, Validation> branchToValidationMap = validations.stream().collect(Collectors.toMap(Validation::getBranchPath, Function.identity()));
+		for (String path : paths) {
+			// Statuses not yet written are newer than the database
+			Validation pending = validationStatusStore.getPending(path);
+			if (pending != null) {
+				branchToValidationMap.put(path, pending);
+			}
+		}
         for (String path : paths) {
 			branchToValidationMap.computeIfAbsent(path, k -> {
 				Validation validation = new Validation(path);
 				validation.setStatus(ValidationJobStatus.NOT_TRIGGERED.name());
-				validation = validationRepository.save(validation);
-				return validation;
+				// Written through the store, so it cannot be saved alongside a status for the branch which is still pending
+				return validationStatusStore.saveIfAbsent(validation);
 			});
         }
 
@@ -9,7 +9,6 @@ import org.ihtsdo.authoringservices.domain.EntityType;
 import org.ihtsdo.authoringservices.domain.Notification;
 import org.ihtsdo.authoringservices.domain.ValidationJobStatus;
 import org.ihtsdo.authoringservices.entity.Validation;
-import org.ihtsdo.authoringservices.repository.ValidationRepository;
 import org.ihtsdo.authoringservices.service.client.AuthoringAcceptanceGatewayClient;
 import org.ihtsdo.authoringservices.service.client.RVFClientFactory;
 import org.ihtsdo.otf.jms.MessagingHelper;
@@ -38,9 +37,6 @@ public class ValidationStatusListener {
 	@Autowired
 	private AuthoringAcceptanceGatewayClient aagClient;
 
-	@Autowired
-	private ValidationRepository validationRepository;
-
 	@Autowired
 	private RVFClientFactory rvfClientFactory;
 
@@ -60,7 +56,7 @@ public class ValidationStatusListener {
 			final Map <String, Object> message = objectMapper.readValue(textMessage.getText(), Map.class);
 
 			final Long runId = (Long) message.get("runId");
-			Validation validation = validationRepository.findByRunId(runId);
+			Validation validation = validationService.getValidationByRunId(runId);
 			if (validation == null) {
 				logger.error("Error while retrieving validation for run Id {}", runId);
 				return;
@@ -0,0 +1,156 @@
+package org.ihtsdo.authoringservices.service;
+
+import jakarta.annotation.PreDestroy;
+import org.ihtsdo.authoringservices.entity.Validation;
+import org.ihtsdo.authoringservices.repository.ValidationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind store for validation statuses.
+ * Changes are held per branch path, so several status changes for the same branch between flushes become a single row write,
+ * and are saved in batches on a short interval and when the application shuts down.
+ */
+@Service
+public class ValidationStatusStore {
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final ValidationRepository validationRepository;
+
+	private final Map<String, Validation> pendingWrites = new ConcurrentHashMap<>();
+
+	// Number of times the pending change to a branch has failed to save
+	private final Map<String, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+	@Value("${validation.status.flush.batch-size}")
+	private int batchSize;
+
+	@Value("${validation.status.flush.max-attempts}")
+	private int maxAttempts;
+
+	public ValidationStatusStore(@Autowired ValidationRepository validationRepository) {
+		this.validationRepository = validationRepository;
+	}
+
+	public void save(Validation validation) {
+		pendingWrites.put(validation.getBranchPath(), validation);
+		failedAttempts.remove(validation.getBranchPath());
+	}
+
+	/**
+	 * Saves a new validation unless a change to the branch is already waiting to be written.
+	 *
+	 * @return the validation which will be written for the branch
+	 */
+	public Validation saveIfAbsent(Validation validation) {
+		Validation pending = pendingWrites.putIfAbsent(validation.getBranchPath(), validation);
+		return pending != null ? pending : validation;
+	}
+
+	public Validation getPending(String branchPath) {
+		return pendingWrites.get(branchPath);
+	}
+
+	public Validation findByBranchPath(String branchPath) {
+		Validation validation = pendingWrites.get(branchPath);
+		return validation != null ? validation : validationRepository.findByBranchPath(branchPath);
+	}
+
+	public Validation findByRunId(Long runId) {
+		for (Validation validation : pendingWrites.values()) {
+			if (runId != null && runId.equals(validation.getRunId())) {
+				return validation;
+			}
+		}
+		return validationRepository.findByRunId(runId);
+	}
+
+	@Scheduled(initialDelayString = "${validation.status.flush.interval-millis}", fixedDelayString = "${validation.status.flush.interval-millis}")
+	public synchronized void flush() {
+		if (pendingWrites.isEmpty()) {
+			return;
+		}
+		List<Validation> batch = new ArrayList<>();
+		for (String branchPath : new ArrayList<>(pendingWrites.keySet())) {
+			Validation validation = pendingWrites.remove(branchPath);
+			if (validation != null) {
+				batch.add(validation);
+			}
+			if (batch.size() == batchSize) {
+				saveBatch(batch);
+				batch = new ArrayList<>();
+			}
+		}
+		if (!batch.isEmpty()) {
+			saveBatch(batch);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+
+	private void saveBatch(List<Validation> batch) {
+		try {
+			useExistingRows(batch);
+			validationRepository.saveAll(batch);
+			logger.debug("Saved {} validation statuses", batch.size());
+		} catch (Exception e) {
+			// The batch is saved in one transaction, so one bad row fails the rest of the batch with it
+			logger.warn("Failed to save {} validation statuses together, saving them one at a time", batch.size(), e);
+			for (Validation validation : batch) {
+				saveOne(validation);
+			}
+			return;
+		}
+		for (Validation validation : batch) {
+			failedAttempts.remove(validation.getBranchPath());
+		}
+	}
+
+	private void saveOne(Validation validation) {
+		String branchPath = validation.getBranchPath();
+		try {
+			validationRepository.save(validation);
+			failedAttempts.remove(branchPath);
+		} catch (Exception e) {
+			int attempts = failedAttempts.merge(branchPath, 1, Integer::sum);
+			if (attempts >= maxAttempts) {
+				logger.error("Failed to save validation status of {} after {} attempts, dropping status {}", branchPath, attempts, validation.getStatus(), e);
+				failedAttempts.remove(branchPath);
+				return;
+			}
+			logger.error("Failed to save validation status of {}, it will be retried on the next flush", branchPath, e);
+			// Anything changed again since it was taken from the queue is newer, so is kept in preference
+			pendingWrites.putIfAbsent(branchPath, validation);
+		}
+	}
+
+	/**
+	 * Gives new validations the id of any row already saved for their branch, so that they update it rather than add a second row.
+	 */
+	private void useExistingRows(List<Validation> batch) {
+		List<String> newBranchPaths = batch.stream().filter(validation -> validation.getId() == 0).map(Validation::getBranchPath).toList();
+		if (newBranchPaths.isEmpty()) {
+			return;
+		}
+		Map<String, Long> existingIds = validationRepository.findAllByBranchPathIn(newBranchPaths).stream()
+				.collect(Collectors.toMap(Validation::getBranchPath, Validation::getId, (a, b) -> a));
+		for (Validation validation : batch) {
+			Long existingId = existingIds.get(validation.getBranchPath());
+			if (validation.getId() == 0 && existingId != null) {
+				validation.setId(existingId);
+			}
+		}
+	}
+}
@@ -27,8 +27,12 @@ public class RVFClient {
         restTemplate = getNewRestTemplate();
         addInterceptorToRestTemplate(restTemplate, getHeadersForContentType(null, authToken));
 
-        multiPartContentTypeRestTemplate = getNewRestTemplate();
-        addInterceptorToRestTemplate(multiPartContentTypeRestTemplate, getHeadersForContentType(MediaType.MULTIPART_FORM_DATA, authToken));
+        // Headers are added without an interceptor, which would hold the whole request body in memory,
+        // so that uploads are streamed. The multipart content type is set when the body is written.
+        multiPartContentTypeRestTemplate = new RestTemplateBuilder()
+                .errorHandler(new ExpressiveErrorHandler())
+                .defaultHeader("Cookie", authToken)
+                .build();
     }
 
     public URI triggerValidation(MultiValueMap<String, Object> requestBody) throws RestClientException {
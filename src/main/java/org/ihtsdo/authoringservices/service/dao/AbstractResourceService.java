@@ -29,13 +29,21 @@ public abstract class AbstractResourceService implements ResourceService {
 	 *                              {@link ResourceManager} to use.
 	 */
 	public AbstractResourceService(final ResourceConfiguration resourceConfiguration) {
+		this.resourceManager = createResourceManager(resourceConfiguration);
+	}
+
+	/**
+	 * Creates a {@link ResourceManager} reading from the local file system
+	 * or from S3, depending on the {@link ResourceConfiguration}.
+	 */
+	static ResourceManager createResourceManager(final ResourceConfiguration resourceConfiguration) {
         SimpleStorageResourceLoader cloudResourceLoader = null;
         if (resourceConfiguration.isUseCloud()) {
             cloudResourceLoader = new SimpleStorageResourceLoader(S3Client.builder()
 					.region(DefaultAwsRegionProviderChain.builder().build().getRegion()).build());
 			cloudResourceLoader.setTaskExecutor(new SimpleAsyncTaskExecutor("cloud-resource-loader"));
         }
-		this.resourceManager = new ResourceManager(resourceConfiguration, cloudResourceLoader);
+		return new ResourceManager(resourceConfiguration, cloudResourceLoader);
 	}
 
 	@Override
@@ -0,0 +1,53 @@
+package org.ihtsdo.authoringservices.service.dao;
+
+import org.ihtsdo.authoringservices.configuration.RMPAttachmentStorageConfiguration;
+import org.ihtsdo.authoringservices.service.exceptions.PathNotProvidedException;
+import org.ihtsdo.otf.resourcemanager.ResourceManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+
+/**
+ * Stores the content of RMP task attachments on the local file system or in S3,
+ * streaming it in and out rather than holding whole files in memory.
+ */
+@Service
+public class RMPAttachmentResourceService {
+
+	private final ResourceManager resourceManager;
+
+	public RMPAttachmentResourceService(@Autowired final RMPAttachmentStorageConfiguration storageConfiguration) {
+		this.resourceManager = AbstractResourceService.createResourceManager(storageConfiguration);
+	}
+
+	public void write(final String path, final InputStream content) throws IOException {
+		if (path == null) {
+			throw new PathNotProvidedException("Attachment path is null while trying to write the attachment.");
+		}
+		resourceManager.writeResource(path, content);
+	}
+
+	/**
+	 * Opens the attachment content, the caller is responsible for closing the stream.
+	 */
+	public InputStream read(final String path) throws IOException {
+		if (path == null) {
+			throw new PathNotProvidedException("Attachment path is null while trying to read the attachment.");
+		}
+		InputStream inputStream = resourceManager.readResourceStreamOrNullIfNotExists(path);
+		if (inputStream == null) {
+			throw new NoSuchFileException(String.format("Attachment %s does not exist.", path));
+		}
+		return inputStream;
+	}
+
+	public void delete(final String path) throws IOException {
+		if (path == null) {
+			throw new PathNotProvidedException("Attachment path is null while trying to delete the attachment.");
+		}
+		resourceManager.deleteResource(path);
+	}
+}
@@ -1,25 +1,20 @@
 package org.ihtsdo.authoringservices.service.dao;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang.CharEncoding;
-import org.apache.commons.lang.StringUtils;
 import org.ihtsdo.otf.rest.exception.ProcessWorkflowException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.util.Assert;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 @Service
 public class SRSFileDAO {
@@ -82,66 +77,100 @@ public class SRSFileDAO {
 		ACCEPTABLE_SIMPLEMAP_VALUES.add(ICDO_REFSET_ID);
 	}
 
-	public File extractAndConvertExportWithRF2FileNameFormat(File archive, String releaseCenter, String releaseDate) throws ProcessWorkflowException, IOException {
-		// We're going to create release files in a temp directory
-		File extractDir = Files.createTempDirectory("extract-temp").toFile();
-		unzipFlat(archive, extractDir);
-		logger.debug("Unzipped files to {}", extractDir.getAbsolutePath());
-		
-		String countryNamespace = getCountryOrNamespace(extractDir);
-		logger.debug("Country or namespace found from file name:{}", countryNamespace);
-		if (countryNamespace == null) {
-			countryNamespace = "INT";
-		}
+	/**
+	 * Converts a Snowstorm export into a zip of RF2 release files in a single pass.
+	 * Each entry is streamed line by line from the export straight into the output zip,
+	 * renamed to the release file name, merged into its combined refset, and with unpublished effective dates replaced.
+	 * Text definitions are split out of the description file if the export does not contain them.
+	 */
+	public void convertExportWithRF2FileNameFormat(File archive, String releaseCenter, String releaseDate, File outputZip) throws ProcessWorkflowException, IOException {
+		convertExportWithRF2FileNameFormat(archive, releaseCenter, releaseDate, new FileOutputStream(outputZip));
+	}
 
-		renameDKTranslatedConceptsRefsetFile(extractDir, releaseDate);
+	/**
+	 * Converts a Snowstorm export as above, writing the zip to the given stream, which is closed once the zip is complete.
+	 */
+	public void convertExportWithRF2FileNameFormat(File archive, String releaseCenter, String releaseDate, OutputStream output) throws ProcessWorkflowException, IOException {
+		try (OutputStream outputStream = output; ZipFile exportZip = new ZipFile(archive)) {
+			// Entries are flattened, the last of any with the same file name wins
+			Map<String, ZipEntry> exportEntries = new LinkedHashMap<>();
+			Enumeration<? extends ZipEntry> entries = exportZip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (!entry.isDirectory()) {
+					exportEntries.put(Paths.get(entry.getName()).getFileName().toString(), entry);
+				}
+			}
 
-		// Ensure all files have the correct release date
-		enforceReleaseDate(extractDir, releaseDate);
-		// suppress files that no longer to be released.
-		suppressFilesNotRequired(FILE_NAMES_TO_BE_EXCLUDED, extractDir);
-		// exclude files for extension release
-		if (!INTERNATIONAL.equalsIgnoreCase(releaseCenter)){
-			suppressFilesNotRequired(EXTENSION_EXCLUDED_FILES, extractDir);
-		}
+			String countryNamespace = getCountryOrNamespace(exportEntries.keySet());
+			logger.debug("Country or namespace found from file name:{}", countryNamespace);
+			if (countryNamespace == null) {
+				countryNamespace = "INT";
+			}
 
-		// Merge the refsets into the expected files and replace any "unpublished" dates
-		// with today's date
-		mergeRefsets(extractDir, DELTA,countryNamespace, releaseDate);
-		replaceInFiles(extractDir, UNKNOWN_EFFECTIVE_DATE, releaseDate, EFFECTIVE_DATE_COLUMN);
-
-		// The description file is currently named sct2_Description_${extractType}-en-gb_INT_<date>.txt
-		// and we need it to be sct2_Description_${extractType}-en_INT_<date>.txt
-		File descriptionFileWrongName = new File(extractDir, "sct2_Description_Delta-en-gb_INT_" + releaseDate + TXT);
-		File descriptionFileRightName = new File(extractDir, "sct2_Description_Delta-en_INT_" + releaseDate + TXT);
-		if (descriptionFileWrongName.exists()) {
-			descriptionFileWrongName.renameTo(descriptionFileRightName);
-		} else {
-			logger.warn("Was not able to find {} to correct the name", descriptionFileWrongName);
-		}
+			Map<String, ZipEntry> releaseFiles = new LinkedHashMap<>();
+			for (Map.Entry<String, ZipEntry> exportEntry : exportEntries.entrySet()) {
+				releaseFiles.put(getReleaseFileName(exportEntry.getKey(), releaseDate), exportEntry.getValue());
+			}
 
-		// Check if there is text definition exported or not. If We don't have a Text Definition file, so create that by extracting rows with TypeId 900000000000550004
-		// from sct2_Description_Delta-en_INT_<date>.txt to form sct2_TextDefinition_Delta-en_INT_<date>.txt
-		File description = new File(extractDir, "sct2_Description_Delta-en_INT_" + releaseDate + TXT);
-		File definition = new File(extractDir, "sct2_TextDefinition_Delta-en_INT_" + releaseDate + TXT);
-		if (!definition.exists()) {
-			logger.info("No text definition file is being exported therefore it will try to extract data from the description file for type id 900000000000550004" );
-			createSubsetFile(description, definition, TYPE_ID_COLUMN, TEXT_DEFINITION_SCTID, true, false);
+			// suppress files that no longer to be released.
+			suppressFilesNotRequired(FILE_NAMES_TO_BE_EXCLUDED, releaseFiles);
+			// exclude files for extension release
+			if (!INTERNATIONAL.equalsIgnoreCase(releaseCenter)) {
+				suppressFilesNotRequired(EXTENSION_EXCLUDED_FILES, releaseFiles);
+			}
+
+			Map<String, List<ZipEntry>> combinedRefsets = getCombinedRefsets(releaseFiles, countryNamespace, releaseDate);
+
+			// The description file is currently named sct2_Description_${extractType}-en-gb_INT_<date>.txt
+			// and we need it to be sct2_Description_${extractType}-en_INT_<date>.txt
+			String descriptionFileWrongName = "sct2_Description_Delta-en-gb_INT_" + releaseDate + TXT;
+			String descriptionFileName = "sct2_Description_Delta-en_INT_" + releaseDate + TXT;
+			if (releaseFiles.containsKey(descriptionFileWrongName)) {
+				releaseFiles.put(descriptionFileName, releaseFiles.remove(descriptionFileWrongName));
+			} else {
+				logger.warn("Was not able to find {} to correct the name", descriptionFileWrongName);
+			}
+
+			// Check if there is text definition exported or not. If We don't have a Text Definition file, so create that by extracting rows with TypeId 900000000000550004
+			// from sct2_Description_Delta-en_INT_<date>.txt to form sct2_TextDefinition_Delta-en_INT_<date>.txt
+			String definitionFileName = "sct2_TextDefinition_Delta-en_INT_" + releaseDate + TXT;
+			ZipEntry descriptionEntry = releaseFiles.get(descriptionFileName);
+			boolean createDefinition = !releaseFiles.containsKey(definitionFileName) && !combinedRefsets.containsKey(definitionFileName);
+			if (createDefinition) {
+				if (descriptionEntry != null) {
+					logger.info("No text definition file is being exported therefore it will try to extract data from the description file for type id 900000000000550004");
+				} else {
+					logger.warn("Did not find file {} needed to create subset {}", descriptionFileName, definitionFileName);
+				}
+			}
+
+			try (ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(outputStream))) {
+				Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+				for (Map.Entry<String, ZipEntry> releaseFile : releaseFiles.entrySet()) {
+					if (createDefinition && releaseFile.getKey().equals(descriptionFileName)) {
+						writeEntry(exportZip, out, writer, releaseFile.getKey(), List.of(descriptionEntry), releaseDate, line -> !isTextDefinition(line));
+					} else {
+						writeEntry(exportZip, out, writer, releaseFile.getKey(), List.of(releaseFile.getValue()), releaseDate, line -> true);
+					}
+				}
+				for (Map.Entry<String, List<ZipEntry>> combinedRefset : combinedRefsets.entrySet()) {
+					writeEntry(exportZip, out, writer, combinedRefset.getKey(), combinedRefset.getValue(), releaseDate, line -> true);
+					logger.debug("Created combined refset {}", combinedRefset.getKey());
+				}
+				if (createDefinition && descriptionEntry != null) {
+					writeEntry(exportZip, out, writer, definitionFileName, List.of(descriptionEntry), releaseDate, this::isTextDefinition);
+				}
+			}
 		}
-		return extractDir;
 	}
-	
-	private String getCountryOrNamespace(File extractDir) {
-		
-		String[] rf2Filenames = extractDir.list((dir, name) -> {
-            if (name.startsWith("sct2_Concept_") && name.endsWith(TXT)) {
-                return true;
-            }
-            return false;
-        });
-		
-		if (rf2Filenames.length == 1) {
-			String[] splits = rf2Filenames[0].split("_");
+
+	private String getCountryOrNamespace(Collection<String> fileNames) {
+		List<String> rf2Filenames = fileNames.stream()
+				.filter(name -> name.startsWith("sct2_Concept_") && name.endsWith(TXT))
+				.toList();
+		if (rf2Filenames.size() == 1) {
+			String[] splits = rf2Filenames.get(0).split("_");
 			if (splits.length == 5) {
 				return splits[3];
 			}
@@ -149,171 +178,113 @@ public class SRSFileDAO {
 		return null;
 	}
 
-
 	/**
-	 * rename dk and se translated concepts file.
-	 *der2_Refset_554831000005107Delta_DK1000005_20160926.txt 
+	 * The name a file from the export is released under, with any other release date replaced by the one being released.
 	 */
-	private void renameDKTranslatedConceptsRefsetFile(File extractDir, String releaseDate) {
-		File wrongName = new File(extractDir, "der2_Refset_554831000005107Delta_DK1000005_" + releaseDate + TXT);
-		File updatedName = new File(extractDir, "der2_Refset_DanishTranslatedConceptsSimpleDelta_DK1000005_" + releaseDate + TXT);
-		if (wrongName.exists()) {
-			wrongName.renameTo(updatedName);
-			logger.warn("found wrong file name: {} and updated it to : {}", wrongName, updatedName);
-		} 
-	
-	}
-
-	private void suppressFilesNotRequired(String[] filenamesToBeExcluded, File extractDir) {
-		
-		List<String> filesToBeRemoved = new ArrayList<>();
-		for (final String fileName : filenamesToBeExcluded) {
-			String[] filesFound = extractDir.list((dir, name) -> {
-                if (name.startsWith(fileName)) {
-                    return true;
-                }
-                return false;
-            });
-			filesToBeRemoved.addAll(Arrays.asList(filesFound));
+	private String getReleaseFileName(String fileName, String releaseDate) throws ProcessWorkflowException {
+		// rename dk and se translated concepts file.
+		// der2_Refset_554831000005107Delta_DK1000005_20160926.txt
+		if (fileName.equals("der2_Refset_554831000005107Delta_DK1000005_" + releaseDate + TXT)) {
+			String updatedName = "der2_Refset_DanishTranslatedConceptsSimpleDelta_DK1000005_" + releaseDate + TXT;
+			logger.warn("found wrong file name: {} and updated it to : {}", fileName, updatedName);
+			return updatedName;
 		}
-		for (String fileName : filesToBeRemoved) {
-			File file = new File(extractDir,fileName);
-			if (file.exists()) {
-				logger.debug("File is excluded: {}", file.getName());
-				file.delete();
-			}
+		String fileReleaseDate = findDateInString(fileName, true);
+		if (fileReleaseDate != null && !fileReleaseDate.equals(releaseDate)) {
+			logger.debug("Modifying releaseDate in {} to {}", fileName, releaseDate);
+			return fileName.replace(fileReleaseDate, releaseDate);
 		}
+		return fileName;
 	}
 
-	private void enforceReleaseDate(File extractDir, String enforcedReleaseDate) throws ProcessWorkflowException {
-		//Loop through all the files in the directory and change the release date if required
-		for (File thisFile : extractDir.listFiles()) {
-			if (thisFile.isFile()) {
-				String thisReleaseDate = findDateInString(thisFile.getName(), true);
-				if (thisReleaseDate != null && !thisReleaseDate.equals(enforcedReleaseDate)) {
-					logger.debug("Modifying releaseDate in {} to {}", thisFile.getName(), enforcedReleaseDate);
-					renameFile(extractDir, thisFile, thisReleaseDate, enforcedReleaseDate);
+	private void suppressFilesNotRequired(String[] filenamesToBeExcluded, Map<String, ZipEntry> releaseFiles) {
+		for (final String fileName : filenamesToBeExcluded) {
+			releaseFiles.keySet().removeIf(name -> {
+				if (name.startsWith(fileName)) {
+					logger.debug("File is excluded: {}", name);
+					return true;
 				}
-			}
+				return false;
+			});
 		}
 	}
 
-	private void mergeRefsets(File extractDir, String fileType, String countryNamespace,String releaseDate) throws IOException {
+	/**
+	 * Finds the files contributing to each combined refset, in contributor order.
+	 * Contributors are removed from the release files, as is any exported file with the combined refset's name since the combined refset replaces it.
+	 */
+	private Map<String, List<ZipEntry>> getCombinedRefsets(Map<String, ZipEntry> releaseFiles, String countryNamespace, String releaseDate) {
+		Map<String, List<ZipEntry>> combinedRefsets = new LinkedHashMap<>();
 		// Loop through our map of refsets required, and see what contributing files we can match
 		for (Map.Entry<String, RefsetCombiner> refset : refsetMap.entrySet()) {
-
 			RefsetCombiner rc = refset.getValue();
-			String combinedRefset = getFilename(rc.targetFilePattern, fileType, countryNamespace, releaseDate);
-			// Now can we find any of the contributing files to add to that file?
-			boolean isFirstContributor = true;
+			String combinedRefset = getFilename(rc.targetFilePattern, DELTA, countryNamespace, releaseDate);
+			List<ZipEntry> contributors = new ArrayList<>();
 			for (String contributorPattern : rc.sourceFilePatterns) {
-				String contributorFilename = getFilename(contributorPattern, fileType, countryNamespace, releaseDate);
-				File contributorFile = new File(extractDir, contributorFilename);
-				File combinedRefsetFile = new File(extractDir, combinedRefset);
-				if (contributorFile.exists()) {
-					List<String> fileLines = FileUtils.readLines(contributorFile, StandardCharsets.UTF_8);
-					// Don't need the header line for any subsequent files
-					if (!isFirstContributor) {
-						fileLines.remove(0);
-					}
-					boolean append = !isFirstContributor;
-					FileUtils.writeLines(combinedRefsetFile, CharEncoding.UTF_8, fileLines, LINE_ENDING, append);
-					isFirstContributor = false;
-					// Now we can delete the contributor so it doesn't get uploaded as another input file
-					contributorFile.delete();
+				ZipEntry contributor = releaseFiles.remove(getFilename(contributorPattern, DELTA, countryNamespace, releaseDate));
+				if (contributor != null) {
+					contributors.add(contributor);
 				}
 			}
-			if (isFirstContributor) {
+			if (contributors.isEmpty()) {
 				logger.warn("Failed to find any files to contribute to {}", combinedRefset);
 			} else {
-				logger.debug("Created combined refset {}", combinedRefset);
+				releaseFiles.remove(combinedRefset);
+				combinedRefsets.put(combinedRefset, contributors);
 			}
 		}
+		return combinedRefsets;
 	}
 
 	private String getFilename(String filenamePattern, String fileType, String countryNamespace,String date) {
 		return filenamePattern.replace(FILE_TYPE_INSERT, fileType).replace(COUNTRY_OR_NAMSPACE,countryNamespace).replace(RELEASE_DATE_INSERT, date);
 	}
 
-	private void renameFile(File parentDir, File thisFile, String find, String replace) {
-		if (thisFile.exists() && !thisFile.isDirectory()) {
-			String currentName = thisFile.getName();
-			String newName = currentName.replace(find, replace);
-			if (!newName.equals(currentName)) {
-				File newFile = new File(parentDir, newName);
-				thisFile.renameTo(newFile);
-			}
-		}
-	}
-
 	/**
-	 * @param targetDirectory
-	 * @param find
-	 * @param replace
-	 * @param columnNum
-	 *            searched for term must match in this column
-	 * @throws IOException
+	 * Writes the lines of the given export entries as a single entry of the output zip.
+	 * The header row is taken from the first entry only and every other row must pass the filter.
+	 * Unpublished effective dates are replaced with the release date on the way through.
 	 */
-	protected void replaceInFiles(File targetDirectory, String find, String replace, int columnNum) throws IOException {
-		Assert.isTrue(targetDirectory.isDirectory(), targetDirectory.getAbsolutePath()
-				+ " must be a directory in order to replace text from " + find + " to " + replace);
-
-		logger.info("Replacing {} with {} in target directory {}", find, replace, targetDirectory);
-		for (File thisFile : targetDirectory.listFiles()) {
-			if (thisFile.exists() && !thisFile.isDirectory()) {
-				List<String> oldLines = FileUtils.readLines(thisFile, StandardCharsets.UTF_8);
-				List<String> newLines = new ArrayList<>();
-				for (String thisLine : oldLines) {
-					String[] columns = thisLine.split("\t");
-					if (columns.length > columnNum && columns[columnNum].equals(find)) {
-						thisLine = thisLine.replaceFirst(find, replace); // Would be more generic to rebuild from columns
+	private void writeEntry(ZipFile exportZip, ZipOutputStream out, Writer writer, String fileName, List<ZipEntry> sources,
+			String releaseDate, Predicate<String> rowFilter) throws IOException {
+		out.putNextEntry(new ZipEntry(fileName));
+		boolean headerWritten = false;
+		for (ZipEntry source : sources) {
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(exportZip.getInputStream(source), StandardCharsets.UTF_8))) {
+				String line = reader.readLine();
+				if (line != null && !headerWritten) {
+					// Don't need the header line for any subsequent files
+					writeLine(writer, replaceUnpublishedEffectiveDate(line, releaseDate));
+					headerWritten = true;
+				}
+				while ((line = reader.readLine()) != null) {
+					line = replaceUnpublishedEffectiveDate(line, releaseDate);
+					if (rowFilter.test(line)) {
+						writeLine(writer, line);
 					}
-					newLines.add(thisLine);
 				}
-				FileUtils.writeLines(thisFile, CharEncoding.UTF_8, newLines, LINE_ENDING);
 			}
 		}
+		writer.flush();
+		out.closeEntry();
 	}
 
-	/*
-	 * Creates a file containing all the rows which have "mustMatch" in columnNum. Plus the header row.
-	 */
-	protected void createSubsetFile(File source, File target, int columnNum, String mustMatch, boolean removeFromOriginal,
-			boolean removeId)
-			throws IOException {
-		if (source.exists() && !source.isDirectory()) {
-			logger.debug("Creating {} as a subset of {} and {} rows in original.", target, source, (removeFromOriginal ? "removing"
-					: "leaving"));
-			List<String> allLines = FileUtils.readLines(source, StandardCharsets.UTF_8);
-			List<String> newLines = new ArrayList<>();
-			List<String> remainingLines = new ArrayList<>();
-			int lineCount = 1;
-			for (String thisLine : allLines) {
-				String[] columns = thisLine.split("\t");
-				if (lineCount == 1 || (columns.length > columnNum && columns[columnNum].equals(mustMatch))) {
-					// Are we wiping out the Id (column index 0) before writing?
-					if (removeId && lineCount != 1) {
-						columns[0] = "";
-						String lineWithIDRemoved = StringUtils.join(columns, "\t");
-						newLines.add(lineWithIDRemoved);
-					} else {
-						newLines.add(thisLine);
-					}
-					if (lineCount == 1) {
-						remainingLines.add(thisLine);
-					}
-				} else {
-					remainingLines.add(thisLine);
-				}
-				lineCount++;
-			}
-			FileUtils.writeLines(target, CharEncoding.UTF_8, newLines, LINE_ENDING);
-			if (removeFromOriginal) {
-				FileUtils.writeLines(source, CharEncoding.UTF_8, remainingLines, LINE_ENDING);
-			}
-		} else {
-			logger.warn("Did not find file {} needed to create subset {}", source, target);
+	private void writeLine(Writer writer, String line) throws IOException {
+		writer.write(line);
+		writer.write(LINE_ENDING);
+	}
+
+	private String replaceUnpublishedEffectiveDate(String line, String releaseDate) {
+		String[] columns = line.split("\t", EFFECTIVE_DATE_COLUMN + 2);
+		if (columns.length > EFFECTIVE_DATE_COLUMN && columns[EFFECTIVE_DATE_COLUMN].equals(UNKNOWN_EFFECTIVE_DATE)) {
+			return line.replaceFirst(UNKNOWN_EFFECTIVE_DATE, releaseDate); // Would be more generic to rebuild from columns
 		}
+		return line;
+	}
+
+	private boolean isTextDefinition(String line) {
+		String[] columns = line.split("\t");
+		return columns.length > TYPE_ID_COLUMN && columns[TYPE_ID_COLUMN].equals(TEXT_DEFINITION_SCTID);
 	}
 
 	public String findDateInString(String str, boolean optional) throws ProcessWorkflowException {
@@ -329,27 +300,4 @@ public class SRSFileDAO {
 		}
 		return null;
 	}
-
-	public void unzipFlat(File archive, File targetDir) throws ProcessWorkflowException, IOException {
-
-		if (!targetDir.exists() || !targetDir.isDirectory()) {
-			throw new ProcessWorkflowException(targetDir + " is not a viable directory in which to extract archive");
-		}
-
-		try (ZipInputStream zis = new ZipInputStream(new FileInputStream(archive))) {
-			ZipEntry ze = zis.getNextEntry();
-			while (ze != null) {
-				if (!ze.isDirectory()) {
-					Path p = Paths.get(ze.getName());
-					String extractedFileName = p.getFileName().toString();
-					File extractedFile = new File(targetDir, extractedFileName);
-					try (OutputStream out = new FileOutputStream(extractedFile)) {
-						IOUtils.copy(zis, out);
-						IOUtils.close(out);
-					}
-				}
-				ze = zis.getNextEntry();
-			}
-		}
-	}
 }
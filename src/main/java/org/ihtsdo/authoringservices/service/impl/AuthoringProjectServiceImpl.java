@@ -125,6 +125,7 @@ public class AuthoringProjectServiceImpl extends ProjectServiceBase implements P
         project.setCustomFields(buildDefaultCustomFields());
         project.setUserGroups(groups);
         project = projectRepository.save(project);
+        permissionService.invalidateProjectPermissions();
 
         // Set latest task number from JIRA if the same JIRA project exists
         if (jiraEnabled) {
@@ -171,6 +172,7 @@ public class AuthoringProjectServiceImpl extends ProjectServiceBase implements P
         Project project = getProjectAndCheckPermission(projectKey);
         taskRepository.deleteAll(taskRepository.findByProject(project));
         projectRepository.delete(project);
+        permissionService.invalidateProjectPermissions();
     }
 
     @Override
@@ -311,7 +313,7 @@ public class AuthoringProjectServiceImpl extends ProjectServiceBase implements P
         existing.removeIf(item -> !request.roles().contains(item.getName()));
         project.setUserGroups(existing);
         projectRepository.save(project);
-
+        permissionService.invalidateProjectPermissions();
     }
 
     Map<String, Boolean> buildDefaultCustomFields() {
@@ -6,7 +6,13 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.gson.Gson;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.jms.JMSException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import org.apache.activemq.command.ActiveMQQueue;
 import org.apache.commons.lang.StringUtils;
@@ -15,7 +21,6 @@ import org.ihtsdo.authoringservices.domain.*;
 import org.ihtsdo.authoringservices.entity.*;
 import org.ihtsdo.authoringservices.repository.ProjectRepository;
 import org.ihtsdo.authoringservices.repository.TaskRepository;
-import org.ihtsdo.authoringservices.repository.TaskSequenceRepository;
 import org.ihtsdo.authoringservices.service.*;
 import org.ihtsdo.authoringservices.service.client.ContentRequestServiceClient;
 import org.ihtsdo.authoringservices.service.client.ContentRequestServiceClientFactory;
@@ -23,6 +28,7 @@ import org.ihtsdo.authoringservices.service.exceptions.ServiceException;
 import org.ihtsdo.authoringservices.service.util.TimerUtil;
 import org.ihtsdo.otf.jms.MessagingHelper;
 import org.ihtsdo.otf.rest.client.RestClientException;
+import org.ihtsdo.otf.rest.client.terminologyserver.pojo.Classification;
 import org.ihtsdo.otf.rest.client.terminologyserver.pojo.CodeSystem;
 import org.ihtsdo.otf.rest.exception.BadRequestException;
 import org.ihtsdo.otf.rest.exception.BusinessServiceException;
@@ -34,12 +40,13 @@ import org.slf4j.event.Level;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.util.CollectionUtils;
 
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -54,11 +61,19 @@ import java.util.stream.StreamSupport;
     @Value("${task-state-change.notification-queues}")
     private Set<String> taskStateChangeNotificationQueues;
 
+    @Value("${task.enrichment.thread-pool-size}")
+    private int taskEnrichmentThreadPoolSize;
+
+    @Value("${task.enrichment.call-timeout-seconds}")
+    private long taskEnrichmentCallTimeoutSeconds;
+
+    private ExecutorService taskEnrichmentExecutor;
+
     @Autowired
     private TaskRepository taskRepository;
 
     @Autowired
-    private TaskSequenceRepository taskSequenceRepository;
+    private TaskKeyAllocator taskKeyAllocator;
 
     @Autowired
     private ProjectRepository projectRepository;
@@ -102,6 +117,20 @@ import java.util.stream.StreamSupport;
 	@Autowired
 	ObjectMapper objectMapper;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PostConstruct
+    public void init() {
+        // Tasks run with the security context of the thread which submitted them
+        taskEnrichmentExecutor = new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(taskEnrichmentThreadPoolSize));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        taskEnrichmentExecutor.shutdown();
+    }
+
     @Override
     public boolean exists(String taskKey) {
         Optional<Task> taskOptional = taskRepository.findById(taskKey);
@@ -149,21 +178,12 @@ import java.util.stream.StreamSupport;
             task.setCrsTasks(crsTasks);
         }
 
-        TaskSequence taskSequence = taskSequenceRepository.findOneByProject(project);
-        int sequence;
-        if (taskSequence != null) {
-            sequence = taskSequence.getSequence() + 1;
-            taskSequence.setSequence(sequence);
-        } else {
-            sequence = 1;
-            taskSequence = new TaskSequence(project, sequence);
-        }
+        int sequence = taskKeyAllocator.nextTaskNumber(project);
         task.setKey(projectKey + "-" + sequence);
         task.setStatus(TaskStatus.NEW);
         task.setProject(project);
         task.setBranchPath(project.getBranchPath() + "/" + (projectKey + "-" + sequence));
         task = taskRepository.save(task);
-        taskSequenceRepository.save(taskSequence);
         return buildAuthoringTasks(new ArrayList<>(List.of(task)), true).get(0);
     }
 
@@ -354,6 +374,19 @@ import java.util.stream.StreamSupport;
 
     @Override
     public List<AuthoringTask> listMyOrUnassignedReviewTasks(List<CodeSystem> codeSystems, String excludePromoted) throws BusinessServiceException {
+        List<Task> tasks = findTasks(buildReviewTasksPredicate(excludePromoted), null, null);
+        return buildAuthoringTasks(tasks, codeSystems, false);
+    }
+
+    @Override
+    public AuthoringTaskPage listMyOrUnassignedReviewTasks(List<CodeSystem> codeSystems, String excludePromoted, String cursor, int limit) throws BusinessServiceException {
+        return findTaskPage(buildReviewTasksPredicate(excludePromoted), cursor, limit, codeSystems, false);
+    }
+
+    /**
+     * Review tasks of active projects not assigned to the current user, which are either waiting for a reviewer or reviewed by the current user.
+     */
+    private BooleanExpression buildReviewTasksPredicate(String excludePromoted) {
         String currentUser = SecurityUtil.getUsername();
         List<TaskStatus> statuses = new ArrayList<>(List.of(TaskStatus.IN_REVIEW, TaskStatus.REVIEW_COMPLETED));
         if (null == excludePromoted || !excludePromoted.equalsIgnoreCase("TRUE")) {
@@ -363,11 +396,12 @@ import java.util.stream.StreamSupport;
         if (!projects.isEmpty()) {
             projects = projects.stream().filter(item -> Boolean.TRUE.equals(item.getActive())).toList();
         }
-        List<Task> tasks = taskRepository.findByProjectInAndAssigneeNotAndStatusInOrderByUpdatedDateDesc(projects, currentUser, statuses);
-        tasks = tasks.stream().
-                filter(task -> (CollectionUtils.isEmpty(task.getReviewers()) && TaskStatus.IN_REVIEW.equals(task.getStatus()))
-                        || task.getReviewers().stream().anyMatch(reviewer -> reviewer.getUsername().equals(currentUser))).toList();
-        return buildAuthoringTasks(tasks, codeSystems, false);
+        QTask qTask = QTask.task;
+        return qTask.project.in(projects)
+                .and(qTask.assignee.ne(currentUser))
+                .and(qTask.status.in(statuses))
+                .and(qTask.reviewers.isEmpty().and(qTask.status.eq(TaskStatus.IN_REVIEW))
+                        .or(qTask.reviewers.any().username.eq(currentUser)));
     }
 
     @Override
@@ -410,6 +444,54 @@ import java.util.stream.StreamSupport;
         return buildAuthoringTasks(StreamSupport.stream(tasks.spliterator(), false).toList(), lightweight);
     }
 
+    @Override
+    public AuthoringTaskPage searchTasks(String criteria, Set<String> projectKeys, Set<String> statuses, String author, Long createdDateFrom, Long createdDateTo, Boolean lightweight, String cursor, int limit) throws BusinessServiceException {
+        if (isEmptySearchCriteria(criteria, projectKeys, statuses, author, createdDateFrom, createdDateTo)) {
+            return new AuthoringTaskPage(Collections.emptyList(), null);
+        }
+        Set<String> accessibleProjectKeys = getAccessibleProjectKeys(projectKeys);
+        if (accessibleProjectKeys.isEmpty()) {
+            return new AuthoringTaskPage(Collections.emptyList(), null);
+        }
+        BooleanExpression predicate = buildSearchPredicate(QTask.task, criteria, accessibleProjectKeys, statuses, author, createdDateFrom, createdDateTo);
+        return findTaskPage(predicate, cursor, limit, null, lightweight);
+    }
+
+    /**
+     * Fetches the page of tasks after the cursor, newest first.
+     * One task more than the limit is read to find out whether there is a next page.
+     */
+    private AuthoringTaskPage findTaskPage(BooleanExpression predicate, String cursor, int limit, List<CodeSystem> codeSystems, Boolean lightweight) throws BusinessServiceException {
+        List<Task> tasks = findTasks(predicate, cursor != null ? TaskCursor.decode(cursor) : null, limit + 1);
+        String nextCursor = null;
+        if (tasks.size() > limit) {
+            tasks = new ArrayList<>(tasks.subList(0, limit));
+            Task last = tasks.get(limit - 1);
+            nextCursor = new TaskCursor(last.getUpdated(), last.getKey()).encode();
+        }
+        List<AuthoringTask> authoringTasks = codeSystems != null ? buildAuthoringTasks(tasks, codeSystems, lightweight) : buildAuthoringTasks(tasks, lightweight);
+        return new AuthoringTaskPage(authoringTasks, nextCursor);
+    }
+
+    /**
+     * Tasks ordered by updated date then key, both descending, so that the position of the last task is enough to seek to the next page.
+     */
+    private List<Task> findTasks(BooleanExpression predicate, TaskCursor after, Integer limit) {
+        QTask qTask = QTask.task;
+        if (after != null) {
+            Timestamp updated = new Timestamp(after.updated());
+            predicate = predicate.and(qTask.updatedDate.lt(updated)
+                    .or(qTask.updatedDate.eq(updated).and(qTask.key.lt(after.taskKey()))));
+        }
+        JPAQuery<Task> query = new JPAQueryFactory(entityManager).selectFrom(qTask)
+                .where(predicate)
+                .orderBy(qTask.updatedDate.desc(), qTask.key.desc());
+        if (limit != null) {
+            query.limit(limit);
+        }
+        return query.fetch();
+    }
+
     /**
      * Gets the set of project keys that the current user has access to
      */
@@ -752,16 +834,26 @@ import java.util.stream.StreamSupport;
 
             preloadUsers(tasks, timer);
 
+            List<AuthoringTask> tasksToEnrich = new ArrayList<>();
             for (Task task : tasks) {
-                buildAuthoringTask(lightweight, task, allTasks, codeSystems, timer, startedTasks);
+                AuthoringTask authoringTask = buildAuthoringTask(lightweight, task, codeSystems);
+                allTasks.add(authoringTask);
+                // Fetch the extra statuses for tasks that are not new and have a branch
+                if (authoringTask.getStatus() != TaskStatus.NEW) {
+                    tasksToEnrich.add(authoringTask);
+                }
             }
+            timer.checkpoint("Built " + allTasks.size() + " tasks");
+
+            enrichAuthoringTasks(tasksToEnrich, lightweight, startedTasks);
+            timer.checkpoint("Recovered branch, classification and feedback details for " + tasksToEnrich.size() + " tasks");
 
             if (!Boolean.TRUE.equals(lightweight) && (!startedTasks.isEmpty())) {
                 setValidationStatusForAuthoringTasks(startedTasks, timer);
             }
 
             timer.finish();
-        } catch (ExecutionException | RestClientException | ServiceException e) {
+        } catch (ExecutionException | ServiceException e) {
             throw new BusinessServiceException("Failed to retrieve task list.", e);
         }
         return allTasks;
@@ -794,13 +886,14 @@ import java.util.stream.StreamSupport;
         }
     }
 
-    private void buildAuthoringTask(Boolean lightweight, Task task, List<AuthoringTask> allTasks, List<CodeSystem> codeSystems, TimerUtil timer, Map<String, AuthoringTask> startedTasks) throws ServiceException, RestClientException {
+    private AuthoringTask buildAuthoringTask(Boolean lightweight, Task task, List<CodeSystem> codeSystems) throws ServiceException {
         AuthoringTask authoringTask = new AuthoringTask(task);
         authoringTask.setInternalAuthoringTask(true);
 
         if (TaskType.CRS.equals(task.getType())) {
             authoringTask.setLabels(new Gson().toJson(List.of(CRS_JIRA_LABEL)));
-            if (!CollectionUtils.isEmpty(task.getCrsTasks())) {
+            // CRS links are left out of lightweight tasks so that they are not loaded at all
+            if (!Boolean.TRUE.equals(lightweight) && !CollectionUtils.isEmpty(task.getCrsTasks())) {
                 authoringTask.setCrsTasks(task.getCrsTasks());
             }
         }
@@ -810,35 +903,98 @@ import java.util.stream.StreamSupport;
 
         setTaskStatusFromAutomatedPromotionIfAny(authoringTask);
 
-        allTasks.add(authoringTask);
-
         // Fetch maintainer type and latest code system version timestamp
         populateCodeSystemDetailsOnAuthoringTask(authoringTask, task.getProject().getBranchPath(), codeSystems, lightweight);
+        return authoringTask;
+    }
+
+    /**
+     * Fetches the branch and latest classification of all tasks in parallel on the bounded enrichment pool,
+     * alongside one aggregated lookup of the review message details of every task, then joins the results back onto the tasks.
+     */
+    private void enrichAuthoringTasks(List<AuthoringTask> authoringTasks, Boolean lightweight, Map<String, AuthoringTask> startedTasks) throws ExecutionException {
+        if (authoringTasks.isEmpty()) {
+            return;
+        }
+        final boolean fetchDetails = lightweight == null || !lightweight;
+        final String username = SecurityUtil.getUsername();
+
+        List<TaskEnrichment> enrichments = new ArrayList<>();
+        for (AuthoringTask authoringTask : authoringTasks) {
+            final String branchPath = authoringTask.getBranchPath();
+            Future<org.ihtsdo.otf.rest.client.terminologyserver.pojo.Branch> branch = taskEnrichmentExecutor.submit(() -> branchService.getBranchOrNull(branchPath));
+            Future<Classification> classification = null;
+            if (fetchDetails) {
+                classification = taskEnrichmentExecutor.submit(() -> classificationService.getLatestClassification(branchPath));
+            }
+            enrichments.add(new TaskEnrichment(authoringTask, branch, classification));
+        }
+        // Review message details of all tasks are aggregated by the database in a single call
+        Future<Map<String, TaskMessagesDetail>> messagesDetails = null;
+        if (fetchDetails) {
+            final List<String> taskKeys = authoringTasks.stream().map(AuthoringTask::getKey).toList();
+            messagesDetails = taskEnrichmentExecutor.submit(() -> reviewService.getTaskMessagesDetails(taskKeys, username));
+        }
 
-        // Fetch the extra statuses for tasks that are not new and have a branch
-        if (authoringTask.getStatus() != TaskStatus.NEW) {
-            org.ihtsdo.otf.rest.client.terminologyserver.pojo.Branch branch = branchService.getBranchOrNull(authoringTask.getBranchPath());
-            timer.checkpoint("Recovered branch state");
-            if (branch != null) {
-                authoringTask.setBranchState(branch.getState());
-                authoringTask.setBranchBaseTimestamp(branch.getBaseTimestamp());
-                authoringTask.setBranchHeadTimestamp(branch.getHeadTimestamp());
-
-                if (lightweight == null || !lightweight) {
-                    authoringTask.setLatestClassification(classificationService.getLatestClassification(authoringTask.getBranchPath()));
-                    timer.checkpoint("Recovered classification");
-                    // get the review message details and append to task
-                    TaskMessagesDetail detail = reviewService.getTaskMessagesDetail(authoringTask.getProjectKey(), authoringTask.getKey(), SecurityUtil.getUsername());
+        Map<String, TaskMessagesDetail> taskMessagesDetails = null;
+        for (TaskEnrichment enrichment : enrichments) {
+            AuthoringTask authoringTask = enrichment.authoringTask();
+            org.ihtsdo.otf.rest.client.terminologyserver.pojo.Branch branch = getEnrichmentResult(enrichment.branch(), "task " + authoringTask.getKey(), "branch");
+            if (branch == null) {
+                cancelEnrichment(enrichment.classification());
+                continue;
+            }
+            authoringTask.setBranchState(branch.getState());
+            authoringTask.setBranchBaseTimestamp(branch.getBaseTimestamp());
+            authoringTask.setBranchHeadTimestamp(branch.getHeadTimestamp());
+
+            if (fetchDetails) {
+                authoringTask.setLatestClassification(getEnrichmentResult(enrichment.classification(), "task " + authoringTask.getKey(), "classification"));
+                if (taskMessagesDetails == null) {
+                    taskMessagesDetails = getEnrichmentResult(messagesDetails, authoringTasks.size() + " tasks", "feedback messages");
+                    if (taskMessagesDetails == null) {
+                        taskMessagesDetails = Collections.emptyMap();
+                    }
+                }
+                // get the review message details and append to task
+                TaskMessagesDetail detail = taskMessagesDetails.get(authoringTask.getKey());
+                if (detail != null) {
                     authoringTask.setFeedbackMessagesStatus(detail.getTaskMessagesStatus());
                     authoringTask.setFeedbackMessageDate(detail.getLastMessageDate());
                     authoringTask.setViewDate(detail.getViewDate());
-                    timer.checkpoint("Recovered feedback messages");
                 }
-                startedTasks.put(authoringTask.getBranchPath(), authoringTask);
             }
+            startedTasks.put(authoringTask.getBranchPath(), authoringTask);
+        }
+        if (taskMessagesDetails == null) {
+            cancelEnrichment(messagesDetails);
+        }
+    }
+
+    private <T> T getEnrichmentResult(Future<T> future, String target, String name) throws ExecutionException {
+        try {
+            return future.get(taskEnrichmentCallTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Timed out recovering {} for {} after {} seconds.", name, target, taskEnrichmentCallTimeoutSeconds);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while recovering " + name + " for " + target, e);
+        }
+    }
+
+    private void cancelEnrichment(Future<?> future) {
+        if (future != null) {
+            future.cancel(true);
         }
     }
 
+    private record TaskEnrichment(AuthoringTask authoringTask,
+                                  Future<org.ihtsdo.otf.rest.client.terminologyserver.pojo.Branch> branch,
+                                  Future<Classification> classification) {
+    }
+
     private void joinTaskUsers(Task task, AuthoringTask authoringTask) {
         if (org.springframework.util.StringUtils.hasLength(task.getAssignee())) {
             authoringTask.setAssignee(userCacheService.getUser(task.getAssignee()));
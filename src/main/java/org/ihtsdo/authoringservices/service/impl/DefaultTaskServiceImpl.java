@@ -69,6 +69,11 @@ public class DefaultTaskServiceImpl implements TaskService {
         return Collections.emptyList();
     }
 
+    @Override
+    public AuthoringTaskPage listMyOrUnassignedReviewTasks(List<CodeSystem> codeSystems, String excludePromoted, String cursor, int limit) throws BusinessServiceException {
+        return new AuthoringTaskPage(Collections.emptyList(), null);
+    }
+
     @Override
     public List<String> listMyTaskProjectKeys(String username) throws BusinessServiceException {
         return Collections.emptyList();
@@ -79,6 +84,11 @@ public class DefaultTaskServiceImpl implements TaskService {
         return Collections.emptyList();
     }
 
+    @Override
+    public AuthoringTaskPage searchTasks(String criteria, Set<String> projectKeys, Set<String> statuses, String author, Long createdDateFrom, Long createdDateTo, Boolean lightweight, String cursor, int limit) throws BusinessServiceException {
+        return new AuthoringTaskPage(Collections.emptyList(), null);
+    }
+
     @Override
     public void addCommentLogErrors(String projectKey, String taskKey, String commentString) {
         // Do nothing
@@ -5,6 +5,9 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import net.rcarz.jiraclient.*;
 import net.sf.json.JSON;
@@ -31,18 +34,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -71,6 +70,15 @@ public class JiraProjectServiceImpl extends ProjectServiceBase implements Projec
     @Value("${jira.project.creation.defaultProjectTemplateKey}")
     private String defaultProjectTemplateKey;
 
+    @Value("${project.loading.thread-pool-size}")
+    private int projectLoadingThreadPoolSize;
+
+    @Value("${project.loading.call-timeout-seconds}")
+    private long projectLoadingCallTimeoutSeconds;
+
+    @Value("${project.details.cache.refresh-after-minutes}")
+    private long projectDetailsRefreshAfterMinutes;
+
     private LoadingCache<String, ProjectDetails> projectDetailsCache;
 
     private final ImpersonatingJiraClientFactory jiraClientFactory;
@@ -88,7 +96,7 @@ public class JiraProjectServiceImpl extends ProjectServiceBase implements Projec
     private final String jiraProjectTranslationField;
     private final Set<String> projectJiraFetchFields;
 
-    private final ExecutorService executorService;
+    private ExecutorService projectLoadingExecutor;
 
     @Autowired
     private InstanceConfiguration instanceConfiguration;
@@ -110,7 +118,6 @@ public class JiraProjectServiceImpl extends ProjectServiceBase implements Projec
 
     public JiraProjectServiceImpl(ImpersonatingJiraClientFactory jiraClientFactory, String jiraUsername, boolean jiraEnabled) throws JiraException {
         this.jiraClientFactory = jiraClientFactory;
-        executorService = Executors.newCachedThreadPool();
         if (!jiraUsername.equals(UNIT_TEST) && jiraEnabled) {
             logger.info("Fetching Jira custom field names.");
             final JiraClient jiraClientForFieldLookup = jiraClientFactory.getAdminInstance();
@@ -129,8 +136,6 @@ public class JiraProjectServiceImpl extends ProjectServiceBase implements Projec
             jiraProjectSpellCheckField = JiraHelper.fieldIdLookup("SCA Project Spell Check", jiraClientForFieldLookup, projectJiraFetchFields);
             jiraProjectTranslationField = JiraHelper.fieldIdLookup("SCA Project Translation", jiraClientForFieldLookup, projectJiraFetchFields, "false");
             logger.info("Jira custom field names fetched. (e.g. {}).", jiraExtensionBaseField);
-
-            init();
         } else {
             projectJiraFetchFields = null;
             jiraExtensionBaseField = null;
@@ -147,8 +152,16 @@ public class JiraProjectServiceImpl extends ProjectServiceBase implements Projec
         }
     }
 
+    @PostConstruct
     public void init() {
+        // Jobs run with the security context of the thread which submitted them
+        projectLoadingExecutor = new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(projectLoadingThreadPoolSize));
+        if (projectJiraFetchFields == null) {
+            return;
+        }
+        // Entries past the refresh age keep being served while a reload runs in the background
         projectDetailsCache = CacheBuilder.newBuilder().maximumSize(10000)
+                .refreshAfterWrite(projectDetailsRefreshAfterMinutes, TimeUnit.MINUTES)
                 .build(new CacheLoader<>() {
                     @Override
                     public ProjectDetails load(String projectKey) throws BusinessServiceException {
@@ -156,6 +169,13 @@ public class JiraProjectServiceImpl extends ProjectServiceBase implements Projec
                         return getProjectDetailsPopulatingCache(projectTicket);
                     }
 
+                    @Override
+                    public ListenableFuture<ProjectDetails> reload(String projectKey, ProjectDetails oldValue) {
+                        ListenableFutureTask<ProjectDetails> reload = ListenableFutureTask.create(() -> load(projectKey));
+                        projectLoadingExecutor.execute(reload);
+                        return reload;
+                    }
+
                     @Override
                     public Map<String, ProjectDetails> loadAll(Iterable<? extends String> keys) throws Exception {
                         Set<String> allKeys = new HashSet<>();
@@ -615,26 +635,39 @@ public class JiraProjectServiceImpl extends ProjectServiceBase implements Projec
             return new ArrayList<>();
         }
         List<Issue> projectTickets = (List<Issue>) collection;
-        final List<AuthoringProject> authoringProjects = Collections.synchronizedList(new ArrayList<>());
-        final List<CodeSystem> codeSystems = snowstormRestClientFactory.getClient().getCodeSystemsLightweight();
-        final Future<Map<String, JiraProject>> unfilteredProjects = executorService.submit(() ->
+        final List<AuthoringProject> authoringProjects = new ArrayList<>();
+        // Jobs only wait on jobs submitted before them, so the bounded pool can not deadlock
+        final Future<Map<String, JiraProject>> unfilteredProjects = projectLoadingExecutor.submit(() ->
                 getProjects(getJiraClient().getRestClient()).stream().collect(Collectors.toMap(JiraProject::key, Function.identity())));
-        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        final Map<String, Future<Branch>> parentBranches = new HashMap<>();
+        for (Issue projectTicket : projectTickets) {
+            // Most projects share a handful of parent branches, fetch each of them once
+            parentBranches.computeIfAbsent(PathHelper.getParentPath(getProjectBranchPath(projectTicket)),
+                    parentPath -> projectLoadingExecutor.submit(() -> branchService.getBranchOrNull(parentPath)));
+        }
+        final List<CodeSystem> codeSystems = snowstormRestClientFactory.getClient().getCodeSystemsLightweight();
 
-        projectTickets.parallelStream().forEach(projectTicket -> {
-            SecurityContextHolder.setContext(securityContext);
+        final Map<Issue, Future<AuthoringProject>> projectLoads = new LinkedHashMap<>();
+        for (Issue projectTicket : projectTickets) {
+            projectLoads.put(projectTicket, projectLoadingExecutor.submit(() ->
+                    toAuthoringProject(projectTicket, codeSystems, lightweight, parentBranches, unfilteredProjects)));
+        }
+        for (Map.Entry<Issue, Future<AuthoringProject>> projectLoad : projectLoads.entrySet()) {
+            final String projectName = projectLoad.getKey().getProject().getName();
             try {
-                AuthoringProject authoringProject = toAuthoringProject(projectTicket, codeSystems, lightweight, unfilteredProjects);
+                AuthoringProject authoringProject = getProjectLoadResult(projectLoad.getValue(), projectName);
                 if (authoringProject != null) {
                     authoringProjects.add(authoringProject);
                 }
-            } catch (RestClientException | ServiceException | ExecutionException e) {
-                logger.error("Failed to fetch details of project {}", projectTicket.getProject().getName(), e);
+            } catch (ExecutionException e) {
+                logger.error("Failed to fetch details of project {}", projectName, e.getCause());
             } catch (InterruptedException e) {
                 logger.error("Interrupted!", e);
+                projectLoads.values().forEach(future -> future.cancel(true));
                 Thread.currentThread().interrupt();
+                break;
             }
-        });
+        }
 
         Set<String> branchPaths = authoringProjects.stream()
                 .map(AuthoringProject::getBranchPath)
@@ -643,18 +676,33 @@ public class JiraProjectServiceImpl extends ProjectServiceBase implements Projec
         return authoringProjects;
     }
 
+    private AuthoringProject getProjectLoadResult(Future<AuthoringProject> future, String projectName) throws ExecutionException, InterruptedException {
+        try {
+            return future.get(projectLoadingCallTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Timed out fetching details of project {} after {} seconds.", projectName, projectLoadingCallTimeoutSeconds);
+            return null;
+        }
+    }
+
+    private String getProjectBranchPath(Issue projectTicket) {
+        final String extensionBase = JiraHelper.toStringOrNull(projectTicket.getField(jiraExtensionBaseField));
+        return PathHelper.getProjectPath(extensionBase, projectTicket.getProject().getKey());
+    }
+
     private AuthoringProject toAuthoringProject(Issue projectTicket, List<CodeSystem> codeSystems, Boolean lightweight,
-                                                Future<Map<String, JiraProject>> unfilteredProjects)
+                                                Map<String, Future<Branch>> parentBranches, Future<Map<String, JiraProject>> unfilteredProjects)
             throws ServiceException, RestClientException, ExecutionException, InterruptedException {
         final String projectKey = projectTicket.getProject().getKey();
-        final String extensionBase = JiraHelper.toStringOrNull(projectTicket.getField(jiraExtensionBaseField));
-        final String branchPath = PathHelper.getProjectPath(extensionBase, projectKey);
+        final String branchPath = getProjectBranchPath(projectTicket);
         final String parentPath = PathHelper.getParentPath(branchPath);
-        final Branch parentBranch = branchService.getBranchOrNull(parentPath);
+        final Branch parentBranch = parentBranches.get(parentPath).get();
         if (parentBranch == null) {
             logger.error("Project {} expected parent branch does not exist: {}", projectKey, parentPath);
             return null;
         }
+        getProjectDetailsPopulatingCache(projectTicket);
 
         ProjectFeatureFlags flags = resolveFeatureFlags(projectTicket);
         BranchDetails branchDetails = toBranchDetails(branchService.getBranchOrNull(branchPath), parentBranch);
@@ -740,6 +788,6 @@ public class JiraProjectServiceImpl extends ProjectServiceBase implements Projec
 
     @PreDestroy
     public void shutdown() {
-        executorService.shutdown();
+        projectLoadingExecutor.shutdown();
     }
 }
@@ -331,6 +331,12 @@ public class JiraTaskServiceImpl extends TaskServiceBase implements TaskService
         return buildAuthoringTasks(issues, lightweight != null && lightweight);
     }
 
+    @Override
+    public AuthoringTaskPage searchTasks(String criteria, Set<String> projectKeys, Set<String> statuses, String author, Long createdDateFrom, Long createdDateTo, Boolean lightweight, String cursor, int limit) throws BusinessServiceException {
+        // Jira cannot page by cursor, all its tasks come with the first page
+        return new AuthoringTaskPage(cursor == null ? searchTasks(criteria, projectKeys, statuses, author, createdDateFrom, createdDateTo, lightweight) : Collections.emptyList(), null);
+    }
+
     /**
      * Checks if all search criteria are empty
      */
@@ -552,6 +558,12 @@ public class JiraTaskServiceImpl extends TaskServiceBase implements TaskService
         return buildAuthoringTasks(issues, codeSystems, false);
     }
 
+    @Override
+    public AuthoringTaskPage listMyOrUnassignedReviewTasks(List<CodeSystem> codeSystems, String excludePromoted, String cursor, int limit) throws BusinessServiceException {
+        // Jira cannot page by cursor, all its tasks come with the first page
+        return new AuthoringTaskPage(cursor == null ? listMyOrUnassignedReviewTasks(codeSystems, excludePromoted) : Collections.emptyList(), null);
+    }
+
     @Override
     public List<String> listMyTaskProjectKeys(String username) throws BusinessServiceException {
         if (StringUtils.isBlank(username)) {
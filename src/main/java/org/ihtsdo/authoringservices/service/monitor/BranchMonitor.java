@@ -60,6 +60,11 @@ public class BranchMonitor extends Monitor {
 		}
 	}
 
+	@Override
+	public String getBranchPath() {
+		return branchPath;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -5,6 +5,9 @@ import org.ihtsdo.authoringservices.domain.Notification;
 public abstract class Monitor { // Using abstract class to enforce overriding java.lang.Object methods
 	public abstract Notification runOnce() throws MonitorException;
 
+	// Monitors of the same branch are shared between users
+	public abstract String getBranchPath();
+
 	public abstract boolean equals(Object other);
 
 	public abstract int hashCode();
@@ -0,0 +1,159 @@
+package org.ihtsdo.authoringservices.service.monitor;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.ihtsdo.authoringservices.domain.EntityType;
+import org.ihtsdo.authoringservices.domain.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the monitors of all users from a single schedule.
+ * Monitors watching the same branch are shared by users with the same roles, and so the same access to the branch.
+ * Each shared monitor is polled once per cycle and any resulting notification is sent to every user subscribed to it.
+ */
+@Service
+public class MonitorScheduler {
+
+	public static final int PAUSE_SECONDS = 10;
+
+	// Keyed by branch path and the roles of the subscribed users
+	private final Map<String, SharedMonitor> sharedMonitors = new ConcurrentHashMap<>();
+	private final Set<UserMonitors> users = ConcurrentHashMap.newKeySet();
+
+	private ExecutorService monitorExecutor;
+
+	@Value("${monitor.scheduler.thread-pool-size}")
+	private int threadPoolSize;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@PostConstruct
+	public void init() {
+		monitorExecutor = Executors.newFixedThreadPool(threadPoolSize);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		monitorExecutor.shutdownNow();
+	}
+
+	public void register(UserMonitors userMonitors) {
+		logger.info("Starting user monitors for {}", userMonitors.getUsername());
+		users.add(userMonitors);
+	}
+
+	public void subscribe(UserMonitors userMonitors, Monitor monitor) {
+		final SharedMonitor sharedMonitor = sharedMonitors.compute(getKey(userMonitors, monitor), (key, existing) -> {
+			SharedMonitor shared = existing != null ? existing : new SharedMonitor(monitor);
+			shared.subscribers.add(userMonitors);
+			return shared;
+		});
+		// Users joining a branch which is already being watched get its last known state straight away
+		for (Notification notification : sharedMonitor.lastNotifications.values()) {
+			userMonitors.notify(copyOf(notification));
+		}
+	}
+
+	public void unsubscribe(UserMonitors userMonitors, Monitor monitor) {
+		sharedMonitors.computeIfPresent(getKey(userMonitors, monitor), (key, shared) -> {
+			shared.subscribers.remove(userMonitors);
+			return shared.subscribers.isEmpty() ? null : shared;
+		});
+	}
+
+	@Scheduled(initialDelay = PAUSE_SECONDS * 1000L, fixedDelay = PAUSE_SECONDS * 1000L)
+	public void runMonitors() {
+		for (UserMonitors userMonitors : users) {
+			if (!userMonitors.isStillInUse()) {
+				expire(userMonitors);
+			}
+		}
+		for (SharedMonitor sharedMonitor : sharedMonitors.values()) {
+			// Skip branches whose previous poll has not finished yet
+			if (sharedMonitor.running.compareAndSet(false, true)) {
+				monitorExecutor.execute(() -> runMonitor(sharedMonitor));
+			}
+		}
+	}
+
+	private void expire(UserMonitors userMonitors) {
+		logger.info("User monitors for {} no longer in use. Closing down.", userMonitors.getUsername());
+		users.remove(userMonitors);
+		for (Monitor monitor : userMonitors.getMonitors()) {
+			unsubscribe(userMonitors, monitor);
+		}
+		userMonitors.expired();
+	}
+
+	private static String getKey(UserMonitors userMonitors, Monitor monitor) {
+		return monitor.getBranchPath() + "|" + userMonitors.getRolesKey();
+	}
+
+	private void runMonitor(SharedMonitor sharedMonitor) {
+		try {
+			// The branch is polled with the credentials of one of the subscribed users,
+			// if they turn out to have no access it is polled again as the next
+			for (UserMonitors pollingUser : sharedMonitor.subscribers) {
+				if (poll(sharedMonitor, pollingUser)) {
+					return;
+				}
+			}
+		} finally {
+			sharedMonitor.running.set(false);
+		}
+	}
+
+	/**
+	 * @return false if the polling user has no access to the branch and has been unsubscribed
+	 */
+	private boolean poll(SharedMonitor sharedMonitor, UserMonitors pollingUser) {
+		final Monitor monitor = sharedMonitor.monitor;
+		logger.debug("Running monitor {}", monitor);
+		try {
+			SecurityContextHolder.getContext().setAuthentication(pollingUser.getAuthentication());
+			final Notification notification = monitor.runOnce();
+			logger.debug("Monitor {}, notification result {}", monitor, notification);
+			if (notification != null) {
+				sharedMonitor.lastNotifications.put(notification.getEntityType(), notification);
+				for (UserMonitors subscriber : sharedMonitor.subscribers) {
+					subscriber.notify(copyOf(notification));
+				}
+			}
+			return true;
+		} catch (MonitorException e) {
+			return !pollingUser.handleMonitorException(monitor, e);
+		} catch (RuntimeException e) {
+			logger.error("Monitor run failed.", e);
+			return true;
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	// Notifications are enriched per user when queued so each subscriber gets its own instance
+	private static Notification copyOf(Notification notification) {
+		return new Notification(notification.getProject(), notification.getTask(), notification.getEntityType(), notification.getEvent());
+	}
+
+	private static final class SharedMonitor {
+		private final Monitor monitor;
+		private final Set<UserMonitors> subscribers = ConcurrentHashMap.newKeySet();
+		private final Map<EntityType, Notification> lastNotifications = new ConcurrentHashMap<>();
+		private final AtomicBoolean running = new AtomicBoolean();
+
+		private SharedMonitor(Monitor monitor) {
+			this.monitor = monitor;
+		}
+	}
+}
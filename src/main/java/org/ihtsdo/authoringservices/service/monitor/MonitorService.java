@@ -2,13 +2,14 @@ package org.ihtsdo.authoringservices.service.monitor;
 
 import org.ihtsdo.otf.rest.exception.BusinessServiceException;
 import org.ihtsdo.authoringservices.service.NotificationService;
+import org.ihtsdo.authoringservices.service.PermissionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class MonitorService {
@@ -19,14 +20,22 @@ public class MonitorService {
     @Autowired
     private MonitorFactory monitorFactory;
 
-    private final Map<String, UserMonitors> userMonitorsMap = new HashMap<>();
+    @Autowired
+    private MonitorScheduler monitorScheduler;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    private final Map<String, UserMonitors> userMonitorsMap = new ConcurrentHashMap<>();
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	public void updateUserFocus(String username, String token, String focusProjectId, String focusTaskId) throws BusinessServiceException {
 		logger.info("Starting: Updating user focus for {} [{}/{}]", username, focusProjectId, focusTaskId);
 		createIfNotExists(username, token);
-		userMonitorsMap.get(username).updateFocus(focusProjectId, focusTaskId);
+		final UserMonitors userMonitors = userMonitorsMap.get(username);
+		userMonitors.setRoles(permissionService.getUserRoles());
+		userMonitors.updateFocus(focusProjectId, focusTaskId);
 		logger.info("Finished: Updating user focus for {} [{}/{}]", username, focusProjectId, focusTaskId);
 	}
 
@@ -46,7 +55,7 @@ public class MonitorService {
                             userMonitorsMap.remove(username);
                         }
                     };
-					final UserMonitors userMonitors = new UserMonitors(username, monitorFactory, notificationService, deathCallback);
+					final UserMonitors userMonitors = new UserMonitors(username, monitorFactory, monitorScheduler, notificationService, deathCallback);
 					userMonitors.setToken(token);
 					this.userMonitorsMap.put(username, userMonitors);
 				}
@@ -6,7 +6,7 @@ import org.ihtsdo.authoringservices.domain.Notification;
 import org.ihtsdo.authoringservices.service.NotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
 
 import java.util.*;
@@ -14,8 +14,10 @@ import java.util.*;
 public class UserMonitors {
 
 	private String username;
-	private String token;
-	private Date lastAccessed;
+	private volatile String token;
+	// Users with the same roles have the same access to a branch, so they can share its monitor
+	private volatile String rolesKey = "";
+	private volatile Date lastAccessed;
 	private boolean started;
 	private final Runnable deathCallback;
 
@@ -23,15 +25,16 @@ public class UserMonitors {
 	private final Set<Monitor> monitorLoggedError;
 
 	private final MonitorFactory monitorFactory;
+	private final MonitorScheduler monitorScheduler;
 	private final NotificationService notificationService;
 
 	public static final int KEEP_ALIVE_MINUTES = 2;
-	private static final int PAUSE_SECONDS = 10;
 	private Logger logger = LoggerFactory.getLogger(getClass());
 
-	public UserMonitors(String username, MonitorFactory monitorFactory, NotificationService notificationService, Runnable deathCallback) {
+	public UserMonitors(String username, MonitorFactory monitorFactory, MonitorScheduler monitorScheduler, NotificationService notificationService, Runnable deathCallback) {
 		this.username = username;
 		this.monitorFactory = monitorFactory;
+		this.monitorScheduler = monitorScheduler;
 		this.notificationService = notificationService;
 		currentMonitors = new HashMap<>();
 		monitorLoggedError = new HashSet<>();
@@ -39,83 +42,88 @@ public class UserMonitors {
 		accessed();
 	}
 
+	public String getUsername() {
+		return username;
+	}
+
 	public void setToken(String token) {
 		this.token = token;
 	}
 
+	/**
+	 * Monitors already running are moved to those shared by users with the new roles.
+	 */
+	public void setRoles(Collection<String> roles) {
+		String newRolesKey = String.join(",", new TreeSet<>(roles));
+		synchronized (currentMonitors) {
+			if (newRolesKey.equals(rolesKey)) {
+				return;
+			}
+			for (Monitor monitor : currentMonitors.values()) {
+				monitorScheduler.unsubscribe(this, monitor);
+			}
+			rolesKey = newRolesKey;
+			for (Monitor monitor : currentMonitors.values()) {
+				monitorScheduler.subscribe(this, monitor);
+			}
+		}
+	}
+
+	String getRolesKey() {
+		return rolesKey;
+	}
+
 	public void start() {
 		synchronized (this) {
 			started = true;
 		}
-		new Thread(() -> {
-			try {
-				startMonitorForUser();
-			} catch (InterruptedException e) {
-				// This will probably happen when we restart the application.
-				logger.info("User monitor interrupted.", e);
-				Thread.currentThread().interrupt();
-			}
-		}, "UserMonitor-" + username).start();
-	}
-
-	private void startMonitorForUser() throws InterruptedException {
-		logger.info("Starting user monitors for {}", username);
-		while (isStillInUse()) {
-			PreAuthenticatedAuthenticationToken decoratedAuthentication = new PreAuthenticatedAuthenticationToken(username, token);
-			SecurityContextHolder.getContext().setAuthentication(decoratedAuthentication);
-
-			final List<Class<?>> keys = new ArrayList<>(currentMonitors.keySet());
-			final int size = keys.size();
-			for (int i = 0; i < size; i++) { // Old style for loop to avoid any concurrent modification problem.
-				Monitor monitor = null;
-				synchronized (currentMonitors) {
-					if (currentMonitors.size() > i) {
-						monitor = currentMonitors.get(keys.get(i));
-					}
-				}
-				if (monitor != null) {
-					runMonitor(monitor);
-				}
-			}
-			Thread.sleep(PAUSE_SECONDS * 1000L);
+		monitorScheduler.register(this);
+	}
+
+	Authentication getAuthentication() {
+		return new PreAuthenticatedAuthenticationToken(username, token);
+	}
+
+	List<Monitor> getMonitors() {
+		synchronized (currentMonitors) {
+			return new ArrayList<>(currentMonitors.values());
 		}
-		logger.info("User monitors for {} no longer in use. Closing down.", username);
+	}
+
+	void notify(Notification notification) {
+		notificationService.queueNotification(username, notification);
+	}
+
+	void expired() {
 		deathCallback.run();
 	}
 
-	private void runMonitor(Monitor monitor) {
-		logger.debug("Running monitor {}", monitor);
-		try {
-			final Notification notification = monitor.runOnce();
-			logger.debug("Monitor {}, notification result {}", monitor, notification);
-			if (notification != null) {
-				notificationService.queueNotification(username, notification);
+	/**
+	 * @return true if the user has no access to the monitored branch, the monitor has then been removed
+	 */
+	boolean handleMonitorException(Monitor monitor, MonitorException e) {
+		// Log monitor exception only once per monitor
+		synchronized (currentMonitors) {
+			if (!currentMonitors.containsValue(monitor)) {
+				return false;
 			}
-		} catch (MonitorException e) {
-			// Log monitor exception only once per monitor
-			synchronized (currentMonitors) {
-				if (currentMonitors.containsValue(monitor)) {
-					handleMonitorException(monitor, e);
+			if (e.getCause() != null && e.getCause().getCause() != null) {
+				RestClientException restClientException = (RestClientException) e.getCause().getCause();
+				if (restClientException.getMessage().startsWith("Failed to retrieve Branch, status code: 403")) {
+					currentMonitors.remove(monitor.getClass());
+					monitorScheduler.unsubscribe(this, monitor);
+					logger.error("Monitor run failed.", e);
+					return true;
 				}
 			}
-		}
-	}
 
-	private void handleMonitorException(Monitor monitor, MonitorException e) {
-		if (e.getCause() != null && e.getCause().getCause() != null) {
-			RestClientException restClientException = (RestClientException) e.getCause().getCause();
-			if (restClientException.getMessage().startsWith("Failed to retrieve Branch, status code: 403")) {
-				currentMonitors.remove(monitor.getClass());
+			if (!monitorLoggedError.contains(monitor)) {
+				monitorLoggedError.add(monitor);
 				logger.error("Monitor run failed.", e);
-				return;
+			} else {
+				logger.info("Monitor run failed again.", e);
 			}
-		}
-
-		if (!monitorLoggedError.contains(monitor)) {
-			monitorLoggedError.add(monitor);
-			logger.error("Monitor run failed.", e);
-		} else {
-			logger.info("Monitor run failed again.", e);
+			return false;
 		}
 	}
 
@@ -134,7 +142,9 @@ public class UserMonitors {
 				final Monitor replaced = currentMonitors.put(monitor.getClass(), monitor);
 				if (replaced != null) {
 					monitorLoggedError.remove(replaced);
+					monitorScheduler.unsubscribe(this, replaced);
 				}
+				monitorScheduler.subscribe(this, monitor);
 			}
 		}
 	}
@@ -153,7 +163,7 @@ public class UserMonitors {
 		lastAccessed = new Date();
 	}
 
-	private boolean isStillInUse() {
+	boolean isStillInUse() {
 		return lastAccessed.after(getMinLastAccessedTime());
 	}
 
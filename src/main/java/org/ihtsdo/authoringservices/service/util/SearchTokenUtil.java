@@ -0,0 +1,41 @@
+package org.ihtsdo.authoringservices.service.util;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lower case, accent free words so that it can be searched by word prefix using an index.
+ */
+public class SearchTokenUtil {
+
+    // Matches the size of the token column
+    public static final int MAX_TOKEN_LENGTH = 100;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTokenUtil() {}
+
+    public static Set<String> tokenize(String... texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (String word : WORD_SEPARATORS.split(normalize(text))) {
+                if (!word.isEmpty()) {
+                    tokens.add(word.length() > MAX_TOKEN_LENGTH ? word.substring(0, MAX_TOKEN_LENGTH) : word);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
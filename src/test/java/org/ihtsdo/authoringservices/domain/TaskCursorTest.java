@@ -0,0 +1,21 @@
+package org.ihtsdo.authoringservices.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TaskCursorTest {
+
+	@Test
+	public void testEncodeAndDecode() {
+		TaskCursor cursor = new TaskCursor(1735689600000L, "PROJECTA-12");
+		assertEquals(cursor, TaskCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	public void testDecodeInvalidCursor() {
+		assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode("not a cursor"));
+		assertThrows(IllegalArgumentException.class, () -> TaskCursor.decode(java.util.Base64.getUrlEncoder().encodeToString("PROJECTA-12".getBytes())));
+	}
+}
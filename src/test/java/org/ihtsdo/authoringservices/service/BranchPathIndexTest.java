@@ -0,0 +1,48 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BranchPathIndexTest {
+
+	@Test
+	public void testGetSubtree() {
+		BranchPathIndex index = newIndex();
+		assertEquals(Set.of("MAIN/PROJECTA", "MAIN/PROJECTA/PROJECTA-1", "MAIN/PROJECTA/PROJECTA-10"), new HashSet<>(index.getSubtree("MAIN/PROJECTA")));
+		assertEquals(List.of("MAIN/PROJECTA/PROJECTA-1"), index.getSubtree("MAIN/PROJECTA/PROJECTA-1"));
+		assertTrue(index.getSubtree("MAIN/PROJECTB").isEmpty());
+	}
+
+	@Test
+	public void testGetSubtreeWithExclusion() {
+		BranchPathIndex index = newIndex();
+		assertEquals(Set.of("MAIN", "MAIN/PROJECTA", "MAIN/PROJECTA/PROJECTA-1", "MAIN/PROJECTA/PROJECTA-10"),
+				new HashSet<>(index.getSubtree("MAIN", path -> path.startsWith("MAIN/SNOMEDCT-"))));
+	}
+
+	@Test
+	public void testRemove() {
+		BranchPathIndex index = newIndex();
+		index.remove("MAIN/PROJECTA");
+		index.remove("MAIN/SNOMEDCT-BE/PROJECTC");
+		assertEquals(Set.of("MAIN", "MAIN/PROJECTA/PROJECTA-1", "MAIN/PROJECTA/PROJECTA-10", "MAIN/SNOMEDCT-BE"), new HashSet<>(index.getAll()));
+		assertEquals(Set.of("MAIN/PROJECTA/PROJECTA-1", "MAIN/PROJECTA/PROJECTA-10"), new HashSet<>(index.getSubtree("MAIN/PROJECTA")));
+	}
+
+	private BranchPathIndex newIndex() {
+		BranchPathIndex index = new BranchPathIndex();
+		index.add("MAIN");
+		index.add("MAIN/PROJECTA");
+		index.add("MAIN/PROJECTA/PROJECTA-1");
+		index.add("MAIN/PROJECTA/PROJECTA-10");
+		index.add("MAIN/SNOMEDCT-BE");
+		index.add("MAIN/SNOMEDCT-BE/PROJECTC");
+		return index;
+	}
+}
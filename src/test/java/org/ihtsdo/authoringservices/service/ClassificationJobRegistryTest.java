@@ -0,0 +1,81 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.domain.ClassificationRequest;
+import org.ihtsdo.authoringservices.entity.ClassificationJob;
+import org.ihtsdo.authoringservices.repository.ClassificationJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.core.Authentication;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ClassificationJobRegistryTest {
+
+	private ClassificationJobRepository classificationJobRepository;
+	private ClassificationJobRegistry classificationJobRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		classificationJobRepository = mock(ClassificationJobRepository.class);
+		classificationJobRegistry = new ClassificationJobRegistry(classificationJobRepository);
+	}
+
+	@Test
+	public void testCompleteReturnsRegisteredRequest() {
+		ClassificationRequest request = request("c1");
+		classificationJobRegistry.register(request, "user");
+		when(classificationJobRepository.findById("c1")).thenReturn(Optional.of(new ClassificationJob("c1", "PROJECTA", "PROJECTA-1", "MAIN/PROJECTA/PROJECTA-1", "user")));
+
+		assertSame(request, classificationJobRegistry.complete("c1"));
+		assertFalse(request.isRecovered());
+		verify(classificationJobRepository).save(any(ClassificationJob.class));
+		verify(classificationJobRepository).delete(any(ClassificationJob.class));
+	}
+
+	@Test
+	public void testCompleteRecoversRequestStartedBeforeRestart() {
+		when(classificationJobRepository.findById("c1")).thenReturn(Optional.of(new ClassificationJob("c1", "PROJECTA", "PROJECTA-1", "MAIN/PROJECTA/PROJECTA-1", "user")));
+
+		ClassificationRequest request = classificationJobRegistry.complete("c1");
+
+		assertEquals("PROJECTA-1", request.getTaskKey());
+		assertEquals("MAIN/PROJECTA/PROJECTA-1", request.getBranchPath());
+		Authentication authentication = request.getAuthentication();
+		assertEquals("user", authentication.getPrincipal());
+		// Only the username is stored, so the completion is reported without acting as the user
+		assertNull(authentication.getCredentials());
+		assertTrue(request.isRecovered());
+	}
+
+	@Test
+	public void testCompleteReturnsRegisteredRequestWhenDatabaseUnavailable() {
+		ClassificationRequest request = request("c1");
+		classificationJobRegistry.register(request, "user");
+		when(classificationJobRepository.findById("c1")).thenThrow(new DataAccessResourceFailureException("Database unavailable"));
+
+		assertSame(request, classificationJobRegistry.complete("c1"));
+		assertNull(classificationJobRegistry.complete("c1"));
+	}
+
+	@Test
+	public void testCompleteIgnoresUnknownClassification() {
+		when(classificationJobRepository.findById("c1")).thenReturn(Optional.empty());
+
+		assertNull(classificationJobRegistry.complete("c1"));
+		verify(classificationJobRepository, never()).delete(any(ClassificationJob.class));
+	}
+
+	private ClassificationRequest request(String classificationId) {
+		ClassificationRequest request = new ClassificationRequest();
+		request.setClassificationId(classificationId);
+		request.setProjectKey("PROJECTA");
+		request.setTaskKey("PROJECTA-1");
+		request.setBranchPath("MAIN/PROJECTA/PROJECTA-1");
+		return request;
+	}
+}
@@ -0,0 +1,83 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConversionPipeTest {
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	public void setUp() {
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testReaderGetsCompleteOutput() throws IOException {
+		byte[] output = new byte[100_000];
+		Arrays.fill(output, (byte) 7);
+		ConversionPipe pipe = new ConversionPipe(1024);
+		pipe.start(executor, out -> out.write(output));
+
+		try (InputStream input = pipe) {
+			assertArrayEquals(output, input.readAllBytes());
+		}
+		assertTrue(pipe.isFullyRead());
+		assertFalse(pipe.isConversionFailed());
+	}
+
+	@Test
+	public void testConversionFailureIsReadError() throws IOException {
+		ConversionPipe pipe = new ConversionPipe(1024);
+		pipe.start(executor, out -> {
+			out.write(new byte[10_000]);
+			throw new IOException("Bad export");
+		});
+
+		IOException e = assertThrows(IOException.class, pipe::readAllBytes);
+		assertEquals("Bad export", e.getCause().getMessage());
+		assertTrue(pipe.isConversionFailed());
+		assertFalse(pipe.isFullyRead());
+		pipe.close();
+	}
+
+	@Test
+	public void testConversionStopsWhenReaderCloses() throws Exception {
+		CompletableFuture<Exception> writerFailure = new CompletableFuture<>();
+		ConversionPipe pipe = new ConversionPipe(1024);
+		pipe.start(executor, out -> {
+			try {
+				// Far more than the pipe holds, so the writer is waiting for space when the reader closes
+				for (int i = 0; i < 100_000; i++) {
+					out.write(new byte[1024]);
+				}
+				writerFailure.complete(null);
+			} catch (IOException e) {
+				writerFailure.complete(e);
+				throw e;
+			}
+		});
+
+		assertEquals(1024, pipe.readNBytes(1024).length);
+		pipe.close();
+
+		assertInstanceOf(IOException.class, writerFailure.get(10, TimeUnit.SECONDS));
+		assertFalse(pipe.isFullyRead());
+	}
+}
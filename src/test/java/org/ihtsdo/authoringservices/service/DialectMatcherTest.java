@@ -0,0 +1,51 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DialectMatcherTest {
+
+	private final DialectMatcher<String> matcher = DialectMatcher.build(Map.of(
+			"color", "colour",
+			"fecal", "faecal",
+			"fecal matter", "faecal material",
+			"tumor", "tumour"), word -> word.substring(0, 1).toUpperCase() + word.substring(1));
+
+	@Test
+	public void testScanFindsSingleWords() {
+		Map<String, String> matches = scan("Tumor of skin, color change");
+
+		assertEquals(Map.of("Tumor", "Tumour", "color", "colour"), matches);
+	}
+
+	@Test
+	public void testScanPrefersLongestPhrase() {
+		assertEquals(Map.of("fecal  matter", "faecal material"), scan("Blood in fecal  matter"));
+		assertEquals(Map.of("fecal", "faecal"), scan("fecal incontinence"));
+	}
+
+	@Test
+	public void testScanMatchesWholeWordsOnly() {
+		assertTrue(scan("Colorectal tumors").isEmpty());
+	}
+
+	@Test
+	public void testEmptyMatcherFindsNothing() {
+		Map<String, String> matches = new HashMap<>();
+		DialectMatcher.<String>empty().scan("color", matches::put);
+
+		assertTrue(matches.isEmpty());
+		assertEquals(0, DialectMatcher.build(Map.of(" ", "x"), UnaryOperator.identity()).size());
+	}
+
+	private Map<String, String> scan(String text) {
+		Map<String, String> matches = new HashMap<>();
+		matcher.scan(text, matches::put);
+		return matches;
+	}
+}
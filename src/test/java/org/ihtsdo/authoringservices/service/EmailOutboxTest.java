@@ -0,0 +1,101 @@
+package org.ihtsdo.authoringservices.service;
+
+import jakarta.mail.Message;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.ihtsdo.authoringservices.entity.EmailOutboxMessage;
+import org.ihtsdo.authoringservices.repository.EmailOutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class EmailOutboxTest {
+
+	private EmailOutboxMessageRepository emailOutboxMessageRepository;
+	private JavaMailSender mailSender;
+	private EmailOutbox emailOutbox;
+
+	@BeforeEach
+	public void setUp() {
+		emailOutboxMessageRepository = mock(EmailOutboxMessageRepository.class);
+		mailSender = mock(JavaMailSender.class);
+		SpringTemplateEngine templateEngine = mock(SpringTemplateEngine.class);
+		when(templateEngine.process(anyString(), any(IContext.class))).thenReturn("<p>Task reviewed</p>");
+		when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+		when(emailOutboxMessageRepository.claim(anyLong(), any(Timestamp.class), any(Timestamp.class))).thenReturn(1);
+
+		emailOutbox = new EmailOutbox(emailOutboxMessageRepository, mailSender, templateEngine);
+		ReflectionTestUtils.setField(emailOutbox, "from", "no-reply@example.com");
+		ReflectionTestUtils.setField(emailOutbox, "threadPoolSize", 2);
+		ReflectionTestUtils.setField(emailOutbox, "batchSize", 100);
+		ReflectionTestUtils.setField(emailOutbox, "maxAttempts", 3);
+		ReflectionTestUtils.setField(emailOutbox, "retryDelaySeconds", 30L);
+		ReflectionTestUtils.setField(emailOutbox, "deliveryTimeoutMinutes", 10L);
+		emailOutbox.init();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		emailOutbox.shutdown();
+	}
+
+	@Test
+	public void testEmailsWithSameContentAreSentTogether() throws Exception {
+		EmailOutboxMessage first = message("a@example.com");
+		EmailOutboxMessage second = message("b@example.com");
+		when(emailOutboxMessageRepository.findByNextAttemptDateLessThanEqualOrderById(any(Timestamp.class), any(Pageable.class))).thenReturn(List.of(first, second));
+
+		emailOutbox.deliverDueMessages();
+
+		ArgumentCaptor<MimeMessage[]> sent = ArgumentCaptor.forClass(MimeMessage[].class);
+		verify(mailSender).send(sent.capture());
+		assertEquals(1, sent.getValue().length);
+		assertEquals(2, sent.getValue()[0].getRecipients(Message.RecipientType.TO).length);
+		verify(emailOutboxMessageRepository).deleteAll(List.of(first, second));
+	}
+
+	@Test
+	public void testFailedEmailIsRetriedLater() {
+		EmailOutboxMessage message = message("a@example.com");
+		when(emailOutboxMessageRepository.findByNextAttemptDateLessThanEqualOrderById(any(Timestamp.class), any(Pageable.class))).thenReturn(List.of(message));
+		doThrow(new MailSendException("Mail server unavailable")).when(mailSender).send(any(MimeMessage[].class));
+
+		emailOutbox.deliverDueMessages();
+
+		verify(emailOutboxMessageRepository).save(message);
+		assertEquals(1, message.getAttempts());
+		assertTrue(message.getNextAttemptDate().getTime() > System.currentTimeMillis());
+	}
+
+	@Test
+	public void testEmailClaimedElsewhereIsNotSent() {
+		EmailOutboxMessage message = message("a@example.com");
+		when(emailOutboxMessageRepository.findByNextAttemptDateLessThanEqualOrderById(any(Timestamp.class), any(Pageable.class))).thenReturn(List.of(message));
+		when(emailOutboxMessageRepository.claim(anyLong(), any(Timestamp.class), any(Timestamp.class))).thenReturn(0);
+
+		emailOutbox.deliverDueMessages();
+
+		verify(mailSender, never()).send(any(MimeMessage[].class));
+	}
+
+	private EmailOutboxMessage message(String recipient) {
+		return new EmailOutboxMessage("Task review completed", "Notify-Task-Review-Complete-Template",
+				"{\"taskId\":\"PROJECTA-1\"}", recipient);
+	}
+}
@@ -0,0 +1,224 @@
+package org.ihtsdo.authoringservices.service;
+
+import net.rcarz.jiraclient.Issue;
+import net.rcarz.jiraclient.JiraClient;
+import net.rcarz.jiraclient.Status;
+import org.ihtsdo.authoringservices.domain.AuthoringTask;
+import org.ihtsdo.authoringservices.domain.JiraTaskMigrationProgress;
+import org.ihtsdo.authoringservices.domain.TaskStatus;
+import org.ihtsdo.authoringservices.domain.User;
+import org.ihtsdo.authoringservices.entity.JiraTaskMigrationCheckpoint;
+import org.ihtsdo.authoringservices.entity.Project;
+import org.ihtsdo.authoringservices.repository.JiraTaskMigrationCheckpointRepository;
+import org.ihtsdo.authoringservices.repository.ProjectRepository;
+import org.ihtsdo.authoringservices.repository.TaskRepository;
+import org.ihtsdo.authoringservices.service.jira.ImpersonatingJiraClientFactory;
+import org.ihtsdo.otf.rest.exception.BusinessServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+
+import static org.ihtsdo.authoringservices.service.impl.JiraProjectServiceImpl.UNIT_TEST;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class JiraAuthoringTaskMigrateServiceTest {
+
+	private static final String PROJECT_KEY = "PROJA";
+	private static final long CREATED_START = 1704103200000L;
+
+	private JiraClient jiraClient;
+	private TaskRepository taskRepository;
+	private TaskService jiraTaskService;
+	private JiraTaskMigrationCheckpointRepository checkpointRepository;
+	private JiraAuthoringTaskMigrateService migrateService;
+	private List<String> savedCheckpoints;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		jiraClient = mock(JiraClient.class);
+		ImpersonatingJiraClientFactory jiraClientFactory = mock(ImpersonatingJiraClientFactory.class);
+		when(jiraClientFactory.getAdminInstance()).thenReturn(jiraClient);
+		taskRepository = mock(TaskRepository.class);
+		when(taskRepository.findAllById(any())).thenReturn(Collections.emptyList());
+		jiraTaskService = mock(TaskService.class);
+		checkpointRepository = mock(JiraTaskMigrationCheckpointRepository.class);
+		when(checkpointRepository.findById(PROJECT_KEY)).thenReturn(Optional.empty());
+		savedCheckpoints = new ArrayList<>();
+		when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+			JiraTaskMigrationCheckpoint checkpoint = invocation.getArgument(0);
+			savedCheckpoints.add(checkpoint.getIssuesProcessed() + " " + checkpoint.getFailedIssueKeys() + " " + checkpoint.isCompleted());
+			return checkpoint;
+		});
+		Project project = new Project();
+		project.setKey(PROJECT_KEY);
+		project.setBranchPath("MAIN/" + PROJECT_KEY);
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		when(projectRepository.findAllById(Set.of(PROJECT_KEY))).thenReturn(List.of(project));
+
+		migrateService = new JiraAuthoringTaskMigrateService(jiraClientFactory, UNIT_TEST, true);
+		ReflectionTestUtils.setField(migrateService, "taskRepository", taskRepository);
+		ReflectionTestUtils.setField(migrateService, "projectRepository", projectRepository);
+		ReflectionTestUtils.setField(migrateService, "jiraTaskService", jiraTaskService);
+		ReflectionTestUtils.setField(migrateService, "checkpointRepository", checkpointRepository);
+		ReflectionTestUtils.setField(migrateService, "transactionManager", mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(migrateService, "pageSize", 2);
+		ReflectionTestUtils.setField(migrateService, "threadPoolSize", 2);
+		migrateService.init();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		migrateService.shutdown();
+	}
+
+	@Test
+	public void testIssuesMigratedPageByPage() throws Exception {
+		mockSearch(0, 3, "PROJA-1", "PROJA-2");
+		mockSearch(2, 3, "PROJA-3");
+		mockRetrieveTasks("PROJA-1", "PROJA-2", "PROJA-3");
+
+		JiraTaskMigrationProgress progress = migrate();
+
+		assertEquals(List.of("2 [] false", "3 [] true"), savedCheckpoints);
+		verify(taskRepository, times(2)).saveAll(any());
+		assertEquals(3, progress.getIssuesProcessed());
+		assertEquals(3, progress.getTasksMigrated());
+		assertEquals(1, progress.getProjectsCompleted());
+		assertEquals(0, progress.getFailures());
+	}
+
+	@Test
+	public void testMigrationResumesAfterLastIssueOfCheckpoint() throws Exception {
+		JiraTaskMigrationCheckpoint checkpoint = new JiraTaskMigrationCheckpoint(PROJECT_KEY);
+		checkpoint.setIssuesProcessed(2);
+		checkpoint.setTasksMigrated(2);
+		checkpoint.setLastIssue(created("PROJA-2"), "PROJA-2");
+		when(checkpointRepository.findById(PROJECT_KEY)).thenReturn(Optional.of(checkpoint));
+		// PROJA-1 has been deleted since, the issues still to be migrated are found all the same
+		mockSearch(0, 2, "PROJA-2", "PROJA-3");
+		mockRetrieveTasks("PROJA-3");
+
+		JiraTaskMigrationProgress progress = migrate();
+
+		verify(jiraClient).searchIssues(contains("AND created >= \"2023/12/31 10:02\""), isNull(), eq(2), eq(0));
+		verify(jiraTaskService, never()).retrieveTask(PROJECT_KEY, "PROJA-2", true, true);
+		assertEquals(List.of("3 [] true"), savedCheckpoints);
+		assertEquals("PROJA-3", checkpoint.getLastIssueKey());
+		assertEquals(3, checkpoint.getTasksMigrated());
+		assertEquals(1, progress.getTasksMigrated());
+	}
+
+	@Test
+	public void testIssuesCreatedInTheSameMillisecondOrderedByKey() throws Exception {
+		JiraTaskMigrationCheckpoint checkpoint = new JiraTaskMigrationCheckpoint(PROJECT_KEY);
+		checkpoint.setLastIssue(created("PROJA-3"), "PROJA-9");
+		when(checkpointRepository.findById(PROJECT_KEY)).thenReturn(Optional.of(checkpoint));
+		List<Issue> issues = mockSearch(0, 2, "PROJA-9", "PROJA-10");
+		for (Issue issue : issues) {
+			when(issue.getCreatedDate()).thenReturn(new Date(created("PROJA-3")));
+		}
+		mockRetrieveTasks("PROJA-10");
+
+		migrate();
+
+		verify(jiraTaskService, never()).retrieveTask(PROJECT_KEY, "PROJA-9", true, true);
+		assertEquals("PROJA-10", checkpoint.getLastIssueKey());
+	}
+
+	@Test
+	public void testCompletedProjectSkipped() throws Exception {
+		JiraTaskMigrationCheckpoint checkpoint = new JiraTaskMigrationCheckpoint(PROJECT_KEY);
+		checkpoint.setCompleted(true);
+		when(checkpointRepository.findById(PROJECT_KEY)).thenReturn(Optional.of(checkpoint));
+
+		JiraTaskMigrationProgress progress = migrate();
+
+		verifyNoInteractions(jiraClient);
+		assertEquals(1, progress.getProjectsCompleted());
+	}
+
+	@Test
+	public void testFailedIssueRetriedOnNextRun() throws Exception {
+		Issue failingIssue = mockSearch(0, 2, "PROJA-1", "PROJA-2").get(1);
+		mockRetrieveTasks("PROJA-1");
+		when(jiraTaskService.retrieveTask(PROJECT_KEY, "PROJA-2", true, true)).thenThrow(new BusinessServiceException("Jira unavailable"));
+
+		JiraTaskMigrationProgress progress = migrate();
+
+		// The project is not completed while an issue has failed
+		assertEquals(List.of("2 [PROJA-2] false"), savedCheckpoints);
+		assertEquals(0, progress.getProjectsCompleted());
+		assertEquals(1, progress.getFailures());
+
+		JiraTaskMigrationCheckpoint checkpoint = new JiraTaskMigrationCheckpoint(PROJECT_KEY);
+		checkpoint.setIssuesProcessed(2);
+		checkpoint.setTasksMigrated(1);
+		checkpoint.setLastIssue(created("PROJA-2"), "PROJA-2");
+		checkpoint.setFailedIssueKeys(List.of("PROJA-2"));
+		when(checkpointRepository.findById(PROJECT_KEY)).thenReturn(Optional.of(checkpoint));
+		when(jiraClient.getIssue("PROJA-2")).thenReturn(failingIssue);
+		mockRetrieveTasks("PROJA-2");
+		savedCheckpoints.clear();
+
+		progress = migrate();
+
+		assertEquals(List.of("2 [] false", "2 [] true"), savedCheckpoints);
+		assertEquals(2, checkpoint.getTasksMigrated());
+		assertEquals(1, progress.getProjectsCompleted());
+		assertEquals(0, progress.getFailures());
+	}
+
+	private JiraTaskMigrationProgress migrate() throws InterruptedException {
+		migrateService.migrateJiraTasks(Set.of(PROJECT_KEY), false);
+		for (int i = 0; i < 500 && migrateService.getProgress().isRunning(); i++) {
+			Thread.sleep(10);
+		}
+		JiraTaskMigrationProgress progress = migrateService.getProgress();
+		assertFalse(progress.isRunning());
+		return progress;
+	}
+
+	private List<Issue> mockSearch(int startAt, int total, String... issueKeys) throws Exception {
+		List<Issue> issues = new ArrayList<>();
+		for (String issueKey : issueKeys) {
+			Status status = mock(Status.class);
+			when(status.getName()).thenReturn(TaskStatus.NEW.getLabel());
+			Issue issue = mock(Issue.class);
+			when(issue.getKey()).thenReturn(issueKey);
+			when(issue.getStatus()).thenReturn(status);
+			when(issue.getCreatedDate()).thenReturn(new Date(created(issueKey)));
+			issues.add(issue);
+		}
+		Issue.SearchResult searchResult = mock(Issue.SearchResult.class);
+		searchResult.total = total;
+		searchResult.issues = issues;
+		when(jiraClient.searchIssues(anyString(), isNull(), eq(2), eq(startAt))).thenReturn(searchResult);
+		return issues;
+	}
+
+	// Each issue is created a minute after the one before, starting at 2024-01-01 10:00 UTC
+	private static long created(String issueKey) {
+		return CREATED_START + Integer.parseInt(issueKey.substring(issueKey.indexOf('-') + 1)) * 60_000L;
+	}
+
+	private void mockRetrieveTasks(String... issueKeys) throws BusinessServiceException {
+		for (String issueKey : issueKeys) {
+			AuthoringTask task = new AuthoringTask();
+			task.setKey(issueKey);
+			task.setSummary("Task " + issueKey);
+			task.setStatus(TaskStatus.NEW);
+			User reporter = new User();
+			reporter.setUsername("reporter");
+			task.setReporter(reporter);
+			task.setCreated("2024-01-01T10:00:00.000+0000");
+			task.setUpdated("2024-01-02T10:00:00.000+0000");
+			doReturn(task).when(jiraTaskService).retrieveTask(PROJECT_KEY, issueKey, true, true);
+		}
+	}
+}
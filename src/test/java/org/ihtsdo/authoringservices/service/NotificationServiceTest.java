@@ -12,14 +12,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpSubscription;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationServiceTest {
@@ -30,6 +37,12 @@ class NotificationServiceTest {
 	@Mock
 	private SnowstormClassificationClient classificationClient;
 
+	@Mock
+	private SimpMessagingTemplate simpMessagingTemplate;
+
+	@Mock
+	private SimpUserRegistry simpUserRegistry;
+
 	@InjectMocks
 	private NotificationService notificationService;
 
@@ -37,6 +50,35 @@ class NotificationServiceTest {
 	void setUp() {
 		ReflectionTestUtils.setField(notificationService, "branchService", branchService);
 		ReflectionTestUtils.setField(notificationService, "classificationClient", classificationClient);
+		ReflectionTestUtils.setField(notificationService, "simpMessagingTemplate", simpMessagingTemplate);
+		ReflectionTestUtils.setField(notificationService, "simpUserRegistry", simpUserRegistry);
+	}
+
+	@Test
+	void queueNotificationPushesToSubscribedUser() {
+		SimpSubscription subscription = mock(SimpSubscription.class);
+		when(subscription.getDestination()).thenReturn("/topic/user/userA/notifications");
+		SimpSession session = mock(SimpSession.class);
+		when(session.getSubscriptions()).thenReturn(Set.of(subscription));
+		SimpUser simpUser = mock(SimpUser.class);
+		when(simpUser.getSessions()).thenReturn(Set.of(session));
+		when(simpUserRegistry.getUser("userA")).thenReturn(simpUser);
+		Notification notification = new Notification(null, EntityType.BranchState, "UP_TO_DATE");
+
+		notificationService.queueNotification("userA", notification);
+
+		verify(simpMessagingTemplate).convertAndSend("/topic/user/userA/notifications", notification);
+	}
+
+	@Test
+	void queueNotificationHeldUntilUserSubscribes() {
+		Notification notification = new Notification(null, EntityType.BranchState, "UP_TO_DATE");
+
+		notificationService.queueNotification("userA", notification);
+		verify(simpMessagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+
+		notificationService.sendNotification("userA");
+		verify(simpMessagingTemplate).convertAndSend("/topic/user/userA/notifications", notification);
 	}
 
 	@Test
@@ -0,0 +1,54 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.entity.Project;
+import org.ihtsdo.authoringservices.entity.ProjectUserGroup;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectPermissionsTest {
+
+	private static final Pattern REVIEWER_ROLE_PATTERN = Pattern.compile("ap-.*-reviewer");
+
+	@Test
+	public void testAuthorGroupGivesFullPermission() {
+		ProjectPermissions permissions = ProjectPermissions.build(List.of(group("PROJECTA", "ap-author")), REVIEWER_ROLE_PATTERN);
+
+		assertTrue(permissions.hasAccess("PROJECTA"));
+		assertTrue(permissions.hasFullPermission("PROJECTA"));
+		assertFalse(permissions.hasReviewerPermission("PROJECTA"));
+		assertFalse(permissions.hasAccess("PROJECTB"));
+	}
+
+	@Test
+	public void testReviewerGroupAloneGivesReviewPermissionOnly() {
+		ProjectPermissions permissions = ProjectPermissions.build(List.of(
+				group("PROJECTA", "ap-projecta-reviewer"),
+				group("PROJECTB", "ap-projectb-reviewer"),
+				group("PROJECTB", "ap-author")), REVIEWER_ROLE_PATTERN);
+
+		assertTrue(permissions.hasAccess("PROJECTA"));
+		assertFalse(permissions.hasFullPermission("PROJECTA"));
+		assertTrue(permissions.hasReviewerPermission("PROJECTA"));
+		assertTrue(permissions.hasFullPermission("PROJECTB"));
+		assertTrue(permissions.hasReviewerPermission("PROJECTB"));
+	}
+
+	@Test
+	public void testNoGroupsGiveNoPermission() {
+		assertFalse(ProjectPermissions.NONE.hasAccess("PROJECTA"));
+		assertFalse(ProjectPermissions.build(List.of(), REVIEWER_ROLE_PATTERN).hasFullPermission("PROJECTA"));
+	}
+
+	private ProjectUserGroup group(String projectKey, String name) {
+		Project project = new Project();
+		project.setKey(projectKey);
+		ProjectUserGroup group = new ProjectUserGroup();
+		group.setProject(project);
+		group.setName(name);
+		return group;
+	}
+}
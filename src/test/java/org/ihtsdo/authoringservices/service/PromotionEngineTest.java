@@ -0,0 +1,78 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.domain.PromotionQueueStatus;
+import org.ihtsdo.otf.rest.exception.BusinessServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.ihtsdo.authoringservices.service.PromotionEngine.JobType.AUTOMATED_TASK_PROMOTION;
+import static org.ihtsdo.authoringservices.service.PromotionEngine.JobType.TASK_PROMOTION;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PromotionEngineTest {
+
+	private PromotionEngine promotionEngine;
+
+	@BeforeEach
+	public void setUp() {
+		promotionEngine = new PromotionEngine();
+		ReflectionTestUtils.setField(promotionEngine, "threadPoolSize", 2);
+		ReflectionTestUtils.setField(promotionEngine, "queueCapacity", 1);
+		promotionEngine.init();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		promotionEngine.shutdown();
+	}
+
+	@Test
+	public void testJobsOfSameProjectRunInOrder() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(2);
+		List<String> completed = new CopyOnWriteArrayList<>();
+		promotionEngine.submit("PROJECTA", "PROJECTA-1", TASK_PROMOTION, () -> {
+			await(release);
+			completed.add("PROJECTA-1");
+			done.countDown();
+		});
+		promotionEngine.submit("PROJECTA", "PROJECTA-2", AUTOMATED_TASK_PROMOTION, () -> {
+			completed.add("PROJECTA-2");
+			done.countDown();
+		});
+
+		assertEquals(List.of("PROJECTA-2"), promotionEngine.getQueuedJobKeys(AUTOMATED_TASK_PROMOTION));
+		PromotionQueueStatus status = promotionEngine.getStatus();
+		assertEquals(1, status.getQueuedJobs());
+		assertEquals(1, status.getRunningJobs());
+
+		release.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of("PROJECTA-1", "PROJECTA-2"), completed);
+	}
+
+	@Test
+	public void testSubmitRejectedWhenQueueFull() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		promotionEngine.submit("PROJECTA", "PROJECTA-1", TASK_PROMOTION, () -> await(release));
+		promotionEngine.submit("PROJECTA", "PROJECTA-2", TASK_PROMOTION, () -> {});
+
+		assertThrows(BusinessServiceException.class, () -> promotionEngine.submit("PROJECTA", "PROJECTA-3", TASK_PROMOTION, () -> {}));
+		release.countDown();
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
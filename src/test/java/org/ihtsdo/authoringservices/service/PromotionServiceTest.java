@@ -0,0 +1,64 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.domain.AuthoringProject;
+import org.ihtsdo.authoringservices.domain.MergeRequest;
+import org.ihtsdo.authoringservices.domain.ProcessStatus;
+import org.ihtsdo.authoringservices.service.factory.ProjectServiceFactory;
+import org.ihtsdo.authoringservices.service.factory.TaskServiceFactory;
+import org.ihtsdo.otf.rest.exception.BusinessServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PromotionServiceTest {
+
+	private static final String QUEUE_FULL = "Too many promotions are waiting, please try again later";
+
+	private PromotionEngine promotionEngine;
+	private PromotionService promotionService;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		TaskService taskService = mock(TaskService.class);
+		when(taskService.exists("PROJECTA-1")).thenReturn(true);
+		TaskServiceFactory taskServiceFactory = mock(TaskServiceFactory.class);
+		when(taskServiceFactory.getInstance(anyBoolean())).thenReturn(taskService);
+		ProjectService projectService = mock(ProjectService.class);
+		when(projectService.exists("PROJECTA")).thenReturn(true);
+		when(projectService.retrieveProject("PROJECTA", true)).thenReturn(new AuthoringProject());
+		ProjectServiceFactory projectServiceFactory = mock(ProjectServiceFactory.class);
+		when(projectServiceFactory.getInstance(anyBoolean())).thenReturn(projectService);
+		BranchService branchService = mock(BranchService.class);
+		when(branchService.getTaskBranchPathUsingCache("PROJECTA", "PROJECTA-1")).thenReturn("MAIN/PROJECTA/PROJECTA-1");
+		promotionEngine = mock(PromotionEngine.class);
+		doThrow(new BusinessServiceException(QUEUE_FULL)).when(promotionEngine).submit(any(), any(), any(), any());
+
+		promotionService = new PromotionService();
+		ReflectionTestUtils.setField(promotionService, "taskServiceFactory", taskServiceFactory);
+		ReflectionTestUtils.setField(promotionService, "projectServiceFactory", projectServiceFactory);
+		ReflectionTestUtils.setField(promotionService, "branchService", branchService);
+		ReflectionTestUtils.setField(promotionService, "promotionEngine", promotionEngine);
+	}
+
+	@Test
+	public void testRejectedTaskPromotionIsNotLeftQueued() {
+		assertThrows(BusinessServiceException.class, () -> promotionService.doTaskPromotion("PROJECTA", "PROJECTA-1", new MergeRequest()));
+
+		ProcessStatus status = promotionService.getTaskPromotionStatus("PROJECTA", "PROJECTA-1");
+		assertEquals("Failed", status.getStatus());
+		assertEquals(QUEUE_FULL, status.getMessage());
+	}
+
+	@Test
+	public void testRejectedProjectPromotionIsNotLeftQueued() {
+		assertThrows(BusinessServiceException.class, () -> promotionService.doProjectPromotion("PROJECTA", new MergeRequest()));
+
+		ProcessStatus status = promotionService.getProjectPromotionStatus("PROJECTA");
+		assertEquals("Failed", status.getStatus());
+		assertEquals(QUEUE_FULL, status.getMessage());
+	}
+}
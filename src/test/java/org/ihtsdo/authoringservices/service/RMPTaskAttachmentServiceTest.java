@@ -0,0 +1,113 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.entity.RMPTask;
+import org.ihtsdo.authoringservices.entity.RMPTaskAttachment;
+import org.ihtsdo.authoringservices.repository.RMPTaskAttachmentRepository;
+import org.ihtsdo.authoringservices.service.dao.RMPAttachmentResourceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RMPTaskAttachmentServiceTest {
+
+	private RMPTaskAttachmentRepository attachmentRepository;
+	private RMPAttachmentResourceService attachmentResourceService;
+	private RMPTaskAttachmentService attachmentService;
+	private RMPTask rmpTask;
+
+	@BeforeEach
+	public void setUp() {
+		attachmentRepository = mock(RMPTaskAttachmentRepository.class);
+		attachmentResourceService = mock(RMPAttachmentResourceService.class);
+		attachmentService = new RMPTaskAttachmentService(attachmentRepository, attachmentResourceService, "xls");
+		rmpTask = new RMPTask();
+		rmpTask.setId(7);
+	}
+
+	@Test
+	public void testSaveAttachmentStoresContentOutsideDatabase() throws Exception {
+		when(attachmentRepository.save(any(RMPTaskAttachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		MockMultipartFile file = new MockMultipartFile("file", "terms.xls", "application/vnd.ms-excel", "content".getBytes(StandardCharsets.UTF_8));
+
+		RMPTaskAttachment saved = attachmentService.saveAttachment(rmpTask, file, "user");
+
+		ArgumentCaptor<String> storagePath = ArgumentCaptor.forClass(String.class);
+		verify(attachmentResourceService).write(storagePath.capture(), any(InputStream.class));
+		assertTrue(storagePath.getValue().startsWith("7/"));
+		assertEquals(storagePath.getValue(), saved.getStoragePath());
+		assertEquals(7, saved.getContentSize());
+	}
+
+	@Test
+	public void testSaveAttachmentRejectsDisallowedExtension() {
+		MockMultipartFile file = new MockMultipartFile("file", "script.sh", "text/plain", "content".getBytes(StandardCharsets.UTF_8));
+
+		assertThrows(IllegalArgumentException.class, () -> attachmentService.saveAttachment(rmpTask, file, "user"));
+		verifyNoInteractions(attachmentResourceService);
+	}
+
+	@Test
+	public void testOpenContentMovesLegacyContentToStore() throws Exception {
+		RMPTaskAttachment attachment = new RMPTaskAttachment();
+		attachment.setRmpTask(rmpTask);
+		when(attachmentRepository.findLegacyContent(anyLong())).thenReturn("legacy".getBytes(StandardCharsets.UTF_8));
+		when(attachmentResourceService.read(anyString())).thenReturn(new ByteArrayInputStream(new byte[0]));
+
+		attachmentService.openContent(attachment);
+
+		assertNotNull(attachment.getStoragePath());
+		verify(attachmentResourceService).write(eq(attachment.getStoragePath()), any(InputStream.class));
+		verify(attachmentRepository).clearLegacyContent(attachment.getId());
+		verify(attachmentResourceService).read(attachment.getStoragePath());
+	}
+
+	@Test
+	public void testDeletedAttachmentContentKeptUntilCommit() throws Exception {
+		RMPTaskAttachment attachment = new RMPTaskAttachment();
+		attachment.setStoragePath("7/content");
+		when(attachmentRepository.findByIdAndRmpTask_Id(3, 7)).thenReturn(Optional.of(attachment));
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			assertTrue(attachmentService.deleteAttachment(7, 3));
+
+			verify(attachmentRepository).delete(attachment);
+			verify(attachmentResourceService, never()).delete(anyString());
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			verify(attachmentResourceService).delete("7/content");
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	public void testTaskAttachmentContentKeptWhenDeleteRolledBack() throws Exception {
+		RMPTaskAttachment attachment = new RMPTaskAttachment();
+		attachment.setStoragePath("7/content");
+		when(attachmentRepository.findByRmpTaskOrderByCreatedDateAsc(rmpTask)).thenReturn(List.of(attachment));
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			attachmentService.deleteStoredContent(rmpTask);
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+			verifyNoInteractions(attachmentResourceService);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+}
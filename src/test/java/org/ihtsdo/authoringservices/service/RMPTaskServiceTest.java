@@ -0,0 +1,51 @@
+package org.ihtsdo.authoringservices.service;
+
+import com.querydsl.core.types.Predicate;
+import org.ihtsdo.authoringservices.repository.RMPTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class RMPTaskServiceTest {
+
+	private RMPTaskRepository rmpTaskRepository;
+	private RMPTaskService rmpTaskService;
+
+	@BeforeEach
+	public void setUp() {
+		rmpTaskRepository = mock(RMPTaskRepository.class);
+		rmpTaskService = new RMPTaskService(rmpTaskRepository, mock(EmailService.class), mock(UserCacheService.class),
+				mock(RMPUserNotificationService.class), mock(RMPTaskAttachmentService.class), mock(RMPTaskSearchIndexer.class));
+	}
+
+	@Test
+	public void testSearchMatchesSummaryWords() {
+		String predicate = search("heart attack");
+
+		assertTrue(predicate.contains("tokenTask0"));
+		assertTrue(predicate.contains("tokenTask1"));
+	}
+
+	@Test
+	public void testSearchWithoutWordsMatchesNoSummary() {
+		// Reporter and assignee filters are given, so only the summary and type could match
+		String predicate = search("!!");
+
+		assertTrue(predicate.contains("false = true"), predicate);
+		assertFalse(predicate.contains("tokenTask"));
+	}
+
+	private String search(String criteria) {
+		rmpTaskService.searchTasks("GB", criteria, Set.of("reporter"), Set.of("assignee"), null, Pageable.unpaged());
+		ArgumentCaptor<Predicate> predicate = ArgumentCaptor.forClass(Predicate.class);
+		verify(rmpTaskRepository).findAll(predicate.capture(), any(Pageable.class));
+		return predicate.getValue().toString();
+	}
+}
@@ -0,0 +1,108 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.domain.AuthoringProject;
+import org.ihtsdo.authoringservices.domain.BranchState;
+import org.ihtsdo.otf.rest.client.terminologyserver.SnowstormRestClient;
+import org.ihtsdo.otf.rest.client.terminologyserver.SnowstormRestClientFactory;
+import org.ihtsdo.otf.rest.client.terminologyserver.pojo.Merge;
+import org.ihtsdo.otf.rest.client.terminologyserver.pojo.MergeReviewsResults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RebaseServiceTest {
+
+	private static final String CODE_SYSTEM_BRANCH = "MAIN/SNOMEDCT-XX";
+
+	private SnowstormRestClient client;
+	private BranchService branchService;
+	private RebaseService rebaseService;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		client = mock(SnowstormRestClient.class);
+		SnowstormRestClientFactory snowstormRestClientFactory = mock(SnowstormRestClientFactory.class);
+		when(snowstormRestClientFactory.getClient()).thenReturn(client);
+		branchService = mock(BranchService.class);
+		when(branchService.getProjectBranchPathUsingCache(anyString())).thenAnswer(invocation -> CODE_SYSTEM_BRANCH + "/" + invocation.getArgument(0));
+
+		rebaseService = new RebaseService();
+		ReflectionTestUtils.setField(rebaseService, "snowstormRestClientFactory", snowstormRestClientFactory);
+		ReflectionTestUtils.setField(rebaseService, "branchService", branchService);
+		ReflectionTestUtils.setField(rebaseService, "threadPoolSize", 2);
+		ReflectionTestUtils.setField(rebaseService, "maxConcurrentPerCodeSystem", 1);
+		ReflectionTestUtils.setField(rebaseService, "initialPollIntervalSeconds", 0);
+		ReflectionTestUtils.setField(rebaseService, "maxPollIntervalSeconds", 0);
+		rebaseService.init();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		rebaseService.shutdown();
+	}
+
+	@Test
+	public void testProjectRebasesOfSameCodeSystemWaitForMergeSlot() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		when(client.createBranchMergeReviews(eq(CODE_SYSTEM_BRANCH), anyString())).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return "review-" + invocation.getArgument(1);
+		});
+		MergeReviewsResults current = mock(MergeReviewsResults.class);
+		when(current.getStatus()).thenReturn(MergeReviewsResults.MergeReviewStatus.CURRENT);
+		when(client.getMergeReviewsResult(anyString())).thenReturn(current);
+		when(client.getMergeReviewsDetails(anyString())).thenReturn(Collections.emptySet());
+		when(client.startMerge(eq(CODE_SYSTEM_BRANCH), anyString(), anyString())).thenReturn("merge");
+		Merge completed = mock(Merge.class);
+		when(completed.getStatus()).thenReturn(Merge.Status.COMPLETED);
+		when(client.getMerge("merge")).thenReturn(completed);
+
+		rebaseService.doProjectRebase("job", project("PROJECTA", BranchState.DIVERGED));
+		rebaseService.doProjectRebase("job", project("PROJECTB", BranchState.DIVERGED));
+
+		assertEquals("Waiting for 1 other rebase(s) of " + CODE_SYSTEM_BRANCH, rebaseService.getRebaseStatusByJobId("job").get("PROJECTB").getMessage());
+		release.countDown();
+
+		waitForStatus("PROJECTA", RebaseService.RebaseStatus.REBASE_COMPLETE);
+		waitForStatus("PROJECTB", RebaseService.RebaseStatus.REBASE_COMPLETE);
+		verify(client, times(2)).createBranchMergeReviews(eq(CODE_SYSTEM_BRANCH), anyString());
+	}
+
+	@Test
+	public void testProjectBehindMergedWithoutReview() throws Exception {
+		when(client.startMerge(CODE_SYSTEM_BRANCH, CODE_SYSTEM_BRANCH + "/PROJECTA", null)).thenReturn("merge");
+		Merge completed = mock(Merge.class);
+		when(completed.getStatus()).thenReturn(Merge.Status.COMPLETED);
+		when(client.getMerge("merge")).thenReturn(completed);
+
+		rebaseService.doProjectRebase("job", project("PROJECTA", BranchState.BEHIND));
+
+		waitForStatus("PROJECTA", RebaseService.RebaseStatus.REBASE_COMPLETE);
+		verify(client, never()).createBranchMergeReviews(anyString(), anyString());
+	}
+
+	private void waitForStatus(String projectKey, RebaseService.RebaseStatus status) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (System.currentTimeMillis() < deadline) {
+			if (status.getLabel().equals(rebaseService.getRebaseStatusByJobId("job").get(projectKey).getStatus())) {
+				return;
+			}
+			Thread.sleep(20);
+		}
+		fail("Rebase of " + projectKey + " did not reach status " + status.getLabel());
+	}
+
+	private AuthoringProject project(String key, BranchState branchState) {
+		return new AuthoringProject(key, key, null, true, CODE_SYSTEM_BRANCH + "/" + key, branchState.name(), null, null, null,
+				false, false, false, false, false, false, false, false, false);
+	}
+}
@@ -0,0 +1,96 @@
+package org.ihtsdo.authoringservices.service;
+
+import jakarta.jms.TextMessage;
+import org.ihtsdo.authoringservices.domain.AuthoringTask;
+import org.ihtsdo.authoringservices.domain.ClassificationRequest;
+import org.ihtsdo.authoringservices.domain.Notification;
+import org.ihtsdo.authoringservices.service.factory.ProjectServiceFactory;
+import org.ihtsdo.authoringservices.service.factory.TaskServiceFactory;
+import org.ihtsdo.otf.rest.client.terminologyserver.SnowstormRestClientFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SnowstormClassificationClientTest {
+
+	private static final String COMPLETED = "{\"id\":\"c1\",\"status\":\"COMPLETED\"}";
+
+	private SnowstormClassificationClient classificationClient;
+	private ClassificationJobRegistry classificationJobRegistry;
+	private TaskServiceFactory taskServiceFactory;
+	private SnowstormRestClientFactory snowstormRestClientFactory;
+	private NotificationService notificationService;
+
+	@BeforeEach
+	public void setUp() {
+		classificationClient = new SnowstormClassificationClient();
+		classificationJobRegistry = mock(ClassificationJobRegistry.class);
+		taskServiceFactory = mock(TaskServiceFactory.class);
+		snowstormRestClientFactory = mock(SnowstormRestClientFactory.class);
+		notificationService = mock(NotificationService.class);
+		ReflectionTestUtils.setField(classificationClient, "cacheService", mock(CacheService.class));
+		ReflectionTestUtils.setField(classificationClient, "taskServiceFactory", taskServiceFactory);
+		ReflectionTestUtils.setField(classificationClient, "projectServiceFactory", mock(ProjectServiceFactory.class));
+		ReflectionTestUtils.setField(classificationClient, "snowstormRestClientFactory", snowstormRestClientFactory);
+		ReflectionTestUtils.setField(classificationClient, "notificationService", notificationService);
+		ReflectionTestUtils.setField(classificationClient, "classificationJobRegistry", classificationJobRegistry);
+		ReflectionTestUtils.setField(classificationClient, "completionThreadPoolSize", 1);
+		classificationClient.init();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		classificationClient.shutdown();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void testCompletionCommentsOnTask() throws Exception {
+		TaskService taskService = mock(TaskService.class);
+		when(taskServiceFactory.getInstance(anyBoolean())).thenReturn(taskService);
+		when(taskService.retrieveTask(any(), any(), any(), anyBoolean())).thenReturn(mock(AuthoringTask.class));
+		ClassificationRequest request = request();
+		request.setAuthentication(new PreAuthenticatedAuthenticationToken("user", "token"));
+		when(classificationJobRegistry.complete("c1")).thenReturn(request);
+
+		classificationClient.messageConsumer(message(COMPLETED));
+
+		verify(notificationService, timeout(1000)).queueNotification(any(), any(Notification.class));
+		verify(taskService).addCommentLogErrors("PROJECTA", "PROJECTA-1", "Classification completed successfully");
+	}
+
+	@Test
+	public void testRecoveredCompletionOnlyNotifiesUser() throws Exception {
+		ClassificationRequest request = request();
+		request.setAuthentication(new PreAuthenticatedAuthenticationToken("user", null));
+		request.setRecovered(true);
+		when(classificationJobRegistry.complete("c1")).thenReturn(request);
+
+		classificationClient.messageConsumer(message(COMPLETED));
+
+		verify(notificationService, timeout(1000)).queueNotification(any(), any(Notification.class));
+		// Neither the task nor the branch is read or changed without the user's credentials
+		verifyNoInteractions(taskServiceFactory, snowstormRestClientFactory);
+	}
+
+	private ClassificationRequest request() {
+		ClassificationRequest request = new ClassificationRequest();
+		request.setClassificationId("c1");
+		request.setProjectKey("PROJECTA");
+		request.setTaskKey("PROJECTA-1");
+		request.setBranchPath("MAIN/PROJECTA/PROJECTA-1");
+		return request;
+	}
+
+	private TextMessage message(String text) throws Exception {
+		TextMessage message = mock(TextMessage.class);
+		when(message.getText()).thenReturn(text);
+		return message;
+	}
+}
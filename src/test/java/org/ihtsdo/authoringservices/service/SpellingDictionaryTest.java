@@ -0,0 +1,59 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.Map;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpellingDictionaryTest {
+
+	private SpellingDictionary dictionary;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		dictionary = SpellingDictionary.load(new StringReader("words\ncolour\nhaemoglobin\noedema\n"), 100);
+	}
+
+	@Test
+	public void testAddedWordIsAccepted() {
+		assertTrue(dictionary.checkWordsReturnErrorSuggestions(Set.of("paediatric")).containsKey("paediatric"));
+
+		SpellingDictionary changed = dictionary.withWordAdded("Paediatric");
+
+		assertTrue(changed.checkWordsReturnErrorSuggestions(Set.of("paediatric")).isEmpty());
+		assertEquals(1, changed.getPendingChanges());
+		// The snapshot the change was made from is unchanged
+		assertTrue(dictionary.checkWordsReturnErrorSuggestions(Set.of("paediatric")).containsKey("paediatric"));
+	}
+
+	@Test
+	public void testDeletedWordIsReportedAndNotSuggested() {
+		SpellingDictionary changed = dictionary.withWordDeleted("oedema");
+
+		assertTrue(changed.checkWordsReturnErrorSuggestions(Set.of("oedema")).containsKey("oedema"));
+		Map<String, List<String>> errors = changed.checkWordsReturnErrorSuggestions(Set.of("oedemaa"));
+		assertFalse(errors.get("oedemaa").contains("oedema"));
+	}
+
+	@Test
+	public void testAddingDeletedWordRestoresIt() {
+		SpellingDictionary changed = dictionary.withWordDeleted("colour").withWordAdded("colour");
+
+		assertTrue(changed.checkWordsReturnErrorSuggestions(Set.of("colour")).isEmpty());
+		assertEquals(1, changed.getPendingChanges());
+	}
+
+	@Test
+	public void testCachedSuggestionsAreReturned() {
+		Map<String, List<String>> first = dictionary.checkWordsReturnErrorSuggestions(Set.of("haemoglobinn"));
+		Map<String, List<String>> second = dictionary.checkWordsReturnErrorSuggestions(Set.of("haemoglobinn"));
+
+		assertEquals(first, second);
+		assertTrue(dictionary.checkWordsReturnErrorSuggestions(Set.of("colour")).isEmpty());
+	}
+}
@@ -0,0 +1,57 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.entity.Project;
+import org.ihtsdo.authoringservices.entity.TaskSequence;
+import org.ihtsdo.authoringservices.repository.TaskSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class TaskKeyAllocatorTest {
+
+	private TaskSequenceRepository taskSequenceRepository;
+	private TaskKeyAllocator taskKeyAllocator;
+	private Project project;
+
+	@BeforeEach
+	public void setUp() {
+		taskSequenceRepository = mock(TaskSequenceRepository.class);
+		taskKeyAllocator = new TaskKeyAllocator(taskSequenceRepository, mock(PlatformTransactionManager.class));
+		project = new Project();
+		project.setKey("PROJECTA");
+	}
+
+	@Test
+	public void testIncrementsExistingSequence() {
+		when(taskSequenceRepository.incrementSequence(project)).thenReturn(1);
+		when(taskSequenceRepository.findOneByProject(project)).thenReturn(new TaskSequence(project, 8));
+
+		assertEquals(8, taskKeyAllocator.nextTaskNumber(project));
+		verify(taskSequenceRepository, never()).save(any());
+		assertEquals(1, taskKeyAllocator.getStats().getAllocations());
+	}
+
+	@Test
+	public void testCreatesMissingSequence() {
+		when(taskSequenceRepository.incrementSequence(project)).thenReturn(0);
+		when(taskSequenceRepository.save(any(TaskSequence.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		assertEquals(1, taskKeyAllocator.nextTaskNumber(project));
+		assertEquals(1, taskKeyAllocator.getStats().getSequencesCreated());
+	}
+
+	@Test
+	public void testIncrementsSequenceCreatedConcurrently() {
+		when(taskSequenceRepository.incrementSequence(project)).thenReturn(0, 1);
+		when(taskSequenceRepository.save(any(TaskSequence.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+		when(taskSequenceRepository.findOneByProject(project)).thenReturn(new TaskSequence(project, 2));
+
+		assertEquals(2, taskKeyAllocator.nextTaskNumber(project));
+		assertEquals(0, taskKeyAllocator.getStats().getSequencesCreated());
+	}
+}
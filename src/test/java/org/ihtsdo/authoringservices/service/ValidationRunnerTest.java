@@ -0,0 +1,135 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.domain.ValidationConfiguration;
+import org.ihtsdo.authoringservices.domain.ValidationJobStatus;
+import org.ihtsdo.authoringservices.service.client.RVFClient;
+import org.ihtsdo.authoringservices.service.dao.SRSFileDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ValidationRunnerTest {
+
+	private static final URI REPORT_URL = URI.create("http://rvf/reports/1");
+
+	private SRSFileDAO srsDAO;
+	private RVFClient rvfClient;
+	private ValidationService validationService;
+	private ExecutorService exportConversionExecutor;
+	private ValidationRunner validationRunner;
+	private List<Class<?>> uploadedResources;
+
+	@BeforeEach
+	public void setUp() {
+		srsDAO = mock(SRSFileDAO.class);
+		rvfClient = mock(RVFClient.class);
+		validationService = mock(ValidationService.class);
+		exportConversionExecutor = Executors.newSingleThreadExecutor();
+		uploadedResources = new ArrayList<>();
+		ValidationConfiguration config = new ValidationConfiguration();
+		config.setBranchPath("MAIN/PROJECTA");
+		config.setProductName("MAIN_PROJECTA");
+		config.setReleaseCenter("international");
+		validationRunner = new ValidationRunner(config, null, srsDAO, validationService, mock(NotificationService.class), rvfClient,
+				"sca", "user", "token", exportConversionExecutor, 1024);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		exportConversionExecutor.shutdownNow();
+	}
+
+	@Test
+	public void testExportStreamedToRvf() throws Exception {
+		doAnswer(invocation -> writeExport(invocation.getArgument(3))).when(srsDAO)
+				.convertExportWithRF2FileNameFormat(any(File.class), any(), any(), any(OutputStream.class));
+		when(rvfClient.triggerValidation(any())).thenAnswer(invocation -> {
+			readUpload(invocation);
+			return REPORT_URL;
+		});
+
+		validationRunner.validateByRvfDirectly(new File("export.zip"), "20260101");
+
+		assertEquals(List.of(InputStreamResource.class), uploadedResources);
+		verify(srsDAO, never()).convertExportWithRF2FileNameFormat(any(File.class), any(), any(), any(File.class));
+		verify(validationService, never()).updateValidationCache(eq("MAIN/PROJECTA"), argThat(this::isFailed));
+	}
+
+	@Test
+	public void testConversionFailureRetriedThroughTempFile() throws Exception {
+		doThrow(new IOException("Bad export")).when(srsDAO)
+				.convertExportWithRF2FileNameFormat(any(File.class), any(), any(), any(OutputStream.class));
+		when(rvfClient.triggerValidation(any())).thenAnswer(invocation -> {
+			try {
+				readUpload(invocation);
+			} catch (IOException e) {
+				throw new ResourceAccessException("I/O error", e);
+			}
+			return REPORT_URL;
+		});
+
+		validationRunner.validateByRvfDirectly(new File("export.zip"), "20260101");
+
+		assertEquals(List.of(InputStreamResource.class, FileSystemResource.class), uploadedResources);
+		verify(srsDAO).convertExportWithRF2FileNameFormat(any(File.class), any(), any(), any(File.class));
+	}
+
+	@Test
+	public void testTimeoutAfterExportSentNotRetried() throws Exception {
+		doAnswer(invocation -> writeExport(invocation.getArgument(3))).when(srsDAO)
+				.convertExportWithRF2FileNameFormat(any(File.class), any(), any(), any(OutputStream.class));
+		when(rvfClient.triggerValidation(any())).thenAnswer(invocation -> {
+			readUpload(invocation);
+			throw new ResourceAccessException("I/O error", new SocketTimeoutException("Read timed out"));
+		});
+
+		validationRunner.validateByRvfDirectly(new File("export.zip"), "20260101");
+
+		verify(rvfClient, times(1)).triggerValidation(any());
+		verify(srsDAO, never()).convertExportWithRF2FileNameFormat(any(File.class), any(), any(), any(File.class));
+		verify(validationService).updateValidationCache(eq("MAIN/PROJECTA"), argThat(this::isFailed));
+	}
+
+	private Object writeExport(OutputStream output) throws IOException {
+		try (output) {
+			output.write(new byte[10_000]);
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readUpload(InvocationOnMock invocation) throws IOException {
+		MultiValueMap<String, Object> body = invocation.getArgument(0);
+		Resource resource = ((HttpEntity<Resource>) body.getFirst("file")).getBody();
+		uploadedResources.add(resource.getClass());
+		if (resource instanceof InputStreamResource) {
+			resource.getInputStream().readAllBytes();
+		}
+	}
+
+	private boolean isFailed(Map<String, String> newPropertyValues) {
+		return ValidationJobStatus.FAILED.name().equals(newPropertyValues.get(ValidationService.VALIDATION_STATUS));
+	}
+}
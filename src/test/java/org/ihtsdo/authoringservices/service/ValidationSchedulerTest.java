@@ -0,0 +1,120 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidationSchedulerTest {
+
+	private List<Runnable> started;
+	private List<String> validated;
+	private ValidationScheduler<Runnable> validationScheduler;
+
+	@BeforeEach
+	public void setUp() {
+		started = new ArrayList<>();
+		validated = new ArrayList<>();
+		validationScheduler = new ValidationScheduler<>(started::add, 2, 1);
+	}
+
+	@Test
+	public void testValidationsBeyondLimitAreQueued() {
+		assertEquals(0, schedule("MAIN/A", ValidationScheduler.Priority.INTERACTIVE));
+		assertEquals(0, schedule("MAIN/B", ValidationScheduler.Priority.INTERACTIVE));
+		assertEquals(1, schedule("MAIN/C", ValidationScheduler.Priority.INTERACTIVE));
+		assertEquals(2, started.size());
+
+		runNext();
+
+		assertEquals(List.of("MAIN/A"), validated);
+		assertTrue(validationScheduler.isRunning("MAIN/C"));
+		assertNull(validationScheduler.getQueuePosition("MAIN/C"));
+	}
+
+	@Test
+	public void testInteractiveValidationsStartBeforeBulk() {
+		schedule("SNOMEDCT-A", ValidationScheduler.Priority.BULK);
+		schedule("MAIN/A", ValidationScheduler.Priority.INTERACTIVE);
+		assertEquals(1, schedule("SNOMEDCT-B", ValidationScheduler.Priority.BULK));
+		assertEquals(1, schedule("MAIN/B", ValidationScheduler.Priority.INTERACTIVE));
+		assertEquals(2, validationScheduler.getQueuePosition("SNOMEDCT-B"));
+
+		runNext();
+
+		assertTrue(validationScheduler.isRunning("MAIN/B"));
+		assertEquals(1, validationScheduler.getQueuePosition("SNOMEDCT-B"));
+	}
+
+	@Test
+	public void testBulkValidationsLeaveRoomForInteractive() {
+		schedule("SNOMEDCT-A", ValidationScheduler.Priority.BULK);
+		assertEquals(1, schedule("SNOMEDCT-B", ValidationScheduler.Priority.BULK));
+		assertEquals(0, schedule("MAIN/A", ValidationScheduler.Priority.INTERACTIVE));
+	}
+
+	@Test
+	public void testRequestForQueuedBranchJoinsIt() {
+		schedule("MAIN/A", ValidationScheduler.Priority.INTERACTIVE);
+		schedule("SNOMEDCT-A", ValidationScheduler.Priority.BULK);
+		schedule("MAIN/B", ValidationScheduler.Priority.INTERACTIVE);
+		schedule("SNOMEDCT-C", ValidationScheduler.Priority.BULK);
+		schedule("SNOMEDCT-B", ValidationScheduler.Priority.BULK);
+
+		assertNull(join("MAIN/A", ValidationScheduler.Priority.INTERACTIVE));
+		assertEquals(3, join("SNOMEDCT-B", ValidationScheduler.Priority.BULK));
+		// Moved ahead of the bulk validations
+		assertEquals(2, join("SNOMEDCT-B", ValidationScheduler.Priority.INTERACTIVE));
+		assertThrows(IllegalStateException.class, () -> schedule("SNOMEDCT-B", ValidationScheduler.Priority.INTERACTIVE));
+
+		runNext();
+		runNext();
+
+		assertEquals(List.of("MAIN/A", "SNOMEDCT-A"), validated);
+		assertTrue(validationScheduler.isRunning("SNOMEDCT-B"));
+		assertEquals(1, validationScheduler.getQueuePosition("SNOMEDCT-C"));
+	}
+
+	@Test
+	public void testRequestNotAcceptedByQueuedValidationDoesNotJoin() {
+		schedule("MAIN/A", ValidationScheduler.Priority.INTERACTIVE);
+		schedule("MAIN/B", ValidationScheduler.Priority.INTERACTIVE);
+		schedule("SNOMEDCT-A", ValidationScheduler.Priority.BULK);
+		schedule("SNOMEDCT-B", ValidationScheduler.Priority.BULK);
+
+		assertNull(validationScheduler.join("SNOMEDCT-B", ValidationScheduler.Priority.INTERACTIVE, queued -> false));
+		assertEquals(2, validationScheduler.getQueuePosition("SNOMEDCT-B"));
+	}
+
+	@Test
+	public void testBranchScheduledWhileRunningStartsOnceFinished() {
+		schedule("MAIN/A", ValidationScheduler.Priority.INTERACTIVE);
+		assertTrue(validationScheduler.isRunning("MAIN/A"));
+
+		assertEquals(1, schedule("MAIN/A", ValidationScheduler.Priority.INTERACTIVE));
+		assertEquals(0, schedule("MAIN/B", ValidationScheduler.Priority.INTERACTIVE));
+		assertEquals(2, started.size());
+
+		runNext();
+
+		assertEquals(List.of("MAIN/A"), validated);
+		assertTrue(validationScheduler.isRunning("MAIN/A"));
+		assertNull(validationScheduler.getQueuePosition("MAIN/A"));
+		assertEquals(2, started.size());
+	}
+
+	private Integer join(String branchPath, ValidationScheduler.Priority priority) {
+		return validationScheduler.join(branchPath, priority, queued -> true);
+	}
+
+	private int schedule(String branchPath, ValidationScheduler.Priority priority) {
+		return validationScheduler.schedule(branchPath, priority, () -> validated.add(branchPath));
+	}
+
+	private void runNext() {
+		started.remove(0).run();
+	}
+}
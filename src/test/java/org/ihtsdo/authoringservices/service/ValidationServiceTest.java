@@ -0,0 +1,128 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.domain.Notification;
+import org.ihtsdo.authoringservices.domain.Status;
+import org.ihtsdo.authoringservices.domain.ValidationJobStatus;
+import org.ihtsdo.authoringservices.entity.Validation;
+import org.ihtsdo.authoringservices.repository.ValidationRepository;
+import org.ihtsdo.authoringservices.service.exceptions.ServiceException;
+import org.ihtsdo.otf.rest.client.terminologyserver.pojo.Branch;
+import org.ihtsdo.otf.rest.exception.EntityAlreadyExistsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ValidationServiceTest {
+
+	private static final String BRANCH_PATH = "MAIN/PROJECTA";
+
+	private BranchService branchService;
+	private NotificationService notificationService;
+	private ValidationService validationService;
+
+	// Holds validations in the branch metadata read, so that they stay in progress
+	private CountDownLatch metadataReadStarted;
+	private CountDownLatch metadataReadReleased;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		SecurityContextHolder.getContext().setAuthentication(new PreAuthenticatedAuthenticationToken("user", "token"));
+		branchService = mock(BranchService.class);
+		notificationService = mock(NotificationService.class);
+		ValidationStatusStore validationStatusStore = mock(ValidationStatusStore.class);
+		when(validationStatusStore.saveIfAbsent(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		metadataReadStarted = new CountDownLatch(1);
+		metadataReadReleased = new CountDownLatch(1);
+		when(branchService.getBranchMetadataIncludeInherited(BRANCH_PATH)).thenAnswer(invocation -> {
+			metadataReadStarted.countDown();
+			metadataReadReleased.await(5, TimeUnit.SECONDS);
+			throw new ServiceException("Snowstorm unavailable");
+		});
+
+		validationService = new ValidationService();
+		ReflectionTestUtils.setField(validationService, "branchService", branchService);
+		ReflectionTestUtils.setField(validationService, "notificationService", notificationService);
+		ReflectionTestUtils.setField(validationService, "validationRepository", mock(ValidationRepository.class));
+		ReflectionTestUtils.setField(validationService, "validationStatusStore", validationStatusStore);
+		ReflectionTestUtils.setField(validationService, "selfProxy", validationService);
+		ReflectionTestUtils.setField(validationService, "validationStartThreadPoolSize", 2);
+		ReflectionTestUtils.setField(validationService, "validationBulkMaxRunning", 1);
+		validationService.init();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		metadataReadReleased.countDown();
+		validationService.shutdown();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void testStartReturnsScheduledBeforeReadingBranch() throws Exception {
+		Status status = validationService.startValidation(BRANCH_PATH, false);
+
+		assertEquals(ValidationJobStatus.SCHEDULED.name(), status.getStatus());
+		assertNull(status.getQueuePosition());
+		assertEquals(ValidationJobStatus.SCHEDULED.name(), validationService.getValidation(BRANCH_PATH).getStatus());
+		verify(notificationService).queueNotification(eq("user"), argThat(notification -> ValidationJobStatus.SCHEDULED.name().equals(notification.getEvent())));
+	}
+
+	@Test
+	public void testMetadataReadFailureMarksValidationFailed() throws Exception {
+		validationService.startValidation(BRANCH_PATH, false);
+		metadataReadReleased.countDown();
+
+		verify(notificationService, timeout(1000)).queueNotification(eq("user"), argThat(notification -> ValidationJobStatus.FAILED.name().equals(notification.getEvent())));
+		Validation validation = validationService.getValidation(BRANCH_PATH);
+		assertEquals(ValidationJobStatus.FAILED.name(), validation.getStatus());
+		assertEquals(List.of("Failed to read branch information, validation request not sent."), validation.getFailureMessages());
+	}
+
+	@Test
+	public void testSecondStartJoinsValidationRunningAtBranchHead() throws Exception {
+		validationService.startValidation(BRANCH_PATH, false);
+		assertTrue(metadataReadStarted.await(1, TimeUnit.SECONDS));
+
+		Status status = validationService.startValidation(BRANCH_PATH, true);
+
+		assertEquals(ValidationJobStatus.SCHEDULED.name(), status.getStatus());
+		verify(notificationService, times(1)).queueNotification(any(), any(Notification.class));
+	}
+
+	@Test
+	public void testSecondStartRejectedWhileValidationRunsAtOlderHead() throws Exception {
+		validationService.startValidation(BRANCH_PATH, false);
+		assertTrue(metadataReadStarted.await(1, TimeUnit.SECONDS));
+		Map<String, String> exported = new HashMap<>();
+		exported.put(ValidationService.CONTENT_HEAD_TIMESTAMP, "1");
+		validationService.updateValidationCache(BRANCH_PATH, exported);
+		Branch branch = mock(Branch.class);
+		when(branch.getHeadTimestamp()).thenReturn(2L);
+		when(branchService.getBranchOrNull(BRANCH_PATH)).thenReturn(branch);
+
+		assertThrows(EntityAlreadyExistsException.class, () -> validationService.startValidation(BRANCH_PATH, false));
+	}
+
+	@Test
+	public void testSecondStartRejectedWhileValidationInProgressElsewhere() throws Exception {
+		Map<String, String> scheduled = new HashMap<>();
+		scheduled.put(ValidationService.VALIDATION_STATUS, ValidationJobStatus.SCHEDULED.name());
+		validationService.updateValidationCache(BRANCH_PATH, scheduled);
+
+		assertThrows(EntityAlreadyExistsException.class, () -> validationService.startValidation(BRANCH_PATH, false));
+		verify(branchService, never()).getBranchMetadataIncludeInherited(any());
+	}
+}
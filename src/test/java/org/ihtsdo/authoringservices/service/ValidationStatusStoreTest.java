@@ -0,0 +1,110 @@
+package org.ihtsdo.authoringservices.service;
+
+import org.ihtsdo.authoringservices.entity.Validation;
+import org.ihtsdo.authoringservices.repository.ValidationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+public class ValidationStatusStoreTest {
+
+	private ValidationRepository validationRepository;
+	private ValidationStatusStore validationStatusStore;
+
+	@BeforeEach
+	public void setUp() {
+		validationRepository = mock(ValidationRepository.class);
+		validationStatusStore = new ValidationStatusStore(validationRepository);
+		ReflectionTestUtils.setField(validationStatusStore, "batchSize", 2);
+		ReflectionTestUtils.setField(validationStatusStore, "maxAttempts", 2);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testChangesToSameBranchWrittenOnce() {
+		Validation validation = new Validation("MAIN/PROJECTA");
+		validation.setStatus("SCHEDULED");
+		validationStatusStore.save(validation);
+		validation.setStatus("RUNNING");
+		validationStatusStore.save(validation);
+		assertSame(validation, validationStatusStore.findByBranchPath("MAIN/PROJECTA"));
+
+		validationStatusStore.flush();
+
+		ArgumentCaptor<List<Validation>> saved = ArgumentCaptor.forClass(List.class);
+		verify(validationRepository).saveAll(saved.capture());
+		assertEquals(List.of(validation), saved.getValue());
+		verify(validationRepository, never()).findByBranchPath(anyString());
+	}
+
+	@Test
+	public void testFailedBatchSavedOneAtATime() {
+		Validation bad = new Validation("MAIN/PROJECTA");
+		Validation good = new Validation("MAIN/PROJECTB");
+		validationStatusStore.save(bad);
+		validationStatusStore.save(good);
+		when(validationRepository.saveAll(anyIterable())).thenThrow(new RuntimeException("Value too long"));
+		when(validationRepository.save(same(bad))).thenThrow(new RuntimeException("Value too long"));
+
+		validationStatusStore.flush();
+
+		verify(validationRepository).save(same(good));
+		assertNull(validationStatusStore.getPending("MAIN/PROJECTB"));
+		assertSame(bad, validationStatusStore.getPending("MAIN/PROJECTA"));
+	}
+
+	@Test
+	public void testStatusDroppedAfterMaxAttempts() {
+		Validation validation = new Validation("MAIN/PROJECTA");
+		validationStatusStore.save(validation);
+		when(validationRepository.saveAll(anyIterable())).thenThrow(new RuntimeException("Value too long"));
+		when(validationRepository.save(same(validation))).thenThrow(new RuntimeException("Value too long"));
+
+		validationStatusStore.flush();
+		assertSame(validation, validationStatusStore.getPending("MAIN/PROJECTA"));
+
+		validationStatusStore.flush();
+		assertNull(validationStatusStore.getPending("MAIN/PROJECTA"));
+		verify(validationRepository, times(2)).save(same(validation));
+
+		validationStatusStore.flush();
+		verify(validationRepository, times(2)).saveAll(anyIterable());
+	}
+
+	@Test
+	public void testNewValidationUpdatesExistingRow() {
+		Validation existing = new Validation("MAIN/PROJECTA");
+		existing.setId(5);
+		when(validationRepository.findAllByBranchPathIn(List.of("MAIN/PROJECTA"))).thenReturn(List.of(existing));
+		Validation validation = new Validation("MAIN/PROJECTA");
+		validationStatusStore.save(validation);
+
+		validationStatusStore.flush();
+
+		assertEquals(5, validation.getId());
+		verify(validationRepository).saveAll(List.of(validation));
+	}
+
+	@Test
+	public void testSaveIfAbsentKeepsPendingStatus() {
+		Validation pending = new Validation("MAIN/PROJECTA");
+		pending.setStatus("SCHEDULED");
+		validationStatusStore.save(pending);
+
+		Validation notTriggered = new Validation("MAIN/PROJECTA");
+		notTriggered.setStatus("NOT_TRIGGERED");
+
+		assertSame(pending, validationStatusStore.saveIfAbsent(notTriggered));
+		assertSame(pending, validationStatusStore.getPending("MAIN/PROJECTA"));
+	}
+}
@@ -0,0 +1,92 @@
+package org.ihtsdo.authoringservices.service.dao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SRSFileDAOTest {
+
+	private static final String RELEASE_DATE = "20250101";
+	private static final String DESCRIPTION_HEADER = "id\teffectiveTime\tactive\tmoduleId\tconceptId\tlanguageCode\ttypeId\tterm\tcaseSignificanceId";
+
+	private final SRSFileDAO srsFileDAO = new SRSFileDAO();
+
+	@TempDir
+	File tempDir;
+
+	@Test
+	public void testConvertExportRenamesFilesAndReplacesUnpublishedDates() throws Exception {
+		File export = createZip(Map.of(
+				"SnomedCT_Export/RF2Release/Terminology/sct2_Concept_Delta_INT_20240901.txt", "id\teffectiveTime\tactive\n1\tUnpublished\t1\n",
+				"SnomedCT_Export/RF2Release/Refset/der2_iissscRefset_ICD-9-CMEquivalenceComplexMapReferenceSetDelta_INT_20240901.txt", "header\n"));
+
+		Map<String, String> files = convert(export);
+
+		assertEquals("id\teffectiveTime\tactive\r\n1\t" + RELEASE_DATE + "\t1\r\n", files.get("sct2_Concept_Delta_INT_" + RELEASE_DATE + ".txt"));
+		assertFalse(files.keySet().stream().anyMatch(name -> name.startsWith("der2_iissscRefset_ICD-9-CM")));
+	}
+
+	@Test
+	public void testConvertExportCombinesRefsets() throws Exception {
+		File export = createZip(Map.of(
+				"sct2_Concept_Delta_INT_" + RELEASE_DATE + ".txt", "id\n",
+				"der2_cRefset_GBEnglishDelta-en-gb_INT_" + RELEASE_DATE + ".txt", "header\ngb\tUnpublished\n",
+				"der2_cRefset_USEnglishDelta-en-us_INT_" + RELEASE_DATE + ".txt", "header\nus\t20240101\n"));
+
+		Map<String, String> files = convert(export);
+
+		assertEquals("header\r\ngb\t" + RELEASE_DATE + "\r\nus\t20240101\r\n", files.get("der2_cRefset_LanguageDelta-en_INT_" + RELEASE_DATE + ".txt"));
+		assertFalse(files.containsKey("der2_cRefset_GBEnglishDelta-en-gb_INT_" + RELEASE_DATE + ".txt"));
+		assertFalse(files.containsKey("der2_cRefset_USEnglishDelta-en-us_INT_" + RELEASE_DATE + ".txt"));
+	}
+
+	@Test
+	public void testConvertExportSplitsTextDefinitionsFromDescriptions() throws Exception {
+		File export = createZip(Map.of(
+				"sct2_Concept_Delta_INT_" + RELEASE_DATE + ".txt", "id\n",
+				"sct2_Description_Delta-en-gb_INT_" + RELEASE_DATE + ".txt", DESCRIPTION_HEADER + "\n"
+						+ "1\t\t1\t\t\t\t900000000000003001\tFSN\t\n"
+						+ "2\t\t1\t\t\t\t900000000000550004\tDefinition\t\n"));
+
+		Map<String, String> files = convert(export);
+
+		assertEquals(DESCRIPTION_HEADER + "\r\n1\t\t1\t\t\t\t900000000000003001\tFSN\t\r\n", files.get("sct2_Description_Delta-en_INT_" + RELEASE_DATE + ".txt"));
+		assertEquals(DESCRIPTION_HEADER + "\r\n2\t\t1\t\t\t\t900000000000550004\tDefinition\t\r\n", files.get("sct2_TextDefinition_Delta-en_INT_" + RELEASE_DATE + ".txt"));
+		assertNull(files.get("sct2_Description_Delta-en-gb_INT_" + RELEASE_DATE + ".txt"));
+	}
+
+	private Map<String, String> convert(File export) throws Exception {
+		File output = new File(tempDir, "output.zip");
+		srsFileDAO.convertExportWithRF2FileNameFormat(export, "international", RELEASE_DATE, output);
+		Map<String, String> files = new HashMap<>();
+		try (ZipFile zipFile = new ZipFile(output)) {
+			for (ZipEntry entry : java.util.Collections.list(zipFile.entries())) {
+				try (InputStream inputStream = zipFile.getInputStream(entry)) {
+					files.put(entry.getName(), new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+				}
+			}
+		}
+		return files;
+	}
+
+	private File createZip(Map<String, String> entries) throws IOException {
+		File zip = new File(tempDir, "export.zip");
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+			for (Map.Entry<String, String> entry : entries.entrySet()) {
+				out.putNextEntry(new ZipEntry(entry.getKey()));
+				out.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+				out.closeEntry();
+			}
+		}
+		return zip;
+	}
+}
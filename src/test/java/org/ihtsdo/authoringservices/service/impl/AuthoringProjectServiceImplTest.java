@@ -7,6 +7,7 @@ import org.ihtsdo.authoringservices.domain.ProjectCustomFieldConfiguration;
 import org.ihtsdo.authoringservices.entity.Project;
 import org.ihtsdo.authoringservices.repository.ProjectRepository;
 import org.ihtsdo.authoringservices.service.BranchService;
+import org.ihtsdo.authoringservices.service.PermissionService;
 import org.ihtsdo.otf.rest.client.terminologyserver.SnowstormRestClient;
 import org.ihtsdo.otf.rest.client.terminologyserver.SnowstormRestClientFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,6 +55,9 @@ class AuthoringProjectServiceImplTest {
     @Mock
     private BranchService branchService;
 
+    @Mock
+    private PermissionService permissionService;
+
     private static final Set<String> DISABLED_BY_DEFAULT = Set.of(
             PROJECT_LOCKED_FIELD,
             TRANSLATION_PROJECT_FIELD
@@ -67,6 +71,7 @@ class AuthoringProjectServiceImplTest {
         ReflectionTestUtils.setField(service, "projectRepository", projectRepository);
         ReflectionTestUtils.setField(service, "snowstormRestClientFactory", snowstormRestClientFactory);
         ReflectionTestUtils.setField(service, "branchService", branchService);
+        ReflectionTestUtils.setField(service, "permissionService", permissionService);
         ReflectionTestUtils.setField(service, "requiredRbacGroups", List.of("ROLE_AUTHOR"));
         ReflectionTestUtils.setField(service, "jiraEnabled", false);
     }
@@ -125,5 +130,6 @@ class AuthoringProjectServiceImplTest {
         assertFalse(savedCustomFields.get(PROJECT_LOCKED_FIELD));
         assertFalse(savedCustomFields.get(TRANSLATION_PROJECT_FIELD));
         verify(branchService).createBranchIfNeeded("MAIN/SNOMEDCT/TEST");
+        verify(permissionService).invalidateProjectPermissions();
     }
 }
@@ -0,0 +1,188 @@
+package org.ihtsdo.authoringservices.service.monitor;
+
+import org.ihtsdo.authoringservices.domain.EntityType;
+import org.ihtsdo.authoringservices.domain.Notification;
+import org.ihtsdo.authoringservices.service.NotificationService;
+import org.ihtsdo.otf.rest.client.RestClientException;
+import org.ihtsdo.otf.rest.exception.BusinessServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class MonitorSchedulerTest {
+
+	private MonitorScheduler monitorScheduler;
+	private NotificationService notificationService;
+
+	@BeforeEach
+	public void setUp() {
+		monitorScheduler = new MonitorScheduler();
+		ReflectionTestUtils.setField(monitorScheduler, "threadPoolSize", 2);
+		monitorScheduler.init();
+		notificationService = mock(NotificationService.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		monitorScheduler.shutdown();
+	}
+
+	@Test
+	public void testBranchPolledOnceForAllSubscribers() {
+		AtomicInteger polls = new AtomicInteger();
+		UserMonitors userA = newUserMonitors("userA");
+		UserMonitors userB = newUserMonitors("userB");
+		monitorScheduler.subscribe(userA, new CountingMonitor(polls));
+		monitorScheduler.subscribe(userB, new CountingMonitor(polls));
+
+		monitorScheduler.runMonitors();
+
+		verify(notificationService, timeout(1000)).queueNotification(eq("userA"), any(Notification.class));
+		verify(notificationService, timeout(1000)).queueNotification(eq("userB"), any(Notification.class));
+		verify(notificationService, times(2)).queueNotification(any(), any(Notification.class));
+		assertEquals(1, polls.get());
+	}
+
+	@Test
+	public void testUnsubscribedBranchNotPolled() {
+		AtomicInteger polls = new AtomicInteger();
+		UserMonitors userA = newUserMonitors("userA");
+		CountingMonitor monitor = new CountingMonitor(polls);
+		monitorScheduler.subscribe(userA, monitor);
+		monitorScheduler.unsubscribe(userA, monitor);
+
+		monitorScheduler.runMonitors();
+
+		verify(notificationService, after(200).never()).queueNotification(any(), any(Notification.class));
+	}
+
+	@Test
+	public void testUsersWithDifferentRolesPolledSeparately() {
+		AtomicInteger polls = new AtomicInteger();
+		UserMonitors userA = newUserMonitors("userA");
+		userA.setRoles(Set.of("ROLE_A"));
+		UserMonitors userB = newUserMonitors("userB");
+		userB.setRoles(Set.of("ROLE_B"));
+		monitorScheduler.subscribe(userA, new CountingMonitor(polls));
+		monitorScheduler.subscribe(userB, new CountingMonitor(polls));
+
+		monitorScheduler.runMonitors();
+
+		verify(notificationService, timeout(1000)).queueNotification(eq("userA"), any(Notification.class));
+		verify(notificationService, timeout(1000)).queueNotification(eq("userB"), any(Notification.class));
+		assertEquals(2, polls.get());
+	}
+
+	@Test
+	public void testUserWithoutAccessDroppedAndBranchPolledAsAnother() throws BusinessServiceException {
+		List<String> pollingUsers = new CopyOnWriteArrayList<>();
+		MonitorFactory monitorFactory = mock(MonitorFactory.class);
+		when(monitorFactory.createMonitor("A", "B")).thenAnswer(invocation -> new AccessDeniedOnceMonitor(pollingUsers));
+		UserMonitors userA = new UserMonitors("userA", monitorFactory, monitorScheduler, notificationService, () -> {});
+		UserMonitors userB = new UserMonitors("userB", monitorFactory, monitorScheduler, notificationService, () -> {});
+		userA.updateFocus("A", "B");
+		userB.updateFocus("A", "B");
+
+		monitorScheduler.runMonitors();
+
+		verify(notificationService, timeout(1000)).queueNotification(any(), any(Notification.class));
+		assertEquals(2, pollingUsers.size());
+		String deniedUser = pollingUsers.get(0);
+		String notifiedUser = pollingUsers.get(1);
+		assertNotEquals(deniedUser, notifiedUser);
+		verify(notificationService).queueNotification(eq(notifiedUser), any(Notification.class));
+		verify(notificationService, never()).queueNotification(eq(deniedUser), any(Notification.class));
+		assertTrue((deniedUser.equals("userA") ? userA : userB).getMonitors().isEmpty());
+	}
+
+	private UserMonitors newUserMonitors(String username) {
+		return new UserMonitors(username, null, monitorScheduler, notificationService, () -> {});
+	}
+
+	private static final class CountingMonitor extends Monitor {
+
+		private final AtomicInteger polls;
+
+		private CountingMonitor(AtomicInteger polls) {
+			this.polls = polls;
+		}
+
+		@Override
+		public Notification runOnce() {
+			polls.incrementAndGet();
+			return new Notification("A", "B", EntityType.BranchState, "UP_TO_DATE");
+		}
+
+		@Override
+		public String getBranchPath() {
+			return "MAIN/A/B";
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof CountingMonitor;
+		}
+
+		@Override
+		public int hashCode() {
+			return 1;
+		}
+
+		@Override
+		public String toString() {
+			return "CountingMonitor";
+		}
+	}
+
+	// Denies access to the first user to poll it, as Snowstorm does for a user without a role on the branch
+	private static final class AccessDeniedOnceMonitor extends Monitor {
+
+		private final List<String> pollingUsers;
+
+		private AccessDeniedOnceMonitor(List<String> pollingUsers) {
+			this.pollingUsers = pollingUsers;
+		}
+
+		@Override
+		public Notification runOnce() throws MonitorException {
+			pollingUsers.add((String) SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+			if (pollingUsers.size() == 1) {
+				throw new MonitorException("Failed to get branch state",
+						new IllegalStateException(new RestClientException("Failed to retrieve Branch, status code: 403")));
+			}
+			return new Notification("A", "B", EntityType.BranchState, "UP_TO_DATE");
+		}
+
+		@Override
+		public String getBranchPath() {
+			return "MAIN/A/B";
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof AccessDeniedOnceMonitor;
+		}
+
+		@Override
+		public int hashCode() {
+			return 2;
+		}
+
+		@Override
+		public String toString() {
+			return "AccessDeniedOnceMonitor";
+		}
+	}
+}
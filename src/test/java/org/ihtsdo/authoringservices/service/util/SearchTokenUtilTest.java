@@ -0,0 +1,27 @@
+package org.ihtsdo.authoringservices.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchTokenUtilTest {
+
+	@Test
+	public void testTokenizeRemovesAccentsAndCase() {
+		assertEquals(Set.of("acido", "folico"), SearchTokenUtil.tokenize("Ácido Fólico"));
+		assertEquals(Set.of("cancer", "de", "pancreas"), SearchTokenUtil.tokenize("CÂNCER de pâncreas"));
+	}
+
+	@Test
+	public void testTokenizeSplitsOnPunctuationAndCombinesTexts() {
+		assertEquals(Set.of("heart", "failure", "new", "concept"), SearchTokenUtil.tokenize("Heart-failure, (heart)", "NEW_CONCEPT"));
+	}
+
+	@Test
+	public void testTokenizeIgnoresMissingText() {
+		assertTrue(SearchTokenUtil.tokenize(null, "").isEmpty());
+	}
+}